@@ -1,15 +1,11 @@
 package io.syndesis.qe.endpoint;
 
-import io.syndesis.common.model.ListResult;
-import io.syndesis.common.util.json.JsonUtils;
 import io.syndesis.qe.endpoint.client.EndpointClient;
+import io.syndesis.qe.endpoint.util.AsyncRequestExecutor;
+import io.syndesis.qe.endpoint.util.JsonStreamReader;
 import io.syndesis.qe.endpoint.util.RetryingInvocationBuilder;
 
-import com.fasterxml.jackson.core.JsonParser.Feature;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.client.Client;
@@ -20,9 +16,13 @@ import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -55,28 +55,29 @@ public abstract class AbstractEndpoint<T> {
     public T create(T obj) {
         log.debug("POST: {}", getEndpointUrl());
         final Invocation.Builder invocation = this.createInvocation();
-        final JsonNode response = invocation.post(Entity.entity(obj, MediaType.APPLICATION_JSON), JsonNode.class);
+        final InputStream response = invocation.post(Entity.entity(obj, MediaType.APPLICATION_JSON), InputStream.class);
 
-        return transformJsonNode(response, type);
+        return readEntity(response, type);
     }
 
     public void delete(String id) {
         log.debug("DELETE: {}", getEndpointUrl(Optional.ofNullable(id)));
-        this.createInvocation(id).delete();
+        // close the response to return the connection back to the shared pool
+        this.createInvocation(id).delete().close();
     }
 
     public T get(String id) {
         log.debug("GET : {}", getEndpointUrl(Optional.ofNullable(id)));
         final Invocation.Builder invocation = this.createInvocation(id);
-        JsonNode response = null;
+        InputStream response = null;
         try {
-            response = invocation.get(JsonNode.class);
+            response = invocation.get(InputStream.class);
         } catch (NotFoundException ex) {
             log.error("Not found: " + id);
             log.error("Found:");
             list().forEach(t -> log.error("  " + t.toString()));
         }
-        return transformJsonNode(response, type);
+        return readEntity(response, type);
     }
 
     public void update(String id, T obj) {
@@ -89,35 +90,52 @@ public abstract class AbstractEndpoint<T> {
     }
 
     public List<T> list(String id) {
-        final ObjectMapper mapper = new ObjectMapper().registerModules(new Jdk8Module());
-        mapper.configure(Feature.AUTO_CLOSE_SOURCE, true);
-        final ObjectWriter ow = mapper.writer();
-        final Class<ListResult<T>> listtype = (Class) ListResult.class;
-
         log.debug("GET : {}", getEndpointUrl(Optional.ofNullable(id)));
 
-        JsonNode response = this.createInvocation(id).get(JsonNode.class);
-
-        ListResult<T> result = null;
+        final InputStream response = this.createInvocation(id).get(InputStream.class);
         try {
-            result = JsonUtils.reader().forType(listtype).readValue(response.toString());
+            return JsonStreamReader.readListItems(response, type);
         } catch (IOException ex) {
             log.error("" + ex);
         }
+        return new ArrayList<>();
+    }
 
-        final List<T> ts = new ArrayList<>();
-
-        for (int i = 0; i < result.getTotalCount(); i++) {
-            T con = null;
-            try {
-                final String json = ow.writeValueAsString(result.getItems().get(i));
-                con = JsonUtils.reader().forType(type).readValue(json);
-            } catch (IOException ex) {
-                log.error(ex.toString());
-            }
-            ts.add(con);
-        }
-        return ts;
+    public CompletableFuture<T> getAsync(String id) {
+        return AsyncRequestExecutor.submit(() -> get(id));
+    }
+
+    public CompletableFuture<List<T>> listAsync() {
+        return listAsync(null);
+    }
+
+    public CompletableFuture<List<T>> listAsync(String id) {
+        return AsyncRequestExecutor.submit(() -> list(id));
+    }
+
+    /**
+     * Deletes all given objects concurrently (bounded by {@link AsyncRequestExecutor}).
+     *
+     * @param ids ids of objects to delete
+     * @return future completed when all objects are deleted
+     */
+    public CompletableFuture<Void> deleteAllAsync(Collection<String> ids) {
+        return CompletableFuture.allOf(ids.stream()
+            .map(id -> AsyncRequestExecutor.submit(() -> {
+                delete(id);
+                return null;
+            }))
+            .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Gets all given objects concurrently (bounded by {@link AsyncRequestExecutor}).
+     *
+     * @param ids ids of objects to get
+     * @return list of objects in the same order as the ids
+     */
+    public List<T> getMany(Collection<String> ids) {
+        return AsyncRequestExecutor.joinAll(ids.stream().map(this::getAsync).collect(Collectors.toList()));
     }
 
     public String getEndpointUrl() {
@@ -148,7 +166,27 @@ public abstract class AbstractEndpoint<T> {
     protected T transformJsonNode(JsonNode json, Class<T> t) {
         T ts = null;
         try {
-            ts = JsonUtils.reader().forType(t).readValue(json.toString());
+            ts = JsonStreamReader.readerFor(t).readValue(json);
+        } catch (IOException ex) {
+            log.error("" + ex);
+        }
+        return ts;
+    }
+
+    /**
+     * Reads the response entity stream directly into the given type.
+     *
+     * @param response response entity stream
+     * @param t type
+     * @return instance of given type or null if it wasn't possible to read the stream
+     */
+    protected <R> R readEntity(InputStream response, Class<R> t) {
+        if (response == null) {
+            return null;
+        }
+        R ts = null;
+        try {
+            ts = JsonStreamReader.readValue(response, t);
         } catch (IOException ex) {
             log.error("" + ex);
         }
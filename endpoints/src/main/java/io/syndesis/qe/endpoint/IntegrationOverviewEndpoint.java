@@ -2,6 +2,7 @@ package io.syndesis.qe.endpoint;
 
 import io.syndesis.common.model.integration.IntegrationDeployment;
 import io.syndesis.qe.endpoint.model.IntegrationOverview;
+import io.syndesis.qe.endpoint.util.JsonStreamReader;
 
 import org.springframework.stereotype.Component;
 
@@ -9,6 +10,11 @@ import com.fasterxml.jackson.databind.JsonNode;
 
 import javax.ws.rs.client.Invocation;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -31,4 +37,20 @@ public class IntegrationOverviewEndpoint extends AbstractEndpoint<IntegrationOve
 
         return transformJsonNode(response, IntegrationOverview.class);
     }
+
+    /**
+     * Gets the overviews of all integrations with a single call.
+     *
+     * @return list of integration overviews
+     */
+    public List<IntegrationOverview> getOverviews() {
+        log.debug("GET : {}", getEndpointUrl());
+        final InputStream response = this.createInvocation().get(InputStream.class);
+        try {
+            return JsonStreamReader.readListItems(response, IntegrationOverview.class);
+        } catch (IOException ex) {
+            log.error("" + ex);
+        }
+        return new ArrayList<>();
+    }
 }
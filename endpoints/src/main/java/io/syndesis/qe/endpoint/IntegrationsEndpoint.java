@@ -3,19 +3,21 @@ package io.syndesis.qe.endpoint;
 import io.syndesis.common.model.integration.Integration;
 import io.syndesis.common.model.integration.IntegrationDeployment;
 import io.syndesis.common.model.integration.IntegrationDeploymentState;
-import io.syndesis.common.util.json.JsonUtils;
 
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import javax.ws.rs.NotFoundException;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.core.MediaType;
 
-import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -28,11 +30,50 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 @Slf4j
 public class IntegrationsEndpoint extends AbstractEndpoint<Integration> {
+    /**
+     * Integration name to integration id cache, it is shared, because the integrations can be deleted also outside of this endpoint
+     * (reset-db) and the cache needs to be invalidated in such case, see {@link #invalidateIdCache()}. The integrations can be also
+     * deleted or replaced from the UI or the public API, so the cached id is always checked before it is returned.
+     */
+    private static final Map<String, String> INTEGRATION_IDS = new ConcurrentHashMap<>();
 
     public IntegrationsEndpoint() {
         super(Integration.class, "/integrations");
     }
 
+    /**
+     * Clears the integration name to id cache. Should be called whenever the integrations are removed without this endpoint.
+     */
+    public static void invalidateIdCache() {
+        INTEGRATION_IDS.clear();
+    }
+
+    @Override
+    public Integration create(Integration obj) {
+        final Integration created = super.create(obj);
+        if (created != null && created.getId().isPresent()) {
+            INTEGRATION_IDS.put(created.getName(), created.getId().get());
+        }
+        return created;
+    }
+
+    @Override
+    public void delete(String id) {
+        INTEGRATION_IDS.values().removeIf(cachedId -> cachedId.equals(id));
+        super.delete(id);
+    }
+
+    @Override
+    public List<Integration> list(String id) {
+        final List<Integration> integrations = super.list(id);
+        if (id == null) {
+            // the full list is available, so refresh the whole cache
+            INTEGRATION_IDS.clear();
+            integrations.stream().filter(i -> i.getId().isPresent()).forEach(i -> INTEGRATION_IDS.put(i.getName(), i.getId().get()));
+        }
+        return integrations;
+    }
+
     /**
      * For publishing integration, it's required to perform simple PUT with no params to integrations/{id}/deployments
      */
@@ -55,21 +96,38 @@ public class IntegrationsEndpoint extends AbstractEndpoint<Integration> {
     public IntegrationDeployment getCurrentIntegrationDeployment(String integrationId, int deploymentId) {
         log.debug("GET : {}", getEndpointUrl(Optional.of(integrationId + "/deployments/" + deploymentId)));
         final Invocation.Builder invocation = this.createInvocation(integrationId + "/deployments/" + deploymentId);
-        final JsonNode response = invocation.get(JsonNode.class);
-        IntegrationDeployment ts = null;
-        try {
-            ts = JsonUtils.reader().forType(IntegrationDeployment.class).readValue(response.toString());
-        } catch (IOException ex) {
-            log.error("" + ex);
-        }
-        return ts;
+        return readEntity(invocation.get(InputStream.class), IntegrationDeployment.class);
     }
 
+    /**
+     * Returns the id of the integration with given name. The cached id is used if the integration with that id still exists and
+     * has the same name, otherwise the integrations are listed.
+     *
+     * @param integrationName integration name
+     * @return integration id
+     * @throws java.util.NoSuchElementException when there is no integration with given name
+     */
     public Optional<String> getIntegrationId(String integrationName) {
+        final String cached = INTEGRATION_IDS.get(integrationName);
+        if (cached != null) {
+            if (findById(cached).filter(i -> !i.isDeleted() && integrationName.equals(i.getName())).isPresent()) {
+                return Optional.of(cached);
+            }
+            log.debug("Cached id {} of integration {} is stale", cached, integrationName);
+            INTEGRATION_IDS.remove(integrationName, cached);
+        }
         List<Integration> integrationsList = list();
         return integrationsList.stream().filter(i -> i.getName().contentEquals(integrationName)).findFirst().get().getId();
     }
 
+    private Optional<Integration> findById(String id) {
+        try {
+            return Optional.ofNullable(readEntity(createInvocation(id).get(InputStream.class), Integration.class));
+        } catch (NotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
     public Integration getIntegrationByName(String integrationName) {
         return get(getIntegrationId(integrationName).get());
     }
@@ -23,7 +23,6 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 
 import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.ClientRequestContext;
 import javax.ws.rs.client.ClientResponseContext;
 import javax.ws.rs.client.ClientResponseFilter;
@@ -34,31 +33,31 @@ import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.X509Certificate;
-import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class EndpointClient {
     //Required in order to skip certificate validation
-    private static HttpClient createAllTrustingClient() {
-        HttpClient httpclient;
+    static SSLConnectionSocketFactory createAllTrustingSocketFactory() {
         try {
             final SSLContextBuilder builder = new SSLContextBuilder();
             builder.loadTrustMaterial((TrustStrategy) (X509Certificate[] chain, String authType) -> true);
-            final SSLConnectionSocketFactory sslsf = new SSLConnectionSocketFactory(
+            return new SSLConnectionSocketFactory(
                 builder.build(),
                 new NoopHostnameVerifier()); // needed to connections to API Provider integrations
-            httpclient = HttpClients
-                .custom()
-                .setSSLSocketFactory(sslsf)
-                .setMaxConnTotal(1000)
-                .setMaxConnPerRoute(1000)
-                .build();
         } catch (NoSuchAlgorithmException | KeyStoreException | KeyManagementException e) {
             throw new RestClientException("Cannot create all SSL certificates trusting client", e);
         }
-        return httpclient;
+    }
+
+    private static HttpClient createAllTrustingClient() {
+        return HttpClients
+            .custom()
+            .setSSLSocketFactory(createAllTrustingSocketFactory())
+            .setMaxConnTotal(1000)
+            .setMaxConnPerRoute(1000)
+            .build();
     }
 
     /**
@@ -91,8 +90,18 @@ public class EndpointClient {
         }
     }
 
+    /**
+     * Creates a new client with its own connection pool. Prefer {@link #getClient()} which returns the shared client.
+     *
+     * @param jackson2Provider jackson provider to use
+     * @return new client instance
+     */
     public static Client getClient(ResteasyJackson2Provider jackson2Provider) {
-        final ApacheHttpClient43Engine engine = new ApacheHttpClient43Engine(createAllTrustingClient());
+        return createClient(jackson2Provider, createAllTrustingClient());
+    }
+
+    static Client createClient(ResteasyJackson2Provider jackson2Provider, HttpClient httpClient) {
+        final ApacheHttpClient43Engine engine = new ApacheHttpClient43Engine(httpClient);
 
         final ResteasyProviderFactory providerFactory = new LocalResteasyProviderFactory();
         providerFactory.register(jackson2Provider)
@@ -107,11 +116,25 @@ public class EndpointClient {
         return clientBuilder.build();
     }
 
+    static Client createInsecureClient(HttpClient httpClient) {
+        ResteasyClientBuilder clientBuilder = (ResteasyClientBuilder) ResteasyClientBuilder.newBuilder();
+        clientBuilder.httpEngine(new ApacheHttpClient43Engine(httpClient));
+
+        final Client client = clientBuilder.build();
+        client.register(new ErrorLogger());
+        return client;
+    }
+
+    /**
+     * Returns the shared client, see {@link EndpointClientRegistry}.
+     *
+     * @return client
+     */
     public static Client getClient() {
-        return getClient(createJackson2Provider(null, null));
+        return EndpointClientRegistry.get(EndpointClientRegistry.Flavour.PLAIN);
     }
 
-    private static ResteasyJackson2Provider createJackson2Provider(SerializationFeature serialization, DeserializationFeature deserialization) {
+    static ResteasyJackson2Provider createJackson2Provider(SerializationFeature serialization, DeserializationFeature deserialization) {
         final ResteasyJackson2Provider jackson2Provider = new ResteasyJackson2Provider();
         final ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new Jdk8Module());
@@ -125,17 +148,21 @@ public class EndpointClient {
         return jackson2Provider;
     }
 
+    /**
+     * Returns the shared client that wraps/unwraps the root value, see {@link EndpointClientRegistry}.
+     *
+     * @return client
+     */
     public static Client getWrappedClient() {
-        return getClient(createJackson2Provider(SerializationFeature.WRAP_ROOT_VALUE, DeserializationFeature.UNWRAP_ROOT_VALUE));
+        return EndpointClientRegistry.get(EndpointClientRegistry.Flavour.WRAPPED);
     }
 
+    /**
+     * Returns the shared client with the default providers and certificate validation, see {@link EndpointClientRegistry}.
+     *
+     * @return client
+     */
     public static Client getInsecureClient() throws RestClientException {
-        ClientBuilder clientBuilder = ClientBuilder.newBuilder();
-        clientBuilder.connectTimeout(120, TimeUnit.SECONDS);
-        clientBuilder.readTimeout(120, TimeUnit.SECONDS);
-
-        final Client client = clientBuilder.build();
-        client.register(new ErrorLogger());
-        return client;
+        return EndpointClientRegistry.get(EndpointClientRegistry.Flavour.INSECURE);
     }
 }
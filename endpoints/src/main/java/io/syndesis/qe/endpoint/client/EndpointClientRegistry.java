@@ -0,0 +1,163 @@
+package io.syndesis.qe.endpoint.client;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import javax.ws.rs.client.Client;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Process-wide registry of the REST clients.
+ *
+ * Each client flavour is created only once and is backed by its own keep-alive connection pool, so all the endpoints
+ * (in all spring contexts) share the SSL context, the connection pool and the provider factory.
+ */
+@Slf4j
+public final class EndpointClientRegistry {
+    private static final int MAX_CONNECTIONS = 1000;
+    private static final int INSECURE_TIMEOUT_MS = 120_000;
+    private static final int VALIDATE_AFTER_INACTIVITY_MS = 2_000;
+    private static final long IDLE_CONNECTION_TIMEOUT_SECONDS = 60L;
+
+    private static final Map<Flavour, PooledClient> CLIENTS = new ConcurrentHashMap<>();
+
+    public enum Flavour {
+        /**
+         * All certificates trusting client used by the endpoints.
+         */
+        PLAIN,
+        /**
+         * Same as {@link #PLAIN}, but wraps/unwraps the root value of the json.
+         */
+        WRAPPED,
+        /**
+         * Client with the default providers and 120s timeouts.
+         */
+        INSECURE
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class PooledClient {
+        private final Client client;
+        private final PoolingHttpClientConnectionManager connectionManager;
+    }
+
+    private EndpointClientRegistry() {
+    }
+
+    /**
+     * Returns the shared client for given flavour, creating it on the first call.
+     *
+     * @param flavour client flavour
+     * @return client
+     */
+    public static Client get(Flavour flavour) {
+        return CLIENTS.computeIfAbsent(flavour, EndpointClientRegistry::create).getClient();
+    }
+
+    /**
+     * Gets the connection pool statistics (leased, available, pending and max connections) for given flavour.
+     *
+     * @param flavour client flavour
+     * @return pool statistics, all zeroes if the client was not created yet
+     */
+    public static PoolStats getPoolStats(Flavour flavour) {
+        final PooledClient pooledClient = CLIENTS.get(flavour);
+        return pooledClient == null ? new PoolStats(0, 0, 0, 0) : pooledClient.getConnectionManager().getTotalStats();
+    }
+
+    /**
+     * Gets the connection pool statistics of all created clients.
+     *
+     * @return map of flavour to pool statistics
+     */
+    public static Map<Flavour, PoolStats> getPoolStats() {
+        final Map<Flavour, PoolStats> stats = new EnumMap<>(Flavour.class);
+        CLIENTS.forEach((flavour, client) -> stats.put(flavour, client.getConnectionManager().getTotalStats()));
+        return stats;
+    }
+
+    public static void logPoolStats() {
+        getPoolStats().forEach((flavour, stats) -> log.info("REST client {} pool: leased {}, available {}, pending {}, max {}",
+            flavour, stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax()));
+    }
+
+    /**
+     * Closes all the clients and their connection pools. Next call to {@link #get(Flavour)} creates a new client.
+     */
+    public static synchronized void shutdown() {
+        CLIENTS.values().forEach(pooledClient -> {
+            pooledClient.getClient().close();
+            pooledClient.getConnectionManager().shutdown();
+        });
+        CLIENTS.clear();
+    }
+
+    private static PooledClient create(Flavour flavour) {
+        log.debug("Creating shared {} REST client", flavour);
+        final SSLConnectionSocketFactory sslSocketFactory = flavour == Flavour.INSECURE
+            ? SSLConnectionSocketFactory.getSocketFactory()
+            : EndpointClient.createAllTrustingSocketFactory();
+        final PoolingHttpClientConnectionManager connectionManager = createConnectionManager(sslSocketFactory);
+
+        final RequestConfig.Builder requestConfig = RequestConfig.custom();
+        if (flavour == Flavour.INSECURE) {
+            requestConfig.setConnectTimeout(INSECURE_TIMEOUT_MS).setSocketTimeout(INSECURE_TIMEOUT_MS);
+        }
+
+        final HttpClient httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+            .setDefaultRequestConfig(requestConfig.build())
+            .evictIdleConnections(IDLE_CONNECTION_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .build();
+
+        final Client client;
+        switch (flavour) {
+            case WRAPPED:
+                client = EndpointClient.createClient(
+                    EndpointClient.createJackson2Provider(SerializationFeature.WRAP_ROOT_VALUE, DeserializationFeature.UNWRAP_ROOT_VALUE), httpClient);
+                break;
+            case INSECURE:
+                client = EndpointClient.createInsecureClient(httpClient);
+                break;
+            default:
+                client = EndpointClient.createClient(EndpointClient.createJackson2Provider(null, null), httpClient);
+        }
+        return new PooledClient(client, connectionManager);
+    }
+
+    private static PoolingHttpClientConnectionManager createConnectionManager(SSLConnectionSocketFactory sslSocketFactory) {
+        final Registry<ConnectionSocketFactory> socketFactories = RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .register("https", sslSocketFactory)
+            .build();
+        final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactories);
+        connectionManager.setMaxTotal(MAX_CONNECTIONS);
+        connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS);
+        // the port-forward may be recreated in the meantime, so check the connection before reusing it
+        connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MS);
+        return connectionManager;
+    }
+}
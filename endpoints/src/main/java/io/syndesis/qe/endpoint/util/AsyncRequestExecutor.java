@@ -0,0 +1,79 @@
+package io.syndesis.qe.endpoint.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded executor for the asynchronous endpoint requests.
+ *
+ * The requests are executed via the blocking {@link RetryingInvocationBuilder} calls on a fixed pool, so that they follow the same
+ * {@link RetryPolicy} as the synchronous ones and no more than the configured number of requests hit the server at the same time.
+ */
+public final class AsyncRequestExecutor {
+    private static final String CONCURRENCY_PROPERTY = "syndesis.config.rest.concurrency";
+    private static final int DEFAULT_CONCURRENCY = 8;
+
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private AsyncRequestExecutor() {
+    }
+
+    /**
+     * Executes the request asynchronously.
+     *
+     * @param request request to execute
+     * @param <R> result type
+     * @return future completed with the request result
+     */
+    public static <R> CompletableFuture<R> submit(Supplier<R> request) {
+        return CompletableFuture.supplyAsync(request, EXECUTOR);
+    }
+
+    /**
+     * Waits for all the futures and returns their results in the same order.
+     *
+     * @param futures futures
+     * @param <R> result type
+     * @return list of results
+     */
+    public static <R> List<R> joinAll(List<CompletableFuture<R>> futures) {
+        final List<R> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<R> future : futures) {
+            results.add(join(future));
+        }
+        return results;
+    }
+
+    /**
+     * Waits for the future and rethrows the original exception if the future completed exceptionally.
+     *
+     * @param future future
+     * @param <R> result type
+     * @return result
+     */
+    public static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static ExecutorService createExecutor() {
+        final AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Integer.getInteger(CONCURRENCY_PROPERTY, DEFAULT_CONCURRENCY), r -> {
+            final Thread t = new Thread(r, "endpoint-async-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
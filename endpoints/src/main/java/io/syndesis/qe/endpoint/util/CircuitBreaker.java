@@ -0,0 +1,101 @@
+package io.syndesis.qe.endpoint.util;
+
+import io.syndesis.qe.endpoint.exception.RestClientException;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breaker that stops invoking the requests for a while when too many consecutive invocations failed.
+ *
+ * After the open interval the breaker lets a single trial request through (half-open state), the other requests are rejected until
+ * the trial finishes. The breaker is closed when the trial succeeds and opened again when it fails.
+ */
+@Slf4j
+public class CircuitBreaker {
+    /**
+     * Breaker shared by all endpoints that use the default retry policy.
+     */
+    public static final CircuitBreaker SHARED = new CircuitBreaker("syndesis-rest", 10, 15000L);
+    /**
+     * Breaker that never opens, for the services that are expected to fail for a while, like the integrations that are starting.
+     */
+    public static final CircuitBreaker DISABLED = new CircuitBreaker("disabled", 0, 0L);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    @Getter
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private long trialStartedAt;
+
+    public CircuitBreaker(String name, int failureThreshold, long openDurationMs) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    /**
+     * Checks if the request can be invoked.
+     *
+     * @throws RestClientException when the breaker is open
+     */
+    public synchronized void checkState() {
+        if (state == State.CLOSED) {
+            return;
+        }
+        if (state == State.OPEN && TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openedAt) >= openDurationMs) {
+            log.info("Circuit breaker {} is half-open, letting a trial request through", name);
+            state = State.HALF_OPEN;
+            startTrial();
+            return;
+        }
+        // the trial that never reported its result (for example its thread died) doesn't block the breaker forever
+        if (state == State.HALF_OPEN
+            && (!trialInFlight || TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - trialStartedAt) >= openDurationMs)) {
+            startTrial();
+            return;
+        }
+        RetryMetrics.breakerRejected();
+        throw new RestClientException("Circuit breaker " + name + " is " + (state == State.OPEN ? "open" : "waiting for the trial request")
+            + " after " + consecutiveFailures + " consecutive failures");
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        if (state != State.CLOSED) {
+            log.info("Circuit breaker {} closed", name);
+            state = State.CLOSED;
+        }
+    }
+
+    public synchronized void recordFailure() {
+        if (failureThreshold <= 0) {
+            return;
+        }
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || state == State.CLOSED && consecutiveFailures >= failureThreshold) {
+            log.warn("Circuit breaker {} opened after {} consecutive failures, failing fast for {} ms", name, consecutiveFailures, openDurationMs);
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            RetryMetrics.breakerOpened();
+        }
+    }
+
+    private void startTrial() {
+        trialInFlight = true;
+        trialStartedAt = System.nanoTime();
+    }
+}
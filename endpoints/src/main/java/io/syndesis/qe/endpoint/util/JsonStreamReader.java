@@ -0,0 +1,83 @@
+package io.syndesis.qe.endpoint.util;
+
+import io.syndesis.common.util.json.JsonUtils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decodes the REST responses directly from the entity stream using cached object readers.
+ */
+public final class JsonStreamReader {
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    private JsonStreamReader() {
+    }
+
+    /**
+     * Returns the cached syndesis object reader for given type.
+     *
+     * @param type type to read
+     * @return object reader
+     */
+    public static ObjectReader readerFor(Class<?> type) {
+        return READERS.computeIfAbsent(type, t -> JsonUtils.reader().forType(t));
+    }
+
+    /**
+     * Reads a single value from the stream. The stream is closed afterwards.
+     *
+     * @param is entity stream
+     * @param type type to read
+     * @param <T> type
+     * @return instance of given type
+     * @throws IOException when the stream can't be parsed
+     */
+    public static <T> T readValue(InputStream is, Class<T> type) throws IOException {
+        try (InputStream in = is) {
+            return readerFor(type).readValue(in);
+        }
+    }
+
+    /**
+     * Reads the "items" array of the ListResult json from the stream, binding each item directly to given type without any
+     * intermediate tree or string representation. The stream is closed afterwards.
+     *
+     * @param is entity stream
+     * @param type type of the items
+     * @param <T> type
+     * @return list of items
+     * @throws IOException when the stream can't be parsed
+     */
+    public static <T> List<T> readListItems(InputStream is, Class<T> type) throws IOException {
+        final ObjectReader reader = readerFor(type);
+        final List<T> items = new ArrayList<>();
+        try (JsonParser parser = reader.getFactory().createParser(is)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected list result object, got " + parser.currentToken());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                final JsonToken value = parser.nextToken();
+                if ("items".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        items.add(reader.readValue(parser));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } finally {
+            is.close();
+        }
+        return items;
+    }
+}
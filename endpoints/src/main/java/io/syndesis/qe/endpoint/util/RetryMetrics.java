@@ -0,0 +1,69 @@
+package io.syndesis.qe.endpoint.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Process-wide counters of the REST invocations, retries and circuit breaker events.
+ */
+@Slf4j
+public final class RetryMetrics {
+    private static final LongAdder INVOCATIONS = new LongAdder();
+    private static final LongAdder RETRIES = new LongAdder();
+    private static final LongAdder FAILURES = new LongAdder();
+    private static final LongAdder BREAKER_OPENED = new LongAdder();
+    private static final LongAdder BREAKER_REJECTED = new LongAdder();
+
+    private RetryMetrics() {
+    }
+
+    static void invocation() {
+        INVOCATIONS.increment();
+    }
+
+    static void retry() {
+        RETRIES.increment();
+    }
+
+    static void failure() {
+        FAILURES.increment();
+    }
+
+    static void breakerOpened() {
+        BREAKER_OPENED.increment();
+    }
+
+    static void breakerRejected() {
+        BREAKER_REJECTED.increment();
+    }
+
+    /**
+     * Gets the current values of all counters.
+     *
+     * @return map of counter name to its value
+     */
+    public static Map<String, Long> getCounters() {
+        final Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("invocations", INVOCATIONS.sum());
+        counters.put("retries", RETRIES.sum());
+        counters.put("failures", FAILURES.sum());
+        counters.put("breakerOpened", BREAKER_OPENED.sum());
+        counters.put("breakerRejected", BREAKER_REJECTED.sum());
+        return counters;
+    }
+
+    public static void log() {
+        log.info("REST invocation counters: {}", getCounters());
+    }
+
+    public static void reset() {
+        INVOCATIONS.reset();
+        RETRIES.reset();
+        FAILURES.reset();
+        BREAKER_OPENED.reset();
+        BREAKER_REJECTED.reset();
+    }
+}
@@ -0,0 +1,150 @@
+package io.syndesis.qe.endpoint.util;
+
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.conn.ConnectTimeoutException;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Describes when and how {@link RetryingInvocationBuilder} retries the invocation.
+ *
+ * Only idempotent methods are retried, with the exception of the connection failures, where the request wasn't sent at all.
+ * The delay between the attempts grows exponentially with a random jitter and the retrying stops once the deadline is reached.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class RetryPolicy {
+    private static volatile RetryPolicy defaultPolicy = RetryPolicy.builder().build();
+
+    /**
+     * Maximum number of retries (not counting the first attempt).
+     */
+    @Builder.Default
+    private final int maxRetries = 3;
+    @Builder.Default
+    private final long initialBackoffMs = 1000L;
+    @Builder.Default
+    private final long maxBackoffMs = 10000L;
+    @Builder.Default
+    private final double backoffMultiplier = 2.0;
+    /**
+     * Portion of the backoff (0 - 1) that is randomized.
+     */
+    @Builder.Default
+    private final double jitter = 0.5;
+    /**
+     * Maximum time spent on one request including all retries.
+     */
+    @Builder.Default
+    private final long deadlineMs = 120000L;
+    @Builder.Default
+    private final Set<Integer> retryOnStatus = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(502, 503, 504)));
+    @Builder.Default
+    private final Set<String> idempotentMethods = Collections.unmodifiableSet(new HashSet<>(
+        Arrays.asList(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE, "TRACE")));
+    @Builder.Default
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.SHARED;
+
+    /**
+     * Gets the policy used by the invocation builders created without explicit policy.
+     *
+     * @return default policy
+     */
+    public static RetryPolicy getDefault() {
+        return defaultPolicy;
+    }
+
+    public static void setDefault(RetryPolicy policy) {
+        defaultPolicy = policy;
+    }
+
+    public boolean isIdempotent(String method) {
+        return idempotentMethods.contains(method);
+    }
+
+    public boolean isRetryableStatus(int status) {
+        return retryOnStatus.contains(status);
+    }
+
+    /**
+     * Checks if the invocation of given method that failed with given exception can be retried.
+     *
+     * @param method http method
+     * @param e exception
+     * @return true if the invocation can be retried, false otherwise
+     */
+    public boolean isRetryable(String method, Throwable e) {
+        if (e instanceof WebApplicationException) {
+            return isIdempotent(method) && isRetryableStatus(((WebApplicationException) e).getResponse().getStatus());
+        }
+        if (e instanceof ProcessingException) {
+            return isIdempotent(method) || isConnectFailure(e);
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the exception means that the server is not healthy (as opposed to the client errors). Only the 5xx responses and the
+     * connection failures / timeouts count, the client side processing errors (for example unmappable response) don't.
+     *
+     * @param e exception
+     * @return true if the server failed
+     */
+    public boolean isServerFailure(Throwable e) {
+        if (e instanceof WebApplicationException) {
+            return ((WebApplicationException) e).getResponse().getStatus() >= 500;
+        }
+        return e instanceof ProcessingException && isUnreachable(e);
+    }
+
+    /**
+     * Computes the delay before given retry.
+     *
+     * @param retry retry number, starting from 1
+     * @return delay in milliseconds
+     */
+    public long backoffMs(int retry) {
+        final double exponential = initialBackoffMs * Math.pow(backoffMultiplier, Math.max(0, retry - 1));
+        final long base = (long) Math.min(maxBackoffMs, exponential);
+        final long randomized = (long) (base * jitter);
+        return base - randomized + (randomized > 0 ? ThreadLocalRandom.current().nextLong(randomized + 1) : 0);
+    }
+
+    private static boolean isUnreachable(Throwable e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof SocketException || cause instanceof SocketTimeoutException || cause instanceof UnknownHostException
+                || cause instanceof NoHttpResponseException || cause instanceof ConnectTimeoutException) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    private static boolean isConnectFailure(Throwable e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof ConnectException) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+}
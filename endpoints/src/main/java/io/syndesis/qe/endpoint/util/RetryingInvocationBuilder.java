@@ -2,6 +2,7 @@ package io.syndesis.qe.endpoint.util;
 
 import io.syndesis.qe.endpoint.exception.RestClientException;
 
+import javax.ws.rs.HttpMethod;
 import javax.ws.rs.client.AsyncInvoker;
 import javax.ws.rs.client.CompletionStageRxInvoker;
 import javax.ws.rs.client.Entity;
@@ -15,20 +16,25 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Retries the invocation for http methods get, post, put, delete given amount of times in case of any exception.
+ * Retries the invocation for http methods get, post, put, delete according to the {@link RetryPolicy}.
  */
 @Slf4j
 public class RetryingInvocationBuilder implements Invocation.Builder {
-    private static final int RETRIES_COUNT = 1;
-
     private Invocation.Builder invocationBuilder;
+    private RetryPolicy policy;
 
     public RetryingInvocationBuilder(Invocation.Builder invocationBuilder) {
+        this(invocationBuilder, RetryPolicy.getDefault());
+    }
+
+    public RetryingInvocationBuilder(Invocation.Builder invocationBuilder, RetryPolicy policy) {
         this.invocationBuilder = invocationBuilder;
+        this.policy = policy;
     }
 
     @Override
@@ -133,62 +139,62 @@ public class RetryingInvocationBuilder implements Invocation.Builder {
 
     @Override
     public Response get() {
-        return (Response) retryingInvoke(buildGet(), null);
+        return (Response) retryingInvoke(HttpMethod.GET, buildGet(), null);
     }
 
     @Override
     public <T> T get(Class<T> responseType) {
-        return (T) retryingInvoke(buildGet(), responseType);
+        return (T) retryingInvoke(HttpMethod.GET, buildGet(), responseType);
     }
 
     @Override
     public <T> T get(GenericType<T> responseType) {
-        return (T) retryingInvoke(buildGet(), responseType);
+        return (T) retryingInvoke(HttpMethod.GET, buildGet(), responseType);
     }
 
     @Override
     public Response put(Entity<?> entity) {
-        return (Response) retryingInvoke(buildPut(entity), null);
+        return (Response) retryingInvoke(HttpMethod.PUT, buildPut(entity), null);
     }
 
     @Override
     public <T> T put(Entity<?> entity, Class<T> responseType) {
-        return (T) retryingInvoke(buildPut(entity), responseType);
+        return (T) retryingInvoke(HttpMethod.PUT, buildPut(entity), responseType);
     }
 
     @Override
     public <T> T put(Entity<?> entity, GenericType<T> responseType) {
-        return (T) retryingInvoke(buildPut(entity), responseType);
+        return (T) retryingInvoke(HttpMethod.PUT, buildPut(entity), responseType);
     }
 
     @Override
     public Response post(Entity<?> entity) {
-        return (Response) retryingInvoke(buildPost(entity), null);
+        return (Response) retryingInvoke(HttpMethod.POST, buildPost(entity), null);
     }
 
     @Override
     public <T> T post(Entity<?> entity, Class<T> responseType) {
-        return (T) retryingInvoke(buildPost(entity), responseType);
+        return (T) retryingInvoke(HttpMethod.POST, buildPost(entity), responseType);
     }
 
     @Override
     public <T> T post(Entity<?> entity, GenericType<T> responseType) {
-        return (T) retryingInvoke(buildPost(entity), responseType);
+        return (T) retryingInvoke(HttpMethod.POST, buildPost(entity), responseType);
     }
 
     @Override
     public Response delete() {
-        return (Response) retryingInvoke(buildDelete(), null);
+        return (Response) retryingInvoke(HttpMethod.DELETE, buildDelete(), null);
     }
 
     @Override
     public <T> T delete(Class<T> responseType) {
-        return (T) retryingInvoke(buildDelete(), responseType);
+        return (T) retryingInvoke(HttpMethod.DELETE, buildDelete(), responseType);
     }
 
     @Override
     public <T> T delete(GenericType<T> responseType) {
-        return (T) retryingInvoke(buildDelete(), responseType);
+        return (T) retryingInvoke(HttpMethod.DELETE, buildDelete(), responseType);
     }
 
     @Override
@@ -257,33 +263,87 @@ public class RetryingInvocationBuilder implements Invocation.Builder {
     }
 
     /**
-     * Invokes the invocation. If the invocation throws an exception, it will be retried.
+     * Invokes the invocation. If the invocation fails and the policy allows it, it will be retried.
      *
+     * @param method http method of the invocation
      * @param i invocation
      * @param responseType response type object
      * @return object (Response or responseType class)
      */
-    private Object retryingInvoke(Invocation i, Object responseType) {
+    private Object retryingInvoke(String method, Invocation i, Object responseType) {
+        final CircuitBreaker breaker = policy.getCircuitBreaker();
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(policy.getDeadlineMs());
         int retries = 0;
-        do {
+        while (true) {
+            breaker.checkState();
+            RetryMetrics.invocation();
             try {
-                if (responseType == null) {
-                    return i.invoke();
-                } else if (responseType instanceof GenericType) {
-                    return i.invoke((GenericType) responseType);
+                final Object result = invoke(i, responseType);
+                // the typed invocations throw on error statuses, so only the raw responses can carry a 5xx here
+                final boolean serverError = responseType == null && ((Response) result).getStatus() >= 500;
+                if (serverError) {
+                    breaker.recordFailure();
+                } else {
+                    breaker.recordSuccess();
+                }
+                if (responseType != null || !policy.isRetryableStatus(((Response) result).getStatus())) {
+                    return result;
+                }
+                if (!canRetry(method, retries, deadline)) {
+                    RetryMetrics.failure();
+                    return result;
+                }
+                log.error("{} request returned status {}, will retry", method, ((Response) result).getStatus());
+                ((Response) result).close();
+            } catch (RuntimeException e) {
+                if (policy.isServerFailure(e)) {
+                    breaker.recordFailure();
                 } else {
-                    return i.invoke((Class) responseType);
+                    breaker.recordSuccess();
+                }
+                if (!policy.isRetryable(method, e)) {
+                    throw e;
                 }
-            } catch (Exception e) {
-                log.error("Exception raised during method invocation, will retry " + (RETRIES_COUNT - retries) + " more times", e);
-                retries++;
-                try {
-                    Thread.sleep(10000L);
-                } catch (InterruptedException ignore) {
-                    // ignore
+                if (!canRetry(method, retries, deadline)) {
+                    RetryMetrics.failure();
+                    throw new RestClientException("Unable to invoke endpoint after " + retries + " retries, see logs", e);
                 }
+                log.error("Exception raised during " + method + " invocation, will retry", e);
             }
-        } while (retries <= RETRIES_COUNT);
-        throw new RestClientException("Unable to invoke endpoint, see logs");
+            retries++;
+            RetryMetrics.retry();
+            sleep(policy.backoffMs(retries));
+        }
+    }
+
+    private boolean canRetry(String method, int retries, long deadline) {
+        if (retries >= policy.getMaxRetries()) {
+            log.error("{} request failed after {} retries", method, retries);
+            return false;
+        }
+        if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(policy.backoffMs(retries + 1)) > deadline) {
+            log.error("{} request failed, the deadline of {} ms would be exceeded", method, policy.getDeadlineMs());
+            return false;
+        }
+        return true;
+    }
+
+    private static Object invoke(Invocation i, Object responseType) {
+        if (responseType == null) {
+            return i.invoke();
+        } else if (responseType instanceof GenericType) {
+            return i.invoke((GenericType) responseType);
+        } else {
+            return i.invoke((Class) responseType);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RestClientException("Interrupted while waiting for the next retry", e);
+        }
     }
 }
@@ -0,0 +1,100 @@
+package io.syndesis.qe.endpoint.util;
+
+import io.syndesis.common.model.ListResult;
+import io.syndesis.common.model.connection.Connection;
+import io.syndesis.common.util.json.JsonUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.core.JsonParser.Feature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link JsonStreamReader#readListItems} with the previous buffered decoding of the list responses in AbstractEndpoint.
+ * <p>
+ * It is not a unit test, run it with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonStreamReaderBenchmark {
+    @Param({"100", "5000"})
+    private int items;
+
+    private byte[] payload;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonStreamReaderBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void createPayload() {
+        // the shape of a GET /connections response
+        final StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"i-").append(i).append("\",\"name\":\"Connection ").append(i)
+                .append("\",\"description\":\"Connection number ").append(i).append(" used by the benchmark\",\"connectorId\":\"sql\",")
+                .append("\"configuredProperties\":{\"url\":\"jdbc:postgresql://syndesis-db:5432/sampledb\",\"user\":\"sampledb\",")
+                .append("\"schema\":\"sampledb\"},\"tags\":[\"benchmark\",\"sql\"]}");
+        }
+        json.append("],\"totalCount\":").append(items).append('}');
+        payload = json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<Connection> streamed() throws IOException {
+        return JsonStreamReader.readListItems(new ByteArrayInputStream(payload), Connection.class);
+    }
+
+    /**
+     * The decoding used by AbstractEndpoint.list before: JsonNode, its string form bound to ListResult and every item written to
+     * a string and read again as the endpoint type.
+     */
+    @Benchmark
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<Connection> buffered() throws IOException {
+        final ObjectMapper mapper = new ObjectMapper().registerModules(new Jdk8Module());
+        mapper.configure(Feature.AUTO_CLOSE_SOURCE, true);
+        final ObjectWriter ow = mapper.writer();
+        final Class<ListResult<Connection>> listtype = (Class) ListResult.class;
+
+        final JsonNode response = mapper.readTree(new ByteArrayInputStream(payload));
+        final ListResult<Connection> result = JsonUtils.reader().forType(listtype).readValue(response.toString());
+
+        final List<Connection> ts = new ArrayList<>();
+        for (int i = 0; i < result.getTotalCount(); i++) {
+            final String json = ow.writeValueAsString(result.getItems().get(i));
+            ts.add(JsonUtils.reader().forType(Connection.class).readValue(json));
+        }
+        return ts;
+    }
+}
@@ -0,0 +1,78 @@
+package io.syndesis.qe.endpoint.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class JsonStreamReaderTest {
+    private static final int LARGE_ITEM_COUNT = 50_000;
+
+    @Test
+    public void shouldReadLargeItemsPayload() throws IOException {
+        final StringBuilder json = new StringBuilder("{\"totalCount\":").append(LARGE_ITEM_COUNT).append(",\"items\":[");
+        for (int i = 0; i < LARGE_ITEM_COUNT; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"i-").append(i).append("\",\"name\":\"integration ").append(i)
+                .append("\",\"tags\":[\"a\",\"b\"],\"nested\":{\"steps\":[{\"id\":").append(i).append("}]}}");
+        }
+        json.append("]}");
+
+        final List<Map> items = JsonStreamReader.readListItems(stream(json.toString()), Map.class);
+
+        assertThat(items).hasSize(LARGE_ITEM_COUNT);
+        assertThat(items.get(0)).containsEntry("id", "i-0").containsEntry("name", "integration 0");
+        assertThat(items.get(LARGE_ITEM_COUNT - 1)).containsEntry("id", "i-" + (LARGE_ITEM_COUNT - 1));
+    }
+
+    @Test
+    public void shouldSkipOtherFields() throws IOException {
+        final String json = "{\"meta\":{\"items\":[{\"id\":\"wrong\"}]},\"items\":[{\"id\":\"right\"}],\"other\":[1,2,{\"x\":[]}],\"totalCount\":1}";
+
+        final List<Map> items = JsonStreamReader.readListItems(stream(json), Map.class);
+
+        assertThat(items).hasSize(1);
+        assertThat(items.get(0)).containsEntry("id", "right");
+    }
+
+    @Test
+    public void shouldReadEmptyItems() throws IOException {
+        assertThat(JsonStreamReader.readListItems(stream("{\"items\":[],\"totalCount\":0}"), Map.class)).isEmpty();
+        assertThat(JsonStreamReader.readListItems(stream("{\"totalCount\":0}"), Map.class)).isEmpty();
+    }
+
+    @Test
+    public void shouldRejectNonObjectPayload() {
+        assertThatThrownBy(() -> JsonStreamReader.readListItems(stream("[{\"id\":\"a\"}]"), Map.class)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void shouldCloseStream() throws IOException {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final InputStream is = new ByteArrayInputStream("{\"items\":[]}".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+
+        JsonStreamReader.readListItems(is, Map.class);
+
+        assertThat(closed).isTrue();
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
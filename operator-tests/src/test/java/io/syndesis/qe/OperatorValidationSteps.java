@@ -16,6 +16,7 @@ import io.syndesis.qe.utils.TestUtils;
 import io.syndesis.qe.utils.aws.S3BucketNameBuilder;
 import io.syndesis.qe.utils.aws.S3Utils;
 import io.syndesis.qe.utils.http.HTTPUtils;
+import io.syndesis.qe.utils.http.StreamingHTTPResponse;
 import io.syndesis.qe.wait.OpenShiftWaitUtils;
 
 import org.apache.commons.io.FileUtils;
@@ -24,6 +25,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.assertj.core.api.SoftAssertions;
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.yaml.snakeyaml.Yaml;
@@ -201,10 +203,11 @@ public class OperatorValidationSteps {
         if (ResourceFactory.get(Syndesis.class).containsAddonProperty(Addon.JAEGER, "collectorUri")) {
             host = ResourceFactory.get(Jaeger.class).getQueryServiceHost();
         }
-        JSONArray jsonData = new JSONObject(HTTPUtils.doGetRequest(
-            "http://" + host + "/api/traces?service=" + integrationId)
-            .getBody())
-            .getJSONArray("data");
+        JSONArray jsonData;
+        // the traces of all the integration exchanges can be large, parse them directly from the stream
+        try (StreamingHTTPResponse response = HTTPUtils.doGetRequestStreaming("http://" + host + "/api/traces?service=" + integrationId, null)) {
+            jsonData = new JSONObject(new JSONTokener(response.getReader())).getJSONArray("data");
+        }
         OpenShiftUtils.terminateLocalPortForward(lpf);
         if ("is".equals(shouldCollect)) {
             assertThat(jsonData).size().isNotZero();
@@ -527,7 +530,10 @@ public class OperatorValidationSteps {
         try (LocalPortForward ignored = OpenShiftUtils.createLocalPortForward(
             //skip syndesis-operator-{d}-deploy pods
             OpenShiftUtils.getPod(p -> p.getMetadata().getName().matches("syndesis-operator-\\d-(?!deploy).*")), 8383, 8383)) {
-            assertThat(HTTPUtils.doGetRequest("http://localhost:8383/metrics").getBody()).contains("syndesis_version_info{operator_version");
+            try (StreamingHTTPResponse response = HTTPUtils.doGetRequestStreaming("http://localhost:8383/metrics", null)) {
+                assertThat(response.anyLineMatches(line -> line.contains("syndesis_version_info{operator_version")))
+                    .as("Operator metrics contain syndesis_version_info").isTrue();
+            }
         } catch (IOException e) {
             fail("Unable to create port forward: ", e);
         }
@@ -2,12 +2,15 @@ package io.syndesis.qe;
 
 import io.syndesis.common.model.integration.Flow;
 import io.syndesis.common.model.integration.Integration;
+import io.syndesis.common.model.integration.IntegrationDeploymentState;
 import io.syndesis.common.model.integration.Step;
 import io.syndesis.common.model.integration.StepKind;
 import io.syndesis.qe.datamapper.AtlasMapperGenerator;
+import io.syndesis.qe.endpoint.IntegrationOverviewEndpoint;
 import io.syndesis.qe.endpoint.IntegrationsEndpoint;
 import io.syndesis.qe.endpoint.Verifier;
 import io.syndesis.qe.endpoint.client.EndpointClient;
+import io.syndesis.qe.endpoint.util.AsyncRequestExecutor;
 import io.syndesis.qe.entities.StepDefinition;
 import io.syndesis.qe.storage.StepsStorage;
 import io.syndesis.qe.util.RestTestsUtils;
@@ -23,11 +26,15 @@ import javax.ws.rs.BadRequestException;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.MediaType;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
@@ -47,8 +54,16 @@ public class IntegrationHandler {
     @Autowired
     private IntegrationsEndpoint integrationsEndpoint;
     @Autowired
+    private IntegrationOverviewEndpoint integrationOverviewEndpoint;
+    @Autowired
     private AtlasMapperGenerator amg;
 
+    /**
+     * Ids of the integrations created by the "publish it later" step, published together by
+     * {@link #publishDeferredIntegrations()}.
+     */
+    private final List<String> deferredIntegrations = new ArrayList<>();
+
     @When("create new integration with name: {string} and desiredState: {string}")
     public void createIntegrationFromGivenStepsWithState(String integrationName, String desiredState) {
         createIntegrationFromGivenStepsWithStateAndValidation(integrationName, desiredState, null);
@@ -60,31 +75,8 @@ public class IntegrationHandler {
     }
 
     private void createIntegrationFromGivenStepsWithStateAndValidation(String integrationName, String desiredState, String validate) {
-        if (validate == null || validate.isEmpty()) {
-            verifyConnections();
-        }
-        processAggregateSteps();
-        processMapperSteps();
-        Set<String> tags = new HashSet<>();
-        for (Step step : steps.getSteps()) {
-            if (step.getConnection().isPresent()) {
-                tags.addAll(step.getConnection().get().getTags());
-            }
-        }
-
-        Integration integration = new Integration.Builder()
-            .name(integrationName)
-            .description("Awkward integration.")
-            .tags(tags)
-            .exposure(Exposure.SERVICE.toString())
-            .addFlow(
-                new Flow.Builder()
-                    .id(UUID.randomUUID().toString())
-                    .description(integrationName + "Flow")
-                    .steps(steps.getSteps())
-                    .build()
-            )
-            .build();
+        final Set<String> tags = prepareSteps(validate);
+        Integration integration = buildIntegration(integrationName, tags);
 
         log.info("Creating integration {}", integration.getName());
         String integrationId = integrationsEndpoint.create(integration).getId().get();
@@ -99,6 +91,77 @@ public class IntegrationHandler {
         steps.flushStepDefinitions();
     }
 
+    @When("create integration with name: {string} and publish it later")
+    public void createIntegrationForDeferredPublishing(String integrationName) {
+        final Integration integration = buildIntegration(integrationName, prepareSteps(null));
+        log.info("Creating integration {}", integration.getName());
+        deferredIntegrations.add(integrationsEndpoint.create(integration).getId().get());
+        log.debug("Flushing used steps");
+        steps.flushStepDefinitions();
+    }
+
+    @When("publish all integrations created for later publishing and wait until they are active")
+    public void publishDeferredIntegrations() {
+        try {
+            publishIntegrations(deferredIntegrations, 9);
+        } finally {
+            // a failed publish shouldn't leak its integrations into the next batch
+            deferredIntegrations.clear();
+        }
+    }
+
+    @When("create {int} integrations with name prefix: {string} and publish them")
+    public void createIntegrationsFromGivenSteps(int count, String namePrefix) {
+        final Set<String> tags = prepareSteps(null);
+        createAndPublishIntegrations(IntStream.rangeClosed(1, count)
+            .mapToObj(i -> buildIntegration(namePrefix + " " + i, tags))
+            .collect(Collectors.toList()), 9);
+        log.debug("Flushing used steps");
+        steps.flushStepDefinitions();
+    }
+
+    /**
+     * Creates all given integrations concurrently, publishes them and waits until all of them are active.
+     *
+     * @param integrations integrations to create
+     * @param waitMinutes max time to wait for all integrations to become active
+     * @return ids of created integrations
+     */
+    public List<String> createAndPublishIntegrations(List<Integration> integrations, int waitMinutes) {
+        final List<String> integrationIds = AsyncRequestExecutor.joinAll(integrations.stream()
+            .map(integration -> AsyncRequestExecutor.submit(() -> {
+                log.info("Creating integration {}", integration.getName());
+                return integrationsEndpoint.create(integration).getId().get();
+            }))
+            .collect(Collectors.toList()));
+        publishIntegrations(integrationIds, waitMinutes);
+        return integrationIds;
+    }
+
+    /**
+     * Publishes all given integrations concurrently and waits until all of them are active. The state of all integrations is checked
+     * in a single poll loop.
+     *
+     * @param integrationIds ids of integrations to publish
+     * @param waitMinutes max time to wait for all integrations to become active
+     */
+    public void publishIntegrations(Collection<String> integrationIds, int waitMinutes) {
+        final long start = System.nanoTime();
+        AsyncRequestExecutor.joinAll(integrationIds.stream()
+            .map(integrationId -> AsyncRequestExecutor.submit(() -> {
+                log.info("Publish integration with ID: {}", integrationId);
+                publishIntegration(integrationId);
+                return integrationId;
+            }))
+            .collect(Collectors.toList()));
+        log.info("Waiting until {} integrations become active. This may take a while...", integrationIds.size());
+        final Set<String> notActive = TestUtils.waitForStates(integrationOverviewEndpoint, integrationIds, IntegrationDeploymentState.Published,
+            TimeUnit.MINUTES, waitMinutes);
+        Assertions.assertThat(notActive).as("Integrations were not active after %d minutes", waitMinutes).isEmpty();
+        log.info("{} integrations are active. It took {}s to build them.", integrationIds.size(),
+            TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
     @When("set integration with name: {string} to desiredState: {string}")
     public void changeIntegrationState(String integrationName, String desiredState) {
 
@@ -163,6 +226,50 @@ public class IntegrationHandler {
         integrationsEndpoint.deactivateIntegration(integrationId, integrationVersion);
     }
 
+    /**
+     * Verifies the connections and processes the mapper and aggregate steps from the steps storage.
+     *
+     * @param validate if null or empty, the connections are verified
+     * @return tags of all connections used in the steps
+     */
+    private Set<String> prepareSteps(String validate) {
+        if (validate == null || validate.isEmpty()) {
+            verifyConnections();
+        }
+        processAggregateSteps();
+        processMapperSteps();
+        Set<String> tags = new HashSet<>();
+        for (Step step : steps.getSteps()) {
+            if (step.getConnection().isPresent()) {
+                tags.addAll(step.getConnection().get().getTags());
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Creates the integration object with a single flow from the steps storage.
+     *
+     * @param integrationName integration name
+     * @param tags integration tags
+     * @return integration
+     */
+    private Integration buildIntegration(String integrationName, Set<String> tags) {
+        return new Integration.Builder()
+            .name(integrationName)
+            .description("Awkward integration.")
+            .tags(tags)
+            .exposure(Exposure.SERVICE.toString())
+            .addFlow(
+                new Flow.Builder()
+                    .id(UUID.randomUUID().toString())
+                    .description(integrationName + "Flow")
+                    .steps(steps.getSteps())
+                    .build()
+            )
+            .build();
+    }
+
     /**
      * This should be updated for more than two steps, when it will work correctly in near future.
      */
@@ -1,9 +1,8 @@
 package io.syndesis.qe;
 
-import io.syndesis.common.model.connection.Connection;
-import io.syndesis.common.model.integration.Integration;
 import io.syndesis.qe.endpoint.ConnectionsEndpoint;
 import io.syndesis.qe.endpoint.IntegrationsEndpoint;
+import io.syndesis.qe.endpoint.util.AsyncRequestExecutor;
 import io.syndesis.qe.endpoints.TestSupport;
 import io.syndesis.qe.resource.impl.SyndesisDB;
 import io.syndesis.qe.storage.StepsStorage;
@@ -12,6 +11,7 @@ import io.syndesis.qe.utils.SampleDbConnectionManager;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import io.cucumber.java.After;
 import lombok.extern.slf4j.Slf4j;
@@ -46,21 +46,19 @@ public class RestTestHooks {
 
         if (TestConfiguration.isDeloreanEnvironment()) {
             //delete all integrations and connections after the test. Only for Delorean since it doesn't support TEST_SUPPORT env
-            List<Integration> integrations = integrationsEndpoint.list();
-            for (Integration integration : integrations) {
-                integrationsEndpoint.delete(integration.getId().get());
-            }
+            List<String> integrations = integrationsEndpoint.list().stream()
+                .map(integration -> integration.getId().get())
+                .collect(Collectors.toList());
+            AsyncRequestExecutor.join(integrationsEndpoint.deleteAllAsync(integrations));
 
-            List<Connection> connections = connectionsEndpoint.list();
-            for (Connection connection : connections) {
-                if (SyndesisDB.DEFAULT_PSQL_CONNECTION_ORIGINAL.equals(connection.getName()) ||
-                    SyndesisDB.DEFAULT_PSQL_CONNECTION_BACKUP.equals(connection.getName()) ||
+            List<String> connections = connectionsEndpoint.list().stream()
+                .filter(connection -> !SyndesisDB.DEFAULT_PSQL_CONNECTION_ORIGINAL.equals(connection.getName())
+                    && !SyndesisDB.DEFAULT_PSQL_CONNECTION_BACKUP.equals(connection.getName())
                     //for default connections (Webhook, Log, Flow, Timer, Api Provider etc.) We don't want to delete them
-                    connection.getTags().isEmpty()) {
-                    continue;
-                }
-                connectionsEndpoint.delete(connection.getId().get());
-            }
+                    && !connection.getTags().isEmpty())
+                .map(connection -> connection.getId().get())
+                .collect(Collectors.toList());
+            AsyncRequestExecutor.join(connectionsEndpoint.deleteAllAsync(connections));
         }
     }
 
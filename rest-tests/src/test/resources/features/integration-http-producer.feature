@@ -9,8 +9,9 @@
 Feature: Integration - HTTP
   Background:
     Given clean application state
-      And deploy HTTP endpoints
-      And deploy ActiveMQ broker
+      And deploy resources
+        | HTTP endpoints  |
+        | ActiveMQ broker |
       And create ActiveMQ connection
       And create HTTP connection
       And create HTTPS connection
@@ -0,0 +1,65 @@
+package io.syndesis.qe.report.selector.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes the list of the classes that declare methods annotated with @ExcludeFromSelectorReports to {@link #CLASS_LIST}.
+ * <p>
+ * The selector snooping agent transforms only these classes, so it doesn't need to inspect every loaded class.
+ */
+@SupportedAnnotationTypes(ExcludeFromSelectorReportsProcessor.ANNOTATION)
+public class ExcludeFromSelectorReportsProcessor extends AbstractProcessor {
+    public static final String ANNOTATION = "io.syndesis.qe.report.selector.ExcludeFromSelectorReports";
+    public static final String CLASS_LIST = "META-INF/syndesis-qe/selector-report-excluded-classes";
+
+    private final Set<String> classes = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element method : roundEnv.getElementsAnnotatedWith(annotation)) {
+                Element type = method.getEnclosingElement();
+                if (type.getKind().isClass() || type.getKind() == ElementKind.INTERFACE) {
+                    classes.add(processingEnv.getElementUtils().getBinaryName((TypeElement) type).toString());
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !classes.isEmpty()) {
+            writeClassList();
+        }
+        return false;
+    }
+
+    private void writeClassList() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", CLASS_LIST);
+            try (Writer writer = file.openWriter()) {
+                for (String clazz : classes) {
+                    writer.write(clazz);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + CLASS_LIST + ": " + e.getMessage());
+        }
+    }
+}
@@ -4,6 +4,20 @@ import io.syndesis.qe.TestConfiguration;
 import io.syndesis.qe.report.selector.ExcludeFromSelectorReports;
 import io.syndesis.qe.report.selector.SelectorSnooper;
 
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.instrument.Instrumentation;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 import io.cucumber.java.en.Given;
 import io.cucumber.plugin.EventListener;
 import io.cucumber.plugin.event.EventPublisher;
@@ -14,11 +28,23 @@ import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.annotation.AnnotationDescription;
 import net.bytebuddy.description.type.PackageDescription;
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.implementation.SuperMethodCall;
 import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.utility.JavaModule;
 
 @Slf4j
 public class ClassTransformerHook implements EventListener {
+    /**
+     * Generated at build time by ExcludeFromSelectorReportsProcessor.
+     */
+    private static final String CLASS_LIST = "META-INF/syndesis-qe/selector-report-excluded-classes";
+    private static final String APICURITO_PACKAGE = "apicurito.tests";
+
+    private static final AtomicLong INSTALL_NANOS = new AtomicLong();
+    private static final AtomicLong TRANSFORM_NANOS = new AtomicLong();
+    private static final AtomicInteger TRANSFORMED = new AtomicInteger();
+    private static final ThreadLocal<Long> TRANSFORM_START = new ThreadLocal<>();
 
     private boolean shouldLoadAgent = true;
 
@@ -27,12 +53,15 @@ public class ClassTransformerHook implements EventListener {
     }
 
     private void transformSelectors() {
-        lazyAgentInstall();
+        final long start = System.nanoTime();
+        final Instrumentation instrumentation = lazyAgentInstall();
+        final Set<String> excludedClasses = loadExcludedClasses();
         /*
          The resulting agent annotates all methods loaded from apicurito testsuite with @ExcludeFromSelectorReports
          */
         new AgentBuilder.Default()
-            .type(ElementMatchers.nameStartsWithIgnoreCase("apicurito.tests"))
+            .with(AgentBuilder.PoolStrategy.Default.FAST)
+            .type(ElementMatchers.nameStartsWithIgnoreCase(APICURITO_PACKAGE))
             .transform((builder, typeDescription, classLoader, module) -> {
                 if (ElementMatchers
                     .isAnnotatedWith(new TypeDescription.ForPackageDescription(new PackageDescription.ForLoadedPackage(Given.class.getPackage())))
@@ -44,26 +73,29 @@ public class ClassTransformerHook implements EventListener {
                         new TypeDescription.ForPackageDescription(new PackageDescription.ForLoadedPackage(Given.class.getPackage()))))
                     .intercept(SuperMethodCall.INSTANCE)
                     .annotateMethod(AnnotationDescription.Builder.ofType(ExcludeFromSelectorReports.class).build());
-            }).installOnByteBuddyAgent();
+            }).installOn(instrumentation);
         /*
         The resulting agent changes methods annotated with @ExcludeFromSelectorReports to call ReporterPauseInterceptor#onEnter()
         And to call ReporterPauseInterceptor#onExit()
         TLDR: before the actual method is executed SelectorSnooper#pauseReporting() is called and SelectorSnooper#resumeReporting() is called after
          the method finishes
+        Only the classes from the build-time list (and the apicurito classes annotated by the agent above) are matched, by name, so the other
+        loaded classes are not parsed at all. The advice is inlined, so the already loaded classes can be retransformed.
          */
         new AgentBuilder.Default()
-            .with(AgentBuilder.PoolStrategy.Eager.EXTENDED)
+            .with(AgentBuilder.PoolStrategy.Default.FAST)
             .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
-            .type(ElementMatchers.nameContainsIgnoreCase("syndesis"))
+            .disableClassFormatChanges()
+            .with(new TransformTimer())
+            .type(typeDescription -> excludedClasses.contains(typeDescription.getName())
+                || typeDescription.getName().toLowerCase().startsWith(APICURITO_PACKAGE))
             .transform((builder, typeDescription, classLoader, module) -> {
-                if (typeDescription.getDeclaredMethods().stream()
-                    .anyMatch(inDefinedShape -> inDefinedShape.getDeclaredAnnotations().isAnnotationPresent(ExcludeFromSelectorReports.class))) {
-                    log.debug("Transforming {}", typeDescription);
-                }
-                return builder
-                    .method(ElementMatchers.isAnnotatedWith(ExcludeFromSelectorReports.class))
-                    .intercept(Advice.to(ReporterPauseInterceptor.class));
-            }).installOnByteBuddyAgent();
+                log.debug("Transforming {}", typeDescription);
+                return builder.visit(Advice.to(ReporterPauseInterceptor.class).on(ElementMatchers.isAnnotatedWith(ExcludeFromSelectorReports.class)));
+            }).installOn(instrumentation);
+        INSTALL_NANOS.set(System.nanoTime() - start);
+        log.info("Selector snooping agents installed in {} ms, {} classes will be instrumented", TimeUnit.NANOSECONDS.toMillis(INSTALL_NANOS.get()),
+            excludedClasses.size());
     }
 
     private void transform() {
@@ -73,26 +105,72 @@ public class ClassTransformerHook implements EventListener {
     }
 
     ///Install Bytebuddy agent only once
-    private void lazyAgentInstall() {
+    private Instrumentation lazyAgentInstall() {
         if (shouldLoadAgent) {
-            ByteBuddyAgent.install();
             shouldLoadAgent = false;
+            return ByteBuddyAgent.install();
         }
+        return ByteBuddyAgent.getInstrumentation();
+    }
+
+    private static Set<String> loadExcludedClasses() {
+        final Set<String> classes = new HashSet<>();
+        try {
+            Enumeration<URL> lists = ClassTransformerHook.class.getClassLoader().getResources(CLASS_LIST);
+            while (lists.hasMoreElements()) {
+                try (InputStream is = lists.nextElement().openStream()) {
+                    IOUtils.readLines(is, StandardCharsets.UTF_8).stream().map(String::trim).filter(s -> !s.isEmpty()).forEach(classes::add);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Unable to read the list of classes to instrument", e);
+        }
+        if (classes.isEmpty()) {
+            log.warn("No classes to instrument found in {}, is the selector-report-processor on the compile classpath?", CLASS_LIST);
+        }
+        return classes;
+    }
+
+    /**
+     * Returns the time spent by installing the agents and by transforming the classes.
+     *
+     * @return summary of the instrumentation overhead
+     */
+    public static String getStatistics() {
+        return String.format("agent install: %d ms, %d classes transformed in %d ms", TimeUnit.NANOSECONDS.toMillis(INSTALL_NANOS.get()),
+            TRANSFORMED.get(), TimeUnit.NANOSECONDS.toMillis(TRANSFORM_NANOS.get()));
     }
 
     public static class ReporterPauseInterceptor {
 
-        @org.assertj.core.internal.bytebuddy.asm.Advice.OnMethodEnter
+        @Advice.OnMethodEnter
         public static void onEnter() {
             SelectorSnooper.pauseReporting();
         }
 
-        @Advice.OnMethodExit
+        @Advice.OnMethodExit(onThrowable = Throwable.class)
         public static void onExit() {
             SelectorSnooper.resumeReporting();
         }
     }
 
+    /**
+     * Measures the time spent in the transformation of the matched classes.
+     */
+    private static class TransformTimer extends AgentBuilder.Listener.Adapter {
+        @Override
+        public void onDiscovery(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
+            TRANSFORM_START.set(System.nanoTime());
+        }
+
+        @Override
+        public void onTransformation(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module, boolean loaded,
+            DynamicType dynamicType) {
+            TRANSFORMED.incrementAndGet();
+            TRANSFORM_NANOS.addAndGet(System.nanoTime() - TRANSFORM_START.get());
+        }
+    }
+
     @Override
     public void setEventPublisher(EventPublisher publisher) {
         //NOOP all action is handled in constructor
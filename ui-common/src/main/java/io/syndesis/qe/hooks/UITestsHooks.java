@@ -1,6 +1,7 @@
 package io.syndesis.qe.hooks;
 
 import io.syndesis.qe.TestConfiguration;
+import io.syndesis.qe.utils.UIWaits;
 
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
@@ -37,6 +38,14 @@ public class UITestsHooks {
         }
     }
 
+    @AfterStep
+    public void logStepWaits() {
+        final String summary = UIWaits.drainStepSummary();
+        if (summary != null) {
+            log.info("Step {}", summary);
+        }
+    }
+
     /**
      * Takes a screenshot using selenium and then resizes it to half size and attaches it to the scenario.
      * @param scenario scenario
@@ -4,7 +4,7 @@ import static com.codeborne.selenide.Condition.visible;
 import static com.codeborne.selenide.Selenide.$;
 
 import io.syndesis.qe.pages.SyndesisPageObject;
-import io.syndesis.qe.utils.TestUtils;
+import io.syndesis.qe.utils.UIWaits;
 
 import org.openqa.selenium.By;
 
@@ -53,6 +53,6 @@ public class ConnectionDetail extends SyndesisPageObject {
         this.connectionDetailElement().find(By.id("inline-edit-textarea")).setValue(description);
         //confirm and cancel buttons are indentical:
         this.connectionDetailElement().findAll(By.className("pf-c-button")).get(0).click();
-        TestUtils.sleepForJenkinsDelayIfHigher(2);
+        UIWaits.waitForPageReady();
     }
 }
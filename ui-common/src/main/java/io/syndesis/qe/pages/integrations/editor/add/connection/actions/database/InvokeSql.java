@@ -3,7 +3,7 @@ package io.syndesis.qe.pages.integrations.editor.add.connection.actions.database
 import static com.codeborne.selenide.Condition.visible;
 import static com.codeborne.selenide.Selenide.$;
 
-import io.syndesis.qe.utils.TestUtils;
+import io.syndesis.qe.utils.UIWaits;
 
 import org.openqa.selenium.By;
 
@@ -24,8 +24,8 @@ public class InvokeSql extends Sql {
     @Override
     public void fillSqlInput(String query) {
         log.debug("filling sql query: {}", query);
-        TestUtils.sleepIgnoreInterrupt(2000); // when sql is as a middle step, the query input element is not shown quickly
-        SelenideElement element = $(Element.INPUT_QUERY);
+        // when sql is as a middle step, the query input element is not shown quickly
+        SelenideElement element = $(Element.INPUT_QUERY).waitUntil(visible, UIWaits.DEFAULT_TIMEOUT_MS);
         this.fillInput(element, query);
     }
 
@@ -9,6 +9,7 @@ import io.syndesis.qe.pages.SyndesisPageObject;
 import io.syndesis.qe.utils.ByUtils;
 import io.syndesis.qe.utils.DragAndDropFile;
 import io.syndesis.qe.utils.TestUtils;
+import io.syndesis.qe.utils.UIWaits;
 import io.syndesis.qe.utils.UploadFile;
 
 import org.openqa.selenium.By;
@@ -71,6 +72,6 @@ public class ImportIntegration extends SyndesisPageObject {
             $(Element.DRAG_AND_DROP_PLACE).shouldBe(visible),
             Element.FINISHED_PROGRESS_BAR);
 
-        TestUtils.sleepForJenkinsDelayIfHigher(2);
+        UIWaits.waitForPageReady();
     }
 }
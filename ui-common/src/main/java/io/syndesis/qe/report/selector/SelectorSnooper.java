@@ -1,21 +1,28 @@
 package io.syndesis.qe.report.selector;
 
 import io.syndesis.qe.TestConfiguration;
+import io.syndesis.qe.hooks.ClassTransformerHook;
 
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.By;
+import org.openqa.selenium.OutputType;
 import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import com.codeborne.selenide.Driver;
-import com.codeborne.selenide.Screenshots;
 import com.codeborne.selenide.Selenide;
 import com.codeborne.selenide.WebDriverRunner;
 import com.codeborne.selenide.impl.WebElementSelector;
 import com.google.common.collect.Sets;
 
+import javax.imageio.ImageIO;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -24,6 +31,10 @@ import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,6 +47,15 @@ public class SelectorSnooper {
 
     private static final Pattern FORBIDDEN_CSS_CHARACTERS = Pattern.compile("[#.]");
     private static final Path SCREEN_SHOT_FOLDER = Paths.get("target/cucumber/screenshots");
+    private static final int HIGHLIGHT_WIDTH = 2;
+    private static final int CROP_MARGIN = 200;
+    private static final long SCREENSHOT_WRITER_TIMEOUT_MINUTES = 5L;
+    private static final AtomicInteger SCREENSHOT_COUNTER = new AtomicInteger();
+    private static final ExecutorService SCREENSHOT_WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "selector-screenshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
     private static String scenarioName;
     private static Set<By> currentSelectors = new HashSet<>();
     private static SelectorUsageReporter reporter = new SelectorUsageReporter();
@@ -76,37 +96,65 @@ public class SelectorSnooper {
      */
     public static void finish() {
         if (TestConfiguration.snoopSelectors()) {
+            awaitScreenshots();
             log.info("Generating selector reports");
             reporter.generateReports();
             log.info("Logging selectors took {} ms from total test run", WebElementSelectorDetector.delta);
+            log.info("Selector instrumentation overhead: {}", ClassTransformerHook.getStatistics());
         }
     }
 
     /**
-     * Highlights WebElement in the webpage and takes a screenshot
-     * uses JS alerts to let Selenide know that the Javascript is done
+     * Takes a screenshot of the page and schedules highlighting of the WebElement in it
+     * <p>
+     * Only the element bounds and the raw screenshot are captured on the test thread, decoding, highlighting, cropping and writing
+     * of the image is done by the background writer
      *
      * @param el element to highlight
-     * @return path to the generated screenshot
+     * @return name of the screenshot file that will be written
      */
     private static String highlightElement(WebElement el) {
-        String originalBorder = Selenide.executeJavaScript("arguments[0].style.border", el);
-        WebDriverWait wait = new WebDriverWait(WebDriverRunner.getWebDriver(), 3);
-        Selenide.executeJavaScript("arguments[0].style.border=\"2px solid red\"", el);
-        wait.until(ExpectedConditions.attributeContains(el, "style", "2px solid red"));
-        File tmpImage = Screenshots.takeScreenShotAsFile();
-        String fileName = Instant.now().toString() + ".png";
-        String path = SCREEN_SHOT_FOLDER.resolve(fileName).toString();
+        List<Number> bounds = Selenide.executeJavaScript(
+            "var r = arguments[0].getBoundingClientRect(); return [r.left, r.top, r.width, r.height, window.devicePixelRatio || 1];", el);
+        byte[] screenshot = ((TakesScreenshot) WebDriverRunner.getWebDriver()).getScreenshotAs(OutputType.BYTES);
+        String fileName = Instant.now().toString() + "-" + SCREENSHOT_COUNTER.incrementAndGet() + ".png";
+        SCREENSHOT_WRITER.submit(() -> writeHighlightedScreenshot(screenshot, bounds, SCREEN_SHOT_FOLDER.resolve(fileName)));
+        return fileName;
+    }
+
+    private static void writeHighlightedScreenshot(byte[] screenshot, List<Number> bounds, Path target) {
         try {
-            FileUtils.copyFile(tmpImage, FileUtils.getFile(path));
-        } catch (IOException e) {
-            e.printStackTrace();
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(screenshot));
+            double ratio = bounds.get(4).doubleValue();
+            Rectangle element = new Rectangle((int) (bounds.get(0).doubleValue() * ratio), (int) (bounds.get(1).doubleValue() * ratio),
+                (int) Math.ceil(bounds.get(2).doubleValue() * ratio), (int) Math.ceil(bounds.get(3).doubleValue() * ratio));
+            Graphics2D graphics = image.createGraphics();
+            graphics.setColor(Color.RED);
+            graphics.setStroke(new BasicStroke(HIGHLIGHT_WIDTH));
+            graphics.drawRect(element.x - HIGHLIGHT_WIDTH, element.y - HIGHLIGHT_WIDTH, element.width + 2 * HIGHLIGHT_WIDTH,
+                element.height + 2 * HIGHLIGHT_WIDTH);
+            graphics.dispose();
+            // keep some context around the element, fall back to the whole screenshot when the element is not in the viewport
+            Rectangle crop = new Rectangle(element.x - CROP_MARGIN, element.y - CROP_MARGIN, element.width + 2 * CROP_MARGIN,
+                element.height + 2 * CROP_MARGIN).intersection(new Rectangle(image.getWidth(), image.getHeight()));
+            if (!crop.isEmpty()) {
+                image = image.getSubimage(crop.x, crop.y, crop.width, crop.height);
+            }
+            ImageIO.write(image, "png", target.toFile());
+        } catch (IOException | RuntimeException e) {
+            log.error("Unable to write screenshot " + target, e);
+        }
+    }
+
+    private static void awaitScreenshots() {
+        SCREENSHOT_WRITER.shutdown();
+        try {
+            if (!SCREENSHOT_WRITER.awaitTermination(SCREENSHOT_WRITER_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+                log.error("Screenshots were not written in {} minutes", SCREENSHOT_WRITER_TIMEOUT_MINUTES);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        //There is no way to reliably wait for inline style removal/being changed, this is more reliable, although ugly when you look at it running
-        Selenide.executeJavaScript("arguments[0].style.border=arguments[1]; alert(\"I love javascript\");", el, originalBorder);
-        wait.until(ExpectedConditions.alertIsPresent());
-        Selenide.switchTo().alert().accept();
-        return fileName;
     }
 
     private static void reportWrongSelector(By selector, WebElement el) {
@@ -20,6 +20,7 @@ import io.syndesis.qe.CustomWebDriverProvider;
 import io.syndesis.qe.TestConfiguration;
 import io.syndesis.qe.account.Account;
 import io.syndesis.qe.account.AccountsDirectory;
+import io.syndesis.qe.endpoint.ConnectionsEndpoint;
 import io.syndesis.qe.fragments.common.form.Form;
 import io.syndesis.qe.pages.ModalDialogPage;
 import io.syndesis.qe.pages.SyndesisPage;
@@ -37,10 +38,13 @@ import io.syndesis.qe.steps.connections.wizard.phases.SelectConnectionTypeSteps;
 import io.syndesis.qe.utils.Alert;
 import io.syndesis.qe.utils.ByUtils;
 import io.syndesis.qe.utils.CalendarUtils;
+import io.syndesis.qe.utils.LogMatcher;
 import io.syndesis.qe.utils.OpenShiftUtils;
+import io.syndesis.qe.utils.PodLogFollower;
 import io.syndesis.qe.utils.PortForwardUtils;
 import io.syndesis.qe.utils.TestUtils;
 import io.syndesis.qe.utils.UIUtils;
+import io.syndesis.qe.utils.UIWaits;
 import io.syndesis.qe.utils.google.GoogleAccount;
 import io.syndesis.qe.utils.google.GoogleAccounts;
 import io.syndesis.qe.wait.OpenShiftWaitUtils;
@@ -82,6 +86,8 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class CommonSteps {
+    private static final long CONNECTION_SAVE_TIMEOUT_MS = 22000L;
+    private static final long OAUTH_LOGIN_TIMEOUT_MS = 60000L;
 
     private SyndesisRootPage syndesisRootPage = new SyndesisRootPage();
     private ModalDialogPage modalDialogPage = new ModalDialogPage();
@@ -134,6 +140,9 @@ public class CommonSteps {
     @Autowired
     private GoogleAccounts googleAccounts;
 
+    @Autowired
+    private ConnectionsEndpoint connectionsEndpoint;
+
     @Autowired
     @Lazy
     private CalendarUtils calendarUtils;
@@ -149,7 +158,7 @@ public class CommonSteps {
             fail("Log out did not go as expected.");
         }
 
-        TestUtils.sleepForJenkinsDelayIfHigher(3);
+        UIWaits.waitForPageReady();
         $(Element.LOGIN_BUTTON).shouldBe(visible).click();
 
         try {
@@ -270,8 +279,8 @@ public class CommonSteps {
 
             clickOnLink("Create Connection");
 
-            log.info("Sleeping so jenkins has more time to load all connectors");
-            TestUtils.sleepIgnoreInterrupt(TestConfiguration.getJenkinsDelay() * 1000);
+            // wait until all connectors are loaded
+            UIWaits.waitForPageReady();
 
             selectConnectionTypeSteps.selectConnectionType(connectionType);
             configureConnectionSteps.fillConnectionDetails(connectionCredentialsName);
@@ -302,14 +311,7 @@ public class CommonSteps {
 
             clickOnButton("Save");
 
-            try {
-                TestUtils.sleepForJenkinsDelayIfHigher(2);
-                OpenShiftWaitUtils.waitFor(() -> !syndesisRootPage.getCurrentUrl().contains("connections/create"), 2, 20);
-            } catch (TimeoutException | InterruptedException e) {
-                clickOnButton("Save");
-                TestUtils.waitFor(() -> !syndesisRootPage.getCurrentUrl().contains("connections/create"),
-                    2, 20, "Unable to create a connection - create button does nothing.");
-            }
+            waitForConnectionCreated(connectionName);
         }
     }
 
@@ -670,14 +672,14 @@ public class CommonSteps {
     @Then("^fill in values by element ID")
     public void fillFormViaID(DataTable data) {
         Form.waitForInputs(20);
-        TestUtils.sleepIgnoreInterrupt(2000);
+        UIWaits.waitForPageReady();
         new Form(new SyndesisRootPage().getRootElement()).fillById(data.asMap(String.class, String.class));
     }
 
     @Then("^fill in values by element data-testid")
     public void fillFormViaTestID(DataTable data) {
         Form.waitForInputs(20);
-        TestUtils.sleepIgnoreInterrupt(2000);
+        UIWaits.waitForPageReady();
         Map<String, String> dataMap = new HashMap<>(data.asMap(String.class, String.class));
         dataMap.replaceAll((key, value) -> value == null ? "" : value);
         new Form(new SyndesisRootPage().getRootElement()).fillByTestId(dataMap);
@@ -695,7 +697,7 @@ public class CommonSteps {
     @Then("^force fill in values by element data-testid$")
     public void forceFillFormViaTestID(DataTable data) {
         Form.waitForInputs(20);
-        TestUtils.sleepIgnoreInterrupt(2000);
+        UIWaits.waitForPageReady();
         new Form(new SyndesisRootPage().getRootElement()).forceFillByTestId(data.asMap(String.class, String.class));
     }
 
@@ -736,13 +738,13 @@ public class CommonSteps {
 
         clickOnLink("Create Connection");
 
-        //sometimes page is loaded but connections are not so we need to wait here a bit
-        TestUtils.sleepIgnoreInterrupt(TestConfiguration.getJenkinsDelay());
+        //sometimes page is loaded but connections are not so we need to wait until all the requests finish
+        UIWaits.waitForPageReady();
 
         selectConnectionTypeSteps.selectConnectionType(connectorName);
 
-        //slenide did validation before it reached correct page, but lets wait a second (it helps, trust me!)
-        TestUtils.sleepForJenkinsDelayIfHigher(1);
+        //slenide did validation before it reached correct page, so wait until the page is loaded
+        UIWaits.waitForPageReady();
         doOAuthValidation(connectorName);
 
         assertThat(WebDriverRunner.currentFrameUrl())
@@ -751,14 +753,26 @@ public class CommonSteps {
 
         nameConnectionSteps.setConnectionName(newConnectionName);
 
-        try {
-            TestUtils.sleepForJenkinsDelayIfHigher(2);
-            OpenShiftWaitUtils.waitFor(() -> !syndesisRootPage.getCurrentUrl().contains("connections/create"), 2, 20);
-        } catch (TimeoutException | InterruptedException e) {
+        waitForConnectionCreated(newConnectionName);
+    }
+
+    /**
+     * Waits until the wizard leaves the create page. The Save button is clicked again only when the backend doesn't know the connection,
+     * otherwise the second click could create a duplicate.
+     *
+     * @param connectionName name of the created connection
+     */
+    private void waitForConnectionCreated(String connectionName) {
+        if (UIWaits.waitUntil("connection created", () -> !syndesisRootPage.getCurrentUrl().contains("connections/create"),
+            CONNECTION_SAVE_TIMEOUT_MS)) {
+            return;
+        }
+        if (connectionsEndpoint.getConnectionByName(connectionName) == null) {
+            log.warn("Connection {} was not created, clicking the Save button again", connectionName);
             clickOnButton("Save");
-            TestUtils.waitFor(() -> !syndesisRootPage.getCurrentUrl().contains("connections/create"),
-                2, 20, "Unable to create a connection - create button does nothing.");
         }
+        TestUtils.waitFor(() -> !syndesisRootPage.getCurrentUrl().contains("connections/create"),
+            2, 20, "Unable to create a connection - create button does nothing.");
     }
 
     @When("^go back in browser history$")
@@ -927,7 +941,8 @@ public class CommonSteps {
         $(By.id("password")).shouldBe(visible).sendKeys(account.getProperty("password"));
         $(By.id("Login")).shouldBe(visible).click();
         //give it time to log in
-        TestUtils.sleepForJenkinsDelayIfHigher(10);
+        UIWaits.waitUntil("Salesforce login", () -> !$(By.id("Login")).exists(), OAUTH_LOGIN_TIMEOUT_MS);
+        UIWaits.waitForPageReady();
     }
 
     /**
@@ -962,7 +977,7 @@ public class CommonSteps {
             .findFirst().get().click();
         $(By.id("userid")).shouldBe(visible).sendKeys(account.getProperty("userId"));
         $(By.xpath(".//*[@type='submit']")).shouldBe(visible).click();
-        TestUtils.sleepForJenkinsDelayIfHigher(3);
+        UIWaits.waitForPageReady();
         $(By.id("password")).shouldBe(visible).sendKeys(account.getProperty("password"));
         $(By.xpath(".//*[@type='submit']")).shouldBe(visible).click();
     }
@@ -1034,7 +1049,7 @@ public class CommonSteps {
         }
         // even though server is in ready state, inside app is still starting so we have to wait a lot just to be sure
         try {
-            OpenShiftWaitUtils.waitFor(() -> OpenShiftUtils.getPodLogs("server").contains("Started Application in"), 1000 * 300L);
+            PodLogFollower.follow("server").awaitMatch(LogMatcher.contains("Started Application in"), 1000 * 300L);
         } catch (TimeoutException | InterruptedException e) {
             fail("Syndesis server did not start in 300s with new variable", e);
         }
@@ -5,6 +5,8 @@ import static org.junit.Assert.assertEquals;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.syndesis.qe.endpoint.client.EndpointClient;
+import io.syndesis.qe.endpoint.util.CircuitBreaker;
+import io.syndesis.qe.endpoint.util.RetryPolicy;
 import io.syndesis.qe.endpoint.util.RetryingInvocationBuilder;
 import io.syndesis.qe.pages.integrations.editor.apiprovider.ApiProviderToolbar;
 import io.syndesis.qe.pages.integrations.editor.apiprovider.wizard.ApiProviderWizard;
@@ -17,8 +19,8 @@ import io.syndesis.qe.steps.integrations.editor.CreateIntegrationSteps;
 import io.syndesis.qe.steps.integrations.editor.EditorSteps;
 import io.syndesis.qe.steps.integrations.editor.add.ChooseConnectionSteps;
 import io.syndesis.qe.utils.OpenShiftUtils;
-import io.syndesis.qe.utils.TestUtils;
 import io.syndesis.qe.utils.TodoUtils;
+import io.syndesis.qe.utils.UIWaits;
 
 import org.openqa.selenium.By;
 
@@ -36,6 +38,7 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class ApiProviderSteps {
+    private static final RetryPolicy INTEGRATION_RETRY_POLICY = RetryPolicy.getDefault().toBuilder().circuitBreaker(CircuitBreaker.DISABLED).build();
 
     private ApiProviderWizard wizard = new ApiProviderWizard();
 
@@ -135,7 +138,7 @@ public class ApiProviderSteps {
         cs.clickOnLink("Save");
         new CreateIntegrationSteps().setIntegrationName(name);
         cs.clickOnButton("Save");
-        TestUtils.sleepIgnoreInterrupt(2000);
+        UIWaits.waitForPageReady();
     }
 
     @When("^execute ([A-Z]+) on API Provider route ([\\w-]+) endpoint \"([^\"]*)\"$")
@@ -192,12 +195,13 @@ public class ApiProviderSteps {
     }
 
     private Invocation.Builder getInvocation(String url) {
+        // the integration route returns 502/503 while the integration starts, that must not open the breaker of the syndesis server calls
         return new RetryingInvocationBuilder(EndpointClient.getClient()
             .target(url)
             .request(MediaType.APPLICATION_JSON)
             .header("X-Forwarded-User", "pista")
             .header("X-Forwarded-Access-Token", "kral")
-            .header("SYNDESIS-XSRF-TOKEN", "awesome"));
+            .header("SYNDESIS-XSRF-TOKEN", "awesome"), INTEGRATION_RETRY_POLICY);
     }
 
     @When("^go to API Provider operation list$")
@@ -213,7 +217,7 @@ public class ApiProviderSteps {
     @When("^go to the ([\\w ]+) API Provider operation$")
     public void goToOperation(String operation) {
         toolbar.goToOperation(operation);
-        TestUtils.sleepForJenkinsDelayIfHigher(1);
+        UIWaits.waitForPageReady();
     }
 
     @Then("^verify the displayed API Provider URL matches regex (.*)$")
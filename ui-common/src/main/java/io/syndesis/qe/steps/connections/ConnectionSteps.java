@@ -17,6 +17,7 @@ import io.syndesis.qe.steps.connections.wizard.phases.NameConnectionSteps;
 import io.syndesis.qe.steps.connections.wizard.phases.SelectConnectionTypeSteps;
 import io.syndesis.qe.utils.ByUtils;
 import io.syndesis.qe.utils.TestUtils;
+import io.syndesis.qe.utils.UIWaits;
 
 import org.openqa.selenium.By;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -164,7 +165,8 @@ public class ConnectionSteps {
 
     @Then("^check that page contains (\\d+) tooltips$")
     public void checkNumberOfTooltips(int expectedSize) {
-        TestUtils.sleepForJenkinsDelayIfHigher(1);
+        UIWaits.waitUntil(expectedSize + " tooltips shown", () -> new ConfigureConnectionSteps().getAllToolTips().size() == expectedSize,
+            UIWaits.DEFAULT_TIMEOUT_MS);
         assertThat(new ConfigureConnectionSteps().getAllToolTips()).hasSize(expectedSize);
     }
 
@@ -175,7 +177,8 @@ public class ConnectionSteps {
         }
         SelenideElement selenideElement = new ConfigureConnectionSteps().getAllToolTips().get(tooltip - 1);
         selenideElement.click(); // open tooltip
-        TestUtils.sleepForJenkinsDelayIfHigher(2);
+        UIWaits.waitUntil("tooltip popover shown", () -> expectedText.equals($(By.className("form-label-hint__popover")).text()),
+            UIWaits.DEFAULT_TIMEOUT_MS);
         assertThat($(By.className("form-label-hint__popover")).text()).isEqualTo(expectedText);
     }
 }
@@ -4,7 +4,7 @@ import io.cucumber.java.en.When;
 import io.cucumber.datatable.DataTable;
 import io.syndesis.qe.fragments.common.form.Form;
 import io.syndesis.qe.pages.connections.wizard.phases.NameConnection;
-import io.syndesis.qe.utils.TestUtils;
+import io.syndesis.qe.utils.UIWaits;
 
 public class NameConnectionSteps {
 
@@ -25,6 +25,6 @@ public class NameConnectionSteps {
     @When("^fills? Name Connection form$")
     public void fillNameConnectionForm(DataTable data) {
         new Form(nameConnectionPage.getRootElement()).fillByLabel(data.asMap(String.class, String.class));
-        TestUtils.sleepForJenkinsDelayIfHigher(1);
+        UIWaits.waitForPageReady();
     }
 }
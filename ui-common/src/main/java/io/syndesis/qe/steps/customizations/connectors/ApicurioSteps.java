@@ -17,7 +17,7 @@ import io.syndesis.qe.fragments.common.form.Form;
 import io.syndesis.qe.pages.customizations.connectors.wizard.steps.SpecifySecurity;
 import io.syndesis.qe.report.selector.ExcludeFromSelectorReports;
 import io.syndesis.qe.utils.ByUtils;
-import io.syndesis.qe.utils.TestUtils;
+import io.syndesis.qe.utils.UIWaits;
 import io.syndesis.qe.wait.OpenShiftWaitUtils;
 
 import org.openqa.selenium.By;
@@ -147,8 +147,9 @@ public class ApicurioSteps {
     @When("^remove warning via apicurio gui$")
     public void removeWarning() {
         $(Elements.WARNING_ICON).shouldBe(visible).click();
-        //there isn't really a nice way how to wait as the box is there all the time, we are waiting for different items to show
-        TestUtils.sleepForJenkinsDelayIfHigher(10);
+        //the box is there all the time, so wait for the different items to show
+        UIWaits.waitUntil("apicurio validation problems listed", () -> $(Elements.PROBLEMS_CONTAINER).$$(Elements.VALIDATION_PROBLEM).size() > 2,
+            UIWaits.DEFAULT_TIMEOUT_MS);
         SelenideElement firstProblemElement = $(Elements.PROBLEMS_CONTAINER).shouldBe(visible)
             .$$(Elements.VALIDATION_PROBLEM).get(2);
         assertThat(firstProblemElement).isNotNull();
@@ -335,9 +336,9 @@ public class ApicurioSteps {
     @ExcludeFromSelectorReports
     @When("^click on button \"([^\"]*)\" while in apicurio studio page$")
     public void clickOnButtonInApicurio(String buttonTitle) {
-        TestUtils.sleepForJenkinsDelayIfHigher(2);
+        UIWaits.waitForPageReady();
         getApicurioButton(buttonTitle).shouldBe(visible, enabled).shouldNotHave(attribute("disabled")).click();
-        TestUtils.sleepForJenkinsDelayIfHigher(2);
+        UIWaits.waitForPageReady();
     }
 
     @When("^change frame to \"([^\"]*)\"$")
@@ -15,6 +15,7 @@ import io.syndesis.qe.steps.CommonSteps;
 import io.syndesis.qe.utils.Alert;
 import io.syndesis.qe.utils.DragAndDropFile;
 import io.syndesis.qe.utils.TestUtils;
+import io.syndesis.qe.utils.UIWaits;
 import io.syndesis.qe.utils.UploadFile;
 
 import org.openqa.selenium.By;
@@ -33,6 +34,7 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class ExtensionSteps {
+    private static final long EXTENSION_UPLOAD_TIMEOUT_MS = 60000L;
 
     private CustomizationsPage customizationsPage = new CustomizationsPage();
     private TechExtensionsImportPage techExtensionsImportPage = new TechExtensionsImportPage();
@@ -73,7 +75,7 @@ public class ExtensionSteps {
             $(By.className("dnd-file-chooser")).shouldBe(visible),
             By.className("extension-import-review__title"));
 
-        TestUtils.sleepForJenkinsDelayIfHigher(20);
+        UIWaits.waitForPageReady(EXTENSION_UPLOAD_TIMEOUT_MS);
     }
 
     /**
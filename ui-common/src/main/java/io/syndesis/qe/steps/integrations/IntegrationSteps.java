@@ -5,7 +5,10 @@ import static org.assertj.core.api.Assertions.fail;
 
 import static com.codeborne.selenide.Condition.visible;
 
+import io.syndesis.common.model.integration.IntegrationDeploymentState;
 import io.syndesis.qe.TestConfiguration;
+import io.syndesis.qe.endpoint.IntegrationOverviewEndpoint;
+import io.syndesis.qe.endpoint.IntegrationsEndpoint;
 import io.syndesis.qe.pages.ModalDialogPage;
 import io.syndesis.qe.pages.integrations.IntegrationStartingStatus;
 import io.syndesis.qe.pages.integrations.Integrations;
@@ -17,7 +20,9 @@ import io.syndesis.qe.resource.impl.CamelK;
 import io.syndesis.qe.steps.CommonSteps;
 import io.syndesis.qe.utils.ExportedIntegrationJSONUtil;
 import io.syndesis.qe.utils.OpenShiftUtils;
+import io.syndesis.qe.utils.PodLogFollower;
 import io.syndesis.qe.utils.TestUtils;
+import io.syndesis.qe.utils.UIWaits;
 import io.syndesis.qe.wait.OpenShiftWaitUtils;
 
 import org.assertj.core.api.Condition;
@@ -31,7 +36,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import io.cucumber.java.en.Then;
@@ -44,6 +48,7 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class IntegrationSteps {
+    private static final long INTEGRATION_STATE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(10);
 
     private Details detailPage = new Details();
     private Integrations integrations = new Integrations();
@@ -53,6 +58,12 @@ public class IntegrationSteps {
     @Autowired
     private CommonSteps commonSteps;
 
+    @Autowired
+    private IntegrationsEndpoint integrationsEndpoint;
+
+    @Autowired
+    private IntegrationOverviewEndpoint integrationOverviewEndpoint;
+
     @When("^select the \"([^\"]*)\" integration.*$")
     public void selectIntegration(String itegrationName) {
         integrations.goToIntegrationDetail(itegrationName);
@@ -67,7 +78,7 @@ public class IntegrationSteps {
     public void expectIntegrationPresent(String name) {
         commonSteps.navigateTo("Integrations");
         log.info("Verifying integration {} is present", name);
-        TestUtils.sleepForJenkinsDelayIfHigher(4);
+        UIWaits.waitUntil("integration present in list", () -> integrations.isIntegrationPresent(name), UIWaits.DEFAULT_TIMEOUT_MS);
         assertThat(integrations.isIntegrationPresent(name)).isTrue();
     }
 
@@ -86,17 +97,19 @@ public class IntegrationSteps {
     public void waitForIntegrationState(String integrationName, String integrationStatus) {
         commonSteps.navigateTo("Integrations");
         SelenideElement integration = integrations.getIntegration(integrationName);
-        TestUtils.sleepForJenkinsDelayIfHigher(10);
         if ("camelk".equalsIgnoreCase(TestConfiguration.syndesisRuntime())) {
             ResourceFactory.get(CamelK.class).waitForContextToBuild(integrationName);
             Selenide.refresh();
             log.info("Integration platform status: {}", OpenShiftUtils.binary().execute("get", "integrationplatforms", "-o yaml"));
         }
-        assertThat(TestUtils.waitForEvent(
-            status -> status.contains(integrationStatus),
-            () -> integrations.getIntegrationItemStatus(integrationName),
-            TimeUnit.MINUTES, 10, TimeUnit.SECONDS, 20)
-        ).isTrue();
+        // first wait until the backend reaches the state, then only for the UI to show it
+        IntegrationDeploymentState backendState = toDeploymentState(integrationStatus);
+        if (backendState != null) {
+            UIWaits.waitForBackend("integration " + backendState, () -> integrationsEndpoint.getIntegrationId(integrationName)
+                .map(id -> integrationOverviewEndpoint.getOverview(id).getCurrentState() == backendState).orElse(false), INTEGRATION_STATE_TIMEOUT_MS);
+        }
+        assertThat(UIWaits.waitUntil("integration state in list", () -> integrations.getIntegrationItemStatus(integrationName)
+            .contains(integrationStatus), INTEGRATION_STATE_TIMEOUT_MS)).isTrue();
     }
 
     /*
@@ -108,7 +121,7 @@ public class IntegrationSteps {
     public void waitForIntegrationStartingState(String integrationName, String integrationStatus) {
         commonSteps.navigateTo("Integrations");
         SelenideElement integration = integrations.getIntegration(integrationName);
-        TestUtils.sleepForJenkinsDelayIfHigher(10);
+        UIWaits.waitForPageReady();
         assertThat(TestUtils.waitForEvent(
             status -> status.equals(integrationStatus),
             () -> integrations.getIntegrationItemStartingStatus(integration),
@@ -188,10 +201,9 @@ public class IntegrationSteps {
 
     @Then("^.*validate that logs of integration \"([^\"]*)\" contains string \"(.*)\"$")
     public void checkThatLogsContain(final String integrationName, final String text) {
-        try {
-            OpenShiftWaitUtils.waitFor(() -> OpenShiftUtils.getIntegrationLogs(integrationName).contains(text), 60 * 1000L);
-        } catch (TimeoutException | InterruptedException e) {
-            assertThat(OpenShiftUtils.getIntegrationLogs(integrationName)).containsIgnoringCase(text);
+        final PodLogFollower.Follower follower = PodLogFollower.followIntegration(integrationName);
+        if (!follower.waitForText(text, 60 * 1000L)) {
+            assertThat(follower.getLog()).containsIgnoringCase(text);
         }
     }
 
@@ -208,12 +220,11 @@ public class IntegrationSteps {
 
     @Then("^.*validate that logs of integration \"([^\"]*)\" doesn't contain string \"(.*)\"$")
     public void checkThatLogsDoesNotContain(final String integrationName, final String text) {
-        try {
-            OpenShiftWaitUtils.waitFor(() -> OpenShiftUtils.getIntegrationLogs(integrationName).contains(text), 60 * 1000L);
+        final PodLogFollower.Follower follower = PodLogFollower.followIntegration(integrationName);
+        if (follower.waitForText(text, 60 * 1000L)) {
             fail("Log for integration: " + integrationName + " contains string: " + text);
-        } catch (TimeoutException | InterruptedException e) {
-            assertThat(OpenShiftUtils.getIntegrationLogs(integrationName)).doesNotContain(text);
         }
+        assertThat(follower.getLog()).doesNotContain(text);
     }
 
     @Then("^check starting integration ([^\"]*) status on Integrations page$")
@@ -323,4 +334,21 @@ public class IntegrationSteps {
         log.info("Searching log for string '{}'", searchedString);
         checkThatLogsContain(integrationName, searchedString);
     }
+
+    /**
+     * Maps the integration state shown in the UI to the deployment state in the backend.
+     *
+     * @param uiState state shown in the integrations list
+     * @return deployment state or null if there is no corresponding state
+     */
+    private static IntegrationDeploymentState toDeploymentState(String uiState) {
+        switch (uiState) {
+            case "Running":
+                return IntegrationDeploymentState.Published;
+            case "Stopped":
+                return IntegrationDeploymentState.Unpublished;
+            default:
+                return null;
+        }
+    }
 }
@@ -2,7 +2,7 @@ package io.syndesis.qe.steps.integrations.editor;
 
 import io.syndesis.qe.fragments.common.form.Form;
 import io.syndesis.qe.pages.integrations.editor.CreateIntegration;
-import io.syndesis.qe.utils.TestUtils;
+import io.syndesis.qe.utils.UIWaits;
 
 import io.cucumber.java.en.When;
 import io.cucumber.datatable.DataTable;
@@ -21,6 +21,6 @@ public class CreateIntegrationSteps {
     @When("^fills? Name Integration form$")
     public void fillNameConnectionForm(DataTable data) {
         new Form(createIntegration.getRootElement()).fillByTestId(data.asMap(String.class, String.class));
-        TestUtils.sleepForJenkinsDelayIfHigher(1);
+        UIWaits.waitForPageReady();
     }
 }
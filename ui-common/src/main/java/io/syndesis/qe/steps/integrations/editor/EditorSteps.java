@@ -13,6 +13,7 @@ import io.syndesis.qe.pages.integrations.editor.add.ChooseConnection;
 import io.syndesis.qe.pages.integrations.fragments.IntegrationFlowView;
 import io.syndesis.qe.utils.ByUtils;
 import io.syndesis.qe.utils.TestUtils;
+import io.syndesis.qe.utils.UIWaits;
 import io.syndesis.qe.wait.OpenShiftWaitUtils;
 
 import org.openqa.selenium.By;
@@ -245,7 +246,7 @@ public class EditorSteps {
     @When("^save and cancel integration editor$")
     public void cancelIntegrationEditorSave() {
         editor.getRootElement().$(Button.SAVE_AS_DRAFT).shouldBe(visible).click();
-        TestUtils.sleepIgnoreInterrupt(2000);
+        UIWaits.waitForPageReady();
         editor.getRootElement().$(Button.CANCEL).shouldBe(visible).click();
         SelenideElement dialog = new ModalDialogPage().getRootElement();
         dialog.find(By.xpath(".//button[text()[contains(.,'Confirm')]]")).waitUntil(Condition.appears, 10000).click();
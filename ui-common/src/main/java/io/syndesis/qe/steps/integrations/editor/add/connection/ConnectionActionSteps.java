@@ -8,7 +8,7 @@ import io.syndesis.qe.pages.integrations.editor.add.connection.ChooseAction;
 import io.syndesis.qe.pages.integrations.editor.add.connection.actions.database.InvokeSql;
 import io.syndesis.qe.pages.integrations.editor.add.connection.actions.database.PeriodicSql;
 import io.syndesis.qe.pages.integrations.editor.add.connection.actions.fragments.ConfigureAction;
-import io.syndesis.qe.utils.TestUtils;
+import io.syndesis.qe.utils.UIWaits;
 
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
@@ -57,12 +57,12 @@ public class ConnectionActionSteps {
     public void fillInvokeSQLquery(String query) {
         invokeSql.fillSqlInput(query);
         //verifying of the querry sometimes fails but there is no success notifier, it just jumps to the next page
-        TestUtils.sleepForJenkinsDelayIfHigher(3);
+        UIWaits.waitForPageReady();
     }
 
     @Then("^check that sql query is \"([^\"]*)\"")
     public void checkQuery(String query) {
-        TestUtils.sleepForJenkinsDelayIfHigher(3);
+        UIWaits.waitUntil("sql query filled", () -> query.equals(invokeSql.getSqlValue()), UIWaits.DEFAULT_TIMEOUT_MS);
         assertThat(invokeSql.getSqlValue()).isEqualTo(query);
     }
 }
@@ -1,25 +1,39 @@
 package io.syndesis.qe.steps.integrations.importt;
 
-import io.syndesis.qe.TestConfiguration;
+import io.syndesis.qe.endpoint.IntegrationsEndpoint;
 import io.syndesis.qe.pages.integrations.Integrations;
 import io.syndesis.qe.pages.integrations.importt.ImportIntegration;
-import io.syndesis.qe.utils.TestUtils;
+import io.syndesis.qe.utils.UIWaits;
+
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import io.cucumber.java.en.When;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class ImportIntegrationSteps {
+    private static final long IMPORT_TIMEOUT_MS = 60000L;
 
     private Integrations integrations = new Integrations();
     private ImportIntegration importIntegrationPage = new ImportIntegration();
 
+    @Autowired
+    private IntegrationsEndpoint integrationsEndpoint;
+
     @When("^import integration \"([^\"]*)\"$")
     public void importIntegration(String integrationName) {
         importIntegrationPage.importIntegration(integrationName);
-        TestUtils.sleepForJenkinsDelayIfHigher(3);
+        UIWaits.waitForPageReady();
     }
 
     @When("^drag exported integration \"([^\"]*)\" file to drag and drop area$")
@@ -29,8 +43,42 @@ public class ImportIntegrationSteps {
 
     @When("^import integration from relative file path \"([^\"]*)\"$")
     public void importIntegrationFromFile(String stringPathToFile) {
-        importIntegrationPage.importIntegration(new File(stringPathToFile));
-        //give jenkins more time so the integration shows up in the list
-        TestUtils.sleepIgnoreInterrupt(TestConfiguration.getJenkinsDelay());
+        final File exportFile = new File(stringPathToFile);
+        importIntegrationPage.importIntegration(exportFile);
+        // the following steps expect the integration in the list, so wait until the backend has it
+        final List<String> integrationNames = getIntegrationNames(exportFile);
+        if (integrationNames.isEmpty()) {
+            UIWaits.waitForPageReady();
+        }
+        for (String integrationName : integrationNames) {
+            UIWaits.waitForBackend("imported integration " + integrationName,
+                () -> integrationsEndpoint.getIntegrationId(integrationName).isPresent(), IMPORT_TIMEOUT_MS);
+        }
+    }
+
+    /**
+     * Reads the names of the integrations from the model of the exported zip file.
+     *
+     * @param exportFile exported integration
+     * @return integration names, empty if the file can't be read
+     */
+    private static List<String> getIntegrationNames(File exportFile) {
+        final List<String> names = new ArrayList<>();
+        try (ZipFile zip = new ZipFile(exportFile)) {
+            final ZipEntry model = zip.getEntry("model.json");
+            if (model == null) {
+                log.warn("Exported integration {} doesn't contain model.json", exportFile);
+                return names;
+            }
+            try (InputStream is = zip.getInputStream(model)) {
+                final JSONObject exported = new JSONObject(new JSONTokener(is)).optJSONObject("integrations");
+                if (exported != null) {
+                    exported.keySet().forEach(id -> names.add(exported.getJSONObject(id).getString("name")));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to read integration names from {}: {}", exportFile, e.getMessage());
+        }
+        return names;
     }
 }
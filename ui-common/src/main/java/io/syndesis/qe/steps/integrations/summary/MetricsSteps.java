@@ -8,13 +8,11 @@ import io.syndesis.qe.pages.integrations.summary.Details;
 import io.syndesis.qe.pages.integrations.summary.Metrics;
 import io.syndesis.qe.utils.CalendarUtils;
 import io.syndesis.qe.utils.OpenShiftUtils;
-import io.syndesis.qe.utils.TestUtils;
+import io.syndesis.qe.utils.UIWaits;
 
 import org.apache.commons.lang3.time.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import com.codeborne.selenide.Selenide;
-
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
@@ -31,12 +29,15 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class MetricsSteps {
+    private static final long METRICS_REFRESH_INTERVAL_MS = 5000L;
+    private static final long METRICS_TIMEOUT_MS = 30000L;
+    private static final long NO_DATA_TIMEOUT_MS = 90000L;
+    private static final long START_DATE_TIMEOUT_MS = 300000L;
 
     private Metrics metricsTab = new Details().getMetricsTab();
 
     public void refresh() {
-        Selenide.refresh();
-        TestUtils.sleepIgnoreInterrupt(2000);
+        UIWaits.refresh();
     }
 
     @Autowired
@@ -45,6 +46,9 @@ public class MetricsSteps {
     @Then("^check that number of total error is (\\w+)$")
     public void checkNumberOfTotalError(int numberOfErrors) {
         refresh();
+        // the metrics are collected asynchronously
+        UIWaits.refreshUntil("total errors metrics", () -> metricsTab.getTotalErrors() == numberOfErrors,
+            METRICS_REFRESH_INTERVAL_MS, METRICS_TIMEOUT_MS);
         assertThat(metricsTab.getTotalErrors()).isEqualTo(numberOfErrors);
     }
 
@@ -100,12 +104,18 @@ public class MetricsSteps {
     @Then("^check that number of error messages is (\\w+)$")
     public void checkNumberOfErrorMessages(int numberOfErrorMessages) {
         refresh();
+        // the metrics are collected asynchronously
+        UIWaits.refreshUntil("error messages metrics", () -> metricsTab.getNumberOfErrorMessages() == numberOfErrorMessages,
+            METRICS_REFRESH_INTERVAL_MS, METRICS_TIMEOUT_MS);
         assertThat(metricsTab.getNumberOfErrorMessages()).isEqualTo(numberOfErrorMessages);
     }
 
     @Then("^check that number of total messages is (\\w+)$")
     public void checkNumberOfTotalMessages(int numberOfTotalMessages) {
         refresh();
+        // the metrics are collected asynchronously
+        UIWaits.refreshUntil("total messages metrics", () -> metricsTab.getNumberOfTotalMessages() == numberOfTotalMessages,
+            METRICS_REFRESH_INTERVAL_MS, METRICS_TIMEOUT_MS);
         assertThat(metricsTab.getNumberOfTotalMessages()).isEqualTo(numberOfTotalMessages);
     }
 
@@ -119,8 +129,9 @@ public class MetricsSteps {
             String openshiftTime = pod.get().getStatus().getStartTime();
 
             if (uptime.contains("No Data Available")) {
-                TestUtils.sleepIgnoreInterrupt(61000); // gh-5100
-                refresh();
+                // gh-5100
+                UIWaits.refreshUntil("uptime available", () -> !metricsTab.getUpTime().contains("No Data Available"), METRICS_REFRESH_INTERVAL_MS,
+                    NO_DATA_TIMEOUT_MS);
                 uptime = metricsTab.getUpTime();
                 openshiftTime = pod.get().getStatus().getStartTime();
             }
@@ -154,17 +165,14 @@ public class MetricsSteps {
         Date uiStartDate = parseUiSinceDate(startTime);
 
         // UI date and start date cannot be same, Issue: gh-4303
-        int timeout = 0;
-        while (isSameAsCurrentDate(uiStartDate)) {
-            timeout++;
-            log.info("UI time is same as actual, probably the issue: gh-4303. Waiting 30 seconds and refresh UI. " + timeout + ". attempt.");
-            Thread.sleep(30000);
-            refresh();
-            startTime = metricsTab.getStartTime();
-            uiStartDate = parseUiSinceDate(startTime);
-            if (timeout == 10) {
+        if (isSameAsCurrentDate(uiStartDate)) {
+            log.info("UI time is same as actual, probably the issue: gh-4303. Refreshing UI until it changes.");
+            if (!UIWaits.refreshUntil("start date differs from current date", () -> !isSameAsCurrentDate(parseStartTime()),
+                METRICS_REFRESH_INTERVAL_MS, START_DATE_TIMEOUT_MS)) {
                 fail("UI time is same as actual time which is impossible");
             }
+            startTime = metricsTab.getStartTime();
+            uiStartDate = parseUiSinceDate(startTime);
         }
 
         Optional<Pod> pod = OpenShiftUtils.getPodByPartialName(integration);
@@ -193,6 +201,14 @@ public class MetricsSteps {
         }
     }
 
+    private Date parseStartTime() {
+        try {
+            return parseUiSinceDate(metricsTab.getStartTime());
+        } catch (ParseException e) {
+            throw new IllegalStateException("Unable to parse start time", e);
+        }
+    }
+
     /**
      * Parse since date to the Date
      * e.g. Since Dec 19th 10:42 -> group1 = Dec 19 group2= 10:42
@@ -6,7 +6,6 @@ import static com.codeborne.selenide.Condition.exactText;
 import static com.codeborne.selenide.Condition.visible;
 import static com.codeborne.selenide.Selenide.$;
 
-import io.syndesis.qe.TestConfiguration;
 import io.syndesis.qe.account.Account;
 import io.syndesis.qe.account.AccountsDirectory;
 import io.syndesis.qe.pages.connections.Connections;
@@ -15,7 +14,7 @@ import io.syndesis.qe.steps.connections.wizard.phases.NameConnectionSteps;
 import io.syndesis.qe.steps.connections.wizard.phases.SelectConnectionTypeSteps;
 import io.syndesis.qe.utils.ByUtils;
 import io.syndesis.qe.utils.OpenShiftUtils;
-import io.syndesis.qe.utils.TestUtils;
+import io.syndesis.qe.utils.UIWaits;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -63,7 +62,7 @@ public class KafkaSteps {
         assertThat(connections.isEmpty()).isTrue();
 
         commonSteps.clickOnLink("Create Connection");
-        TestUtils.sleepIgnoreInterrupt(TestConfiguration.getJenkinsDelay() * 1000);
+        UIWaits.waitForPageReady();
         selectConnectionTypeSteps.selectConnectionType(connectionType);
 
         //select autodiscovered broker url:
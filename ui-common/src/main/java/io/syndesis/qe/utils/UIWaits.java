@@ -0,0 +1,232 @@
+package io.syndesis.qe.utils;
+
+import static org.assertj.core.api.Assertions.fail;
+
+import static com.codeborne.selenide.Selenide.$;
+
+import io.syndesis.qe.wait.AdaptiveInterval;
+import io.syndesis.qe.wait.WaitStatistics;
+
+import org.openqa.selenium.By;
+
+import com.codeborne.selenide.Selenide;
+import com.codeborne.selenide.WebDriverRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Condition-based waits for the UI steps, use them instead of the fixed sleeps.
+ * <p>
+ * The waits poll with a short, growing interval, so they end as soon as the condition is met. Every wait is recorded in
+ * {@link WaitStatistics} and in the summary of the current step, see {@link #drainStepSummary()}.
+ */
+@Slf4j
+public final class UIWaits {
+    public static final long DEFAULT_TIMEOUT_MS = 30000L;
+    public static final long BACKEND_TIMEOUT_MS = 5 * 60 * 1000L;
+    /**
+     * Default for {@link #waitForPageReady()}, it replaces short sleeps, so it shouldn't take much longer than them.
+     */
+    public static final long PAGE_READY_TIMEOUT_MS = 5000L;
+
+    private static final long INITIAL_POLL_MS = 100L;
+    private static final long MAX_POLL_MS = 1000L;
+    private static final double POLL_BACKOFF_FACTOR = 1.5;
+    /**
+     * How long the page has to stay idle to be considered ready.
+     */
+    private static final long QUIET_PERIOD_MS = 300L;
+    private static final By LOADER = By.cssSelector(".Loader");
+
+    /**
+     * Counts the pending XHR and fetch requests of the page (the counter is installed on the first call on each page) and returns
+     * [document ready, pending requests, number of loaded resources].
+     */
+    private static final String PAGE_STATE_SCRIPT = "if (!window.__syndesisQePending) {"
+        + "  var p = window.__syndesisQePending = {count: 0};"
+        + "  var send = XMLHttpRequest.prototype.send;"
+        + "  XMLHttpRequest.prototype.send = function() {"
+        + "    p.count++; this.addEventListener('loadend', function() { p.count--; }); return send.apply(this, arguments); };"
+        + "  if (window.fetch) {"
+        + "    var f = window.fetch;"
+        + "    window.fetch = function() { p.count++; return f.apply(this, arguments).then("
+        + "      function(r) { p.count--; return r; }, function(e) { p.count--; throw e; }); };"
+        + "  }"
+        + "}"
+        + "return [document.readyState === 'complete' ? 1 : 0, window.__syndesisQePending.count,"
+        + "  window.performance ? window.performance.getEntriesByType('resource').length : 0];";
+
+    private static final List<String> STEP_WAITS = new ArrayList<>();
+    private static long stepWaitMs;
+
+    private UIWaits() {
+    }
+
+    /**
+     * Waits until the condition is true.
+     *
+     * @param description description of the condition, used in logs and statistics
+     * @param condition condition, exceptions thrown by the condition are treated as false
+     * @param timeoutMs timeout
+     * @return true if the condition was met, false on timeout
+     */
+    public static boolean waitUntil(String description, BooleanSupplier condition, long timeoutMs) {
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        final AdaptiveInterval interval = new AdaptiveInterval(INITIAL_POLL_MS, MAX_POLL_MS, POLL_BACKOFF_FACTOR);
+        int polls = 0;
+        while (true) {
+            polls++;
+            if (evaluate(condition)) {
+                record(description, start, polls, true);
+                return true;
+            }
+            final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                record(description, start, polls, false);
+                return false;
+            }
+            TestUtils.sleepIgnoreInterrupt(interval.next(remaining));
+        }
+    }
+
+    /**
+     * Same as {@link #waitUntil(String, BooleanSupplier, long)}, but fails when the condition is not met in time.
+     *
+     * @param description description of the condition, used in the failure message
+     * @param condition condition
+     * @param timeoutMs timeout
+     */
+    public static void assertUntil(String description, BooleanSupplier condition, long timeoutMs) {
+        if (!waitUntil(description, condition, timeoutMs)) {
+            fail("Condition \"" + description + "\" was not met in " + timeoutMs + " ms");
+        }
+    }
+
+    /**
+     * Waits until the page is loaded, the Syndesis loader is gone and there are no pending requests.
+     */
+    public static void waitForPageReady() {
+        waitForPageReady(PAGE_READY_TIMEOUT_MS);
+    }
+
+    /**
+     * Waits until the page is loaded, the Syndesis loader is gone and there are no pending requests. Doesn't fail on timeout (it only
+     * logs a warning), the subsequent element lookups have their own timeouts.
+     *
+     * @param timeoutMs timeout
+     * @return true if the page is ready
+     */
+    public static boolean waitForPageReady(long timeoutMs) {
+        if (!WebDriverRunner.hasWebDriverStarted()) {
+            return true;
+        }
+        final long[] lastResources = {-1L};
+        final long[] idleSince = {0L};
+        final boolean ready = waitUntil("page ready", () -> {
+            final List<Number> state = Selenide.executeJavaScript(PAGE_STATE_SCRIPT);
+            final long resources = state.get(2).longValue();
+            final boolean idle = state.get(0).intValue() == 1 && state.get(1).longValue() <= 0 && resources == lastResources[0]
+                && !$(LOADER).exists();
+            lastResources[0] = resources;
+            if (!idle) {
+                idleSince[0] = 0L;
+                return false;
+            }
+            if (idleSince[0] == 0L) {
+                idleSince[0] = System.nanoTime();
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - idleSince[0]) >= QUIET_PERIOD_MS;
+        }, timeoutMs);
+        if (!ready) {
+            log.warn("Page {} was not ready in {} ms, continuing anyway", WebDriverRunner.url(), timeoutMs);
+        }
+        return ready;
+    }
+
+    /**
+     * Waits until the backend (usually the REST API) reaches the expected state, so that the UI can be checked afterwards.
+     *
+     * @param description description of the state
+     * @param backendCondition condition checking the backend state
+     * @param timeoutMs timeout
+     */
+    public static void waitForBackend(String description, BooleanSupplier backendCondition, long timeoutMs) {
+        assertUntil("backend: " + description, backendCondition, timeoutMs);
+    }
+
+    /**
+     * Reloads the page until the condition is true, use it for the data that the UI doesn't update by itself.
+     *
+     * @param description description of the condition
+     * @param condition condition evaluated on the reloaded page
+     * @param refreshIntervalMs minimal time between the reloads
+     * @param timeoutMs timeout
+     * @return true if the condition was met, false on timeout
+     */
+    public static boolean refreshUntil(String description, BooleanSupplier condition, long refreshIntervalMs, long timeoutMs) {
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        int polls = 0;
+        while (true) {
+            polls++;
+            final long pollStart = System.nanoTime();
+            if (evaluate(condition)) {
+                record("refresh until " + description, start, polls, true);
+                return true;
+            }
+            final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                record("refresh until " + description, start, polls, false);
+                return false;
+            }
+            TestUtils.sleepIgnoreInterrupt(Math.min(remaining,
+                Math.max(0L, refreshIntervalMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pollStart))));
+            refresh();
+        }
+    }
+
+    /**
+     * Reloads the page and waits until it is ready.
+     */
+    public static void refresh() {
+        Selenide.refresh();
+        waitForPageReady();
+    }
+
+    /**
+     * Returns the summary of the waits since the last call and resets it.
+     *
+     * @return summary or null if there were no waits
+     */
+    public static synchronized String drainStepSummary() {
+        if (STEP_WAITS.isEmpty()) {
+            return null;
+        }
+        final String summary = String.format("waited %d ms in total: %s", stepWaitMs, String.join(", ", STEP_WAITS));
+        STEP_WAITS.clear();
+        stepWaitMs = 0L;
+        return summary;
+    }
+
+    private static boolean evaluate(BooleanSupplier condition) {
+        try {
+            return condition.getAsBoolean();
+        } catch (RuntimeException | AssertionError e) {
+            log.trace("Condition evaluation failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static synchronized void record(String description, long startNanos, int polls, boolean satisfied) {
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        WaitStatistics.record("ui: " + description, startNanos, polls, satisfied);
+        STEP_WAITS.add(String.format("%s %d ms%s", description, elapsedMs, satisfied ? "" : " (timed out)"));
+        stepWaitMs += elapsedMs;
+    }
+}
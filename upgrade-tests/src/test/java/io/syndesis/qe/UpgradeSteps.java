@@ -13,11 +13,13 @@ import io.syndesis.qe.utils.OpenShiftUtils;
 import io.syndesis.qe.utils.SampleDbConnectionManager;
 import io.syndesis.qe.utils.TestUtils;
 import io.syndesis.qe.utils.http.HTTPUtils;
+import io.syndesis.qe.utils.http.StreamingHTTPResponse;
 import io.syndesis.qe.wait.OpenShiftWaitUtils;
 
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.vdurmont.semver4j.Semver;
@@ -74,7 +76,10 @@ public class UpgradeSteps {
             String next = DOCKER_HUB_SYNDESIS_TAGS_URL;
             List<String> tags = new ArrayList<>();
             while (next != null) {
-                JSONObject response = new JSONObject(HTTPUtils.doGetRequest(next).getBody());
+                JSONObject response;
+                try (StreamingHTTPResponse r = HTTPUtils.doGetRequestStreaming(next, null)) {
+                    response = new JSONObject(new JSONTokener(r.getReader()));
+                }
                 response.getJSONArray("results").forEach(tag -> tags.add(((JSONObject) tag).getString("name")));
                 try {
                     next = response.getString("next");
@@ -73,9 +73,13 @@ public class TestConfiguration {
     public static final String UPSTREAM_REPOSITORY = "syndesis.config.upstream.repository";
 
     public static final String SKIP_TESTS_WITH_OPEN_ISSUES = "syndesis.skip.open.issues";
+    public static final String ISSUES_CACHE_TTL = "syndesis.issues.cache.ttl";
+    public static final String ISSUES_CACHE_FILE = "syndesis.issues.cache.file";
 
     public static final String STATE_CHECK_INTERVAL = "syndesis.server.state.check.interval";
     public static final String SNOOP_SELECTORS = "syndesis.config.snoop.selectors";
+    public static final String WAIT_WATCH = "syndesis.config.wait.watch";
+    public static final String LOG_BUFFER_LINES = "syndesis.config.log.buffer.lines";
 
     public static final String SYNDESIS_UPGRADE_PREVIOUS_VERSION = "syndesis.upgrade.previous.version";
 
@@ -294,6 +298,19 @@ public class TestConfiguration {
         return Boolean.parseBoolean(get().readValue(SKIP_TESTS_WITH_OPEN_ISSUES));
     }
 
+    /**
+     * Time in minutes for which the issues linked from the scenarios are cached.
+     *
+     * @return ttl in minutes
+     */
+    public static long issuesCacheTtl() {
+        return Long.parseLong(get().readValue(ISSUES_CACHE_TTL, "60"));
+    }
+
+    public static String issuesCacheFile() {
+        return get().readValue(ISSUES_CACHE_FILE);
+    }
+
     public static int stateCheckInterval() {
         return Integer.parseInt(get().readValue(STATE_CHECK_INTERVAL));
     }
@@ -302,6 +319,14 @@ public class TestConfiguration {
         return Boolean.parseBoolean(get().readValue(SNOOP_SELECTORS));
     }
 
+    public static boolean useWatchWaits() {
+        return Boolean.parseBoolean(get().readValue(WAIT_WATCH, "true"));
+    }
+
+    public static int logBufferLines() {
+        return Integer.parseInt(get().readValue(LOG_BUFFER_LINES, "100000"));
+    }
+
     public static String image(Image image) {
         return get().readValue(image.name());
     }
@@ -3,13 +3,21 @@ package io.syndesis.qe;
 import static org.assertj.core.api.Assertions.fail;
 
 import io.syndesis.qe.common.CommonSteps;
+import io.syndesis.qe.issue.IssueCache;
 import io.syndesis.qe.resource.ResourceFactory;
 import io.syndesis.qe.resource.impl.SyndesisDB;
 import io.syndesis.qe.test.InfraFail;
+import io.syndesis.qe.utils.IssueHooksUtils;
 import io.syndesis.qe.utils.OpenShiftUtils;
+import io.syndesis.qe.utils.PodLogFollower;
+import io.syndesis.qe.utils.PortForwardManager;
 import io.syndesis.qe.utils.PortForwardUtils;
+import io.syndesis.qe.utils.SampleDbConnectionManager;
 import io.syndesis.qe.utils.TestUtils;
+import io.syndesis.qe.utils.http.HTTPUtils;
 import io.syndesis.qe.wait.OpenShiftWaitUtils;
+import io.syndesis.qe.wait.OpenShiftWatchEngine;
+import io.syndesis.qe.wait.WaitStatistics;
 
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -23,6 +31,9 @@ import lombok.extern.slf4j.Slf4j;
 public abstract class TestSuiteParent {
     @BeforeClass
     public static void beforeTests() {
+        if (TestConfiguration.skipTestsWithOpenIssues()) {
+            IssueHooksUtils.prefetchIssues();
+        }
         try {
             // Do this check only if installing syndesis
             if (TestConfiguration.namespaceCleanup() && !TestUtils.isUserAdmin(TestConfiguration.adminUsername())) {
@@ -98,6 +109,14 @@ public abstract class TestSuiteParent {
     @AfterClass
     public static void tearDown() {
         ResourceFactory.cleanup();
+        WaitStatistics.log();
+        OpenShiftWatchEngine.logStatistics();
+        HTTPUtils.logClientStats();
+        SampleDbConnectionManager.logPoolStats();
+        SampleDbConnectionManager.closePools();
+        PortForwardManager.closeAll();
+        PodLogFollower.stopAll();
+        IssueCache.save();
     }
 
     private static void cleanNamespace() {
@@ -2,6 +2,7 @@ package io.syndesis.qe.endpoints;
 
 import io.syndesis.qe.addon.Addon;
 import io.syndesis.qe.endpoint.Constants;
+import io.syndesis.qe.endpoint.IntegrationsEndpoint;
 import io.syndesis.qe.endpoint.client.EndpointClient;
 import io.syndesis.qe.resource.ResourceFactory;
 import io.syndesis.qe.resource.impl.CamelK;
@@ -48,6 +49,7 @@ public final class TestSupport {
         TestUtils.withRetry(() -> {
             PortForwardUtils.createOrCheckPortForward();
             if (resetDbWithResponse(getEndpointUrl()) == 204) {
+                IntegrationsEndpoint.invalidateIdCache();
                 log.info("Cleaning integration pods");
                 // wait till the integration pods are deleted
                 // When using camel-k, the reset DB is not enough to clear the integrations
@@ -6,10 +6,29 @@ import io.syndesis.qe.resource.impl.CamelK;
 import io.syndesis.qe.utils.OpenShiftUtils;
 import io.syndesis.qe.utils.TestUtils;
 
+import org.apache.commons.io.IOUtils;
 import org.assertj.core.api.Assumptions;
 
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import io.cucumber.java.After;
 import io.cucumber.java.AfterStep;
@@ -21,42 +40,65 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class TestHooks {
+    private static final int LOG_COLLECTOR_THREADS = 4;
+    private static final long LOG_COLLECTION_TIMEOUT_SECONDS = 120L;
+    private static final int MAX_LOG_LINES = 20000;
+    private static final int ATTACHED_TAIL_BYTES = 64 * 1024;
+    private static final String SCENARIO_LOG_DIR = "log/scenarios";
+
+    // cucumber creates a new instance of the hooks for every scenario, so these track the artifacts of the current scenario
+    private final Set<String> collectedPods = new HashSet<>();
+    private boolean podsPrinted;
+
     @Before("@prod")
     public void skipProdForNightly() {
         // Skip prod tests when not running with productized build
         Assumptions.assumeThat(TestConfiguration.syndesisVersion()).contains("redhat");
     }
 
+    /**
+     * Saves the logs of the integration pods and failed builds when the scenario fails.
+     * <p>
+     * The logs are streamed in parallel to files in {@value #SCENARIO_LOG_DIR} and only their tail is attached to the scenario.
+     * The hook runs after each remaining step of the failed scenario, so the logs of each pod are collected only once.
+     */
     @AfterStep
     public void getLogs(Scenario scenario) {
-        if (scenario.isFailed()) {
+        if (!scenario.isFailed()) {
+            return;
+        }
+        if (!podsPrinted) {
             TestUtils.printPods(scenario);
-            log.warn("Scenario {} failed, saving integration logs to scenario", scenario.getName());
-            // There can be multiple integration pods for one test
-            List<Pod> integrationPods = OpenShiftUtils.getInstance().pods().list().getItems().stream().filter(
-                p -> p.getMetadata().getName().startsWith("i-")
-                    && !p.getMetadata().getName().contains("deploy")
-                    && !p.getMetadata().getName().contains("build")
-            ).collect(Collectors.toList());
-            for (Pod integrationPod : integrationPods) {
-                try {
-                    scenario.attach(OpenShiftUtils.getInstance().getPodLog(integrationPod).getBytes(), "text/plain",
-                        String.format("Integration %s log", integrationPod.getMetadata().getName()));
-                } catch (KubernetesClientException ex) {
-                    //when the build failed, the integration pod is not ready (`ImagePullBackOff`) In that case, the pod doesn't contain log. That
-                    // causes that OpenShiftUtils has thrown KubernetesClientException
-                }
+            podsPrinted = true;
+        }
+
+        final List<Pod> toCollect = new ArrayList<>();
+        for (Pod pod : OpenShiftUtils.getInstance().pods().list().getItems()) {
+            if ((isIntegrationPod(pod) || isFailedBuild(pod)) && collectedPods.add(pod.getMetadata().getName())) {
+                toCollect.add(pod);
             }
-            log.info("Adding all failed build to the log");
-            List<Pod> failedBuilds = OpenShiftUtils.getInstance().pods().list().getItems().stream().filter(
-                p -> p.getMetadata().getName().contains("build")
-                    && p.getStatus().getContainerStatuses().stream().anyMatch(c -> c.getState().getTerminated().getReason().equals("Error"))
-            ).collect(Collectors.toList());
-            for (Pod failedBuild : failedBuilds) {
-                scenario.attach(String.format("%s\n\n%s", failedBuild.getMetadata().getName(),
-                    OpenShiftUtils.getInstance().getPodLog(failedBuild)).getBytes(), "text/plain",
-                    "Log of failed build " + failedBuild.getMetadata().getName());
+        }
+        if (toCollect.isEmpty()) {
+            return;
+        }
+        log.warn("Scenario {} failed, saving logs of {} pods to scenario", scenario.getName(), toCollect.size());
+
+        final Path dir = Paths.get(SCENARIO_LOG_DIR, scenario.getName().replaceAll("[^a-zA-Z0-9._-]", "_")
+            + "-" + Integer.toHexString(scenario.getId().hashCode()));
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(LOG_COLLECTOR_THREADS, toCollect.size()));
+        try {
+            Files.createDirectories(dir);
+            final Map<Pod, Future<Path>> logs = new LinkedHashMap<>();
+            toCollect.forEach(pod -> logs.put(pod, executor.submit(() -> saveLog(pod, dir))));
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(LOG_COLLECTION_TIMEOUT_SECONDS);
+            // attach from this thread only, the scenario is not thread-safe
+            for (Map.Entry<Pod, Future<Path>> entry : logs.entrySet()) {
+                attachLog(scenario, entry.getKey(), entry.getValue(), deadline);
             }
+        } catch (IOException e) {
+            log.error("Unable to create directory " + dir, e);
+        } finally {
+            executor.shutdownNow();
         }
     }
 
@@ -67,4 +109,57 @@ public class TestHooks {
             ResourceFactory.destroy(CamelK.class);
         }
     }
+
+    private static boolean isIntegrationPod(Pod pod) {
+        // There can be multiple integration pods for one test
+        final String name = pod.getMetadata().getName();
+        return name.startsWith("i-") && !name.contains("deploy") && !name.contains("build");
+    }
+
+    private static boolean isFailedBuild(Pod pod) {
+        return pod.getMetadata().getName().contains("build") && pod.getStatus().getContainerStatuses().stream()
+            .anyMatch(c -> c.getState().getTerminated() != null && "Error".equals(c.getState().getTerminated().getReason()));
+    }
+
+    private static Path saveLog(Pod pod, Path dir) throws IOException {
+        final Path file = dir.resolve(pod.getMetadata().getName() + ".log");
+        try (Reader reader = OpenShiftUtils.getInstance().pods().withName(pod.getMetadata().getName()).tailingLines(MAX_LOG_LINES).getLogReader();
+             Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            IOUtils.copy(reader, writer);
+        }
+        return file;
+    }
+
+    private static void attachLog(Scenario scenario, Pod pod, Future<Path> future, long deadline) {
+        final String name = pod.getMetadata().getName();
+        final String title = isFailedBuild(pod) ? "Log of failed build " + name : String.format("Integration %s log", name);
+        try {
+            final Path file = future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            scenario.attach(String.format("%s (full log: %s)\n\n%s", name, file.toAbsolutePath(), readTail(file)).getBytes(StandardCharsets.UTF_8),
+                "text/plain", title);
+        } catch (ExecutionException e) {
+            //when the build failed, the integration pod is not ready (`ImagePullBackOff`) In that case, the pod doesn't contain log. That
+            // causes that the client has thrown KubernetesClientException
+            if (!(e.getCause() instanceof KubernetesClientException)) {
+                log.error("Unable to save log of pod " + name, e.getCause());
+            }
+        } catch (TimeoutException e) {
+            log.error("Log of pod {} was not saved in {} seconds", name, LOG_COLLECTION_TIMEOUT_SECONDS);
+            future.cancel(true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Unable to read log of pod " + name, e);
+        }
+    }
+
+    private static String readTail(Path file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            final long start = Math.max(0L, raf.length() - ATTACHED_TAIL_BYTES);
+            final byte[] tail = new byte[(int) (raf.length() - start)];
+            raf.seek(start);
+            raf.readFully(tail);
+            return (start > 0 ? "[... truncated, see the full log ...]\n" : "") + new String(tail, StandardCharsets.UTF_8);
+        }
+    }
 }
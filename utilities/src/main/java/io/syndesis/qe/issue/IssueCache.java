@@ -0,0 +1,179 @@
+package io.syndesis.qe.issue;
+
+import io.syndesis.qe.TestConfiguration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Process-wide cache of the issues linked from the scenario tags.
+ * <p>
+ * The same issue tags are used by many scenarios, so each issue is fetched only once per
+ * {@link TestConfiguration#ISSUES_CACHE_TTL} minutes. Concurrent requests for the same issue wait for the single in-flight fetch.
+ * When {@link TestConfiguration#ISSUES_CACHE_FILE} is set, the cache is loaded from that file on the first access and
+ * saved back by {@link #save()}, so that the subsequent runs don't need to fetch the issues again.
+ */
+@Slf4j
+public final class IssueCache {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<String, CachedIssue> ISSUES = new ConcurrentHashMap<>();
+    private static volatile boolean snapshotLoaded;
+
+    private IssueCache() {
+    }
+
+    /**
+     * Gets the issue from the cache, fetches it in the calling thread if it is not cached or it is expired.
+     *
+     * @param key issue key
+     * @param loader fetches the issue, may return null if the issue is not available
+     * @return issue or null
+     * @throws CompletionException when the loader failed
+     */
+    public static SimpleIssue get(String key, Supplier<SimpleIssue> loader) {
+        return load(key, loader, Runnable::run).join();
+    }
+
+    /**
+     * Fetches the issue using the given executor, unless it is cached already or it is being fetched.
+     *
+     * @param key issue key
+     * @param loader fetches the issue, may return null if the issue is not available
+     * @param executor executor for the loader
+     * @return future of the issue
+     */
+    public static CompletableFuture<SimpleIssue> load(String key, Supplier<SimpleIssue> loader, Executor executor) {
+        loadSnapshot();
+        final CachedIssue created = new CachedIssue();
+        final CachedIssue cached = ISSUES.compute(key, (k, current) -> current != null && current.isValid() ? current : created);
+        if (cached == created) {
+            executor.execute(() -> {
+                try {
+                    final SimpleIssue issue = loader.get();
+                    if (issue == null) {
+                        ISSUES.remove(key, created);
+                    }
+                    created.complete(issue);
+                } catch (RuntimeException e) {
+                    ISSUES.remove(key, created);
+                    created.future.completeExceptionally(e);
+                }
+            });
+        }
+        return cached.future;
+    }
+
+    /**
+     * Saves the fetched issues to {@link TestConfiguration#ISSUES_CACHE_FILE}, if it is set.
+     */
+    public static void save() {
+        final String file = TestConfiguration.issuesCacheFile();
+        if (file == null) {
+            return;
+        }
+        final Map<String, SnapshotEntry> snapshot = new HashMap<>();
+        ISSUES.forEach((key, cached) -> {
+            if (cached.isValid() && cached.future.isDone()) {
+                snapshot.put(key, new SnapshotEntry(cached.future.join(), cached.fetchedAt));
+            }
+        });
+        try {
+            MAPPER.writeValue(new File(file), snapshot);
+            log.debug("Saved {} issues to {}", snapshot.size(), file);
+        } catch (IOException e) {
+            log.warn("Unable to save issue cache to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Drops all the cached issues, the snapshot file is loaded again on the next access.
+     */
+    static void clear() {
+        synchronized (IssueCache.class) {
+            ISSUES.clear();
+            snapshotLoaded = false;
+        }
+    }
+
+    private static void loadSnapshot() {
+        if (snapshotLoaded) {
+            return;
+        }
+        synchronized (IssueCache.class) {
+            if (snapshotLoaded) {
+                return;
+            }
+            snapshotLoaded = true;
+            final String file = TestConfiguration.issuesCacheFile();
+            if (file == null || !new File(file).exists()) {
+                return;
+            }
+            try {
+                final Map<String, SnapshotEntry> snapshot = MAPPER.readValue(new File(file), new TypeReference<Map<String, SnapshotEntry>>() {
+                });
+                snapshot.forEach((key, entry) -> {
+                    final CachedIssue cached = new CachedIssue(entry.getFetchedAt());
+                    cached.future.complete(entry.getIssue());
+                    if (cached.isValid()) {
+                        ISSUES.putIfAbsent(key, cached);
+                    }
+                });
+                log.debug("Loaded {} issues from {}", ISSUES.size(), file);
+            } catch (IOException e) {
+                log.warn("Unable to load issue cache from {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private static final class CachedIssue {
+        private final CompletableFuture<SimpleIssue> future = new CompletableFuture<>();
+        private volatile long fetchedAt;
+
+        private CachedIssue() {
+        }
+
+        private CachedIssue(long fetchedAt) {
+            this.fetchedAt = fetchedAt;
+        }
+
+        private void complete(SimpleIssue issue) {
+            fetchedAt = System.currentTimeMillis();
+            future.complete(issue);
+        }
+
+        /**
+         * In-flight fetches are always valid, completed ones until they expire.
+         */
+        private boolean isValid() {
+            if (!future.isDone()) {
+                return true;
+            }
+            return !future.isCompletedExceptionally()
+                && System.currentTimeMillis() - fetchedAt < TimeUnit.MINUTES.toMillis(TestConfiguration.issuesCacheTtl());
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class SnapshotEntry {
+        private SimpleIssue issue;
+        private long fetchedAt;
+    }
+}
@@ -1,9 +1,32 @@
 package io.syndesis.qe.resource;
 
+import java.util.Collections;
+import java.util.List;
+
 public interface Resource {
     void deploy();
     void undeploy();
 
     boolean isReady();
     boolean isDeployed();
+
+    /**
+     * Resources that need to be ready before this resource is deployed.
+     *
+     * @return list of resource classes
+     */
+    default List<Class<? extends Resource>> getDependencies() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Whether the undeploy changes the shared Syndesis server, its database or the Syndesis CR.
+     * <p>
+     * Such resources are undeployed one after another in the order of creation, never concurrently with each other.
+     *
+     * @return true if the undeploy must not run in parallel with other such undeploys
+     */
+    default boolean isUndeployedSequentially() {
+        return false;
+    }
 }
@@ -4,15 +4,37 @@ import io.syndesis.qe.test.InfraFail;
 import io.syndesis.qe.wait.OpenShiftWaitUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class ResourceFactory {
-    private static List<Resource> createdResources = new ArrayList<>();
+    private static final int CLEANUP_THREADS = 4;
+
+    /**
+     * Created instances in the order of creation.
+     */
+    private static final List<Resource> CREATED_RESOURCES = new CopyOnWriteArrayList<>();
+    /**
+     * Lookup of the instance for the requested class (the instance can be also a subclass of the requested class).
+     */
+    private static final Map<Class<? extends Resource>, Resource> RESOURCES = new ConcurrentHashMap<>();
 
     /**
      * Gets (or creates and gets) the instance of given class and calls its the deploy method.
@@ -21,6 +43,76 @@ public class ResourceFactory {
      */
     public static <T extends Resource> void create(Class<T> clazz) {
         get(clazz).deploy();
+        waitUntilReady(clazz);
+    }
+
+    /**
+     * Deploys all given resources and waits until they are ready.
+     * <p>
+     * Independent resources are deployed (and waited for) concurrently, resources that declare a dependency
+     * (see {@link Resource#getDependencies()}) on other resources from the given list are deployed once their dependencies are ready.
+     * Dependencies that are not in the given list are expected to be already deployed.
+     *
+     * @param classes classes to create
+     */
+    @SafeVarargs
+    public static void createAll(Class<? extends Resource>... classes) {
+        createAll(Arrays.asList(classes));
+    }
+
+    /**
+     * Deploys all given resources and waits until they are ready, see {@link #createAll(Class[])}.
+     *
+     * @param classes classes to create
+     */
+    public static void createAll(List<Class<? extends Resource>> classes) {
+        final Set<Class<? extends Resource>> toCreate = new LinkedHashSet<>(classes);
+        // create the instances up front, so that all the threads work with the same instances
+        toCreate.forEach(ResourceFactory::get);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, toCreate.size()));
+        try {
+            final Map<Class<? extends Resource>, CompletableFuture<Void>> deployments = new HashMap<>();
+            for (Class<? extends Resource> clazz : toCreate) {
+                scheduleDeployment(clazz, toCreate, deployments, new HashSet<>(), executor);
+            }
+            for (CompletableFuture<Void> deployment : deployments.values()) {
+                try {
+                    deployment.join();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof Error) {
+                        throw (Error) e.getCause();
+                    }
+                    InfraFail.fail("Unable to deploy resources " + toCreate, e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static CompletableFuture<Void> scheduleDeployment(Class<? extends Resource> clazz, Set<Class<? extends Resource>> toCreate,
+        Map<Class<? extends Resource>, CompletableFuture<Void>> deployments, Set<Class<? extends Resource>> visiting, ExecutorService executor) {
+        if (deployments.containsKey(clazz)) {
+            return deployments.get(clazz);
+        }
+        if (!visiting.add(clazz)) {
+            throw new IllegalArgumentException("Cyclic dependency between resources detected: " + visiting);
+        }
+        final List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+        for (Class<? extends Resource> dependency : get(clazz).getDependencies()) {
+            if (toCreate.contains(dependency)) {
+                dependencies.add(scheduleDeployment(dependency, toCreate, deployments, visiting, executor));
+            }
+        }
+        final CompletableFuture<Void> deployment = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0]))
+            .thenRunAsync(() -> create(clazz), executor);
+        deployments.put(clazz, deployment);
+        visiting.remove(clazz);
+        return deployment;
+    }
+
+    private static <T extends Resource> void waitUntilReady(Class<T> clazz) {
         try {
             log.info("Waiting until " + clazz.getSimpleName() + " is ready");
             OpenShiftWaitUtils.waitFor(() -> get(clazz).isReady(), 10 * 60000L);
@@ -35,38 +127,116 @@ public class ResourceFactory {
 
     /**
      * Gets (or creates and gets) the instance of given class and returns it.
+     * <p>
+     * The instance is created exactly once, even if this method is called concurrently.
      * @param clazz class to create
      * @param <T> type
      * @return instance of given class
      */
     public static <T extends Resource> T get(Class<T> clazz) {
-        Optional<Resource> oExtRes = createdResources.stream().filter(clazz::isInstance).findAny();
-        if (oExtRes.isPresent()) {
+        Resource resource = RESOURCES.get(clazz);
+        if (resource != null) {
             log.debug("Returning previously created instance of " + clazz.getSimpleName());
-            return (T) oExtRes.get();
-        } else {
-            log.info("Creating a new instance of " + clazz.getSimpleName());
-            T instance = null;
-            try {
-                instance = clazz.newInstance();
-                createdResources.add(instance);
-                return instance;
-            } catch (Exception e) {
-                InfraFail.fail("Unable to create instance of " + clazz.getSimpleName());
+            return clazz.cast(resource);
+        }
+        synchronized (ResourceFactory.class) {
+            resource = RESOURCES.get(clazz);
+            if (resource == null) {
+                // the instance of a subclass may have been created already
+                resource = CREATED_RESOURCES.stream().filter(clazz::isInstance).findAny().orElse(null);
+                if (resource == null) {
+                    log.info("Creating a new instance of " + clazz.getSimpleName());
+                    resource = newInstance(clazz);
+                    CREATED_RESOURCES.add(resource);
+                }
+                RESOURCES.put(clazz, resource);
             }
-            return instance;
         }
+        return clazz.cast(resource);
+    }
+
+    private static <T extends Resource> T newInstance(Class<T> clazz) {
+        T instance = null;
+        try {
+            instance = clazz.newInstance();
+        } catch (Exception e) {
+            InfraFail.fail("Unable to create instance of " + clazz.getSimpleName());
+        }
+        return instance;
     }
 
     /**
      * Calls the undeploy method on all instances created by the factory.
+     * <p>
+     * Independent resources are undeployed concurrently, a resource is undeployed only after all resources that depend on it
+     * (see {@link Resource#getDependencies()}) are undeployed. Resources that change the Syndesis server
+     * (see {@link Resource#isUndeployedSequentially()}) are undeployed one by one in the order of creation.
      */
     public static void cleanup() {
-        createdResources.forEach(created -> {
-            if (created.isDeployed()) {
-                log.info("Undeploying resource " + created.getClass().getSimpleName());
-                created.undeploy();
+        final List<Resource> resources = new ArrayList<>(CREATED_RESOURCES);
+        if (resources.isEmpty()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(CLEANUP_THREADS, resources.size()));
+        final Map<Resource, CompletableFuture<Void>> undeployments = new IdentityHashMap<>();
+        try {
+            resources.forEach(resource -> scheduleUndeployment(resource, resources, undeployments, executor));
+            Throwable failure = null;
+            for (CompletableFuture<Void> undeployment : undeployments.values()) {
+                try {
+                    undeployment.join();
+                } catch (CompletionException e) {
+                    failure = failure == null ? e.getCause() : failure;
+                }
+            }
+            log.info("Cleanup of {} resources took {} ms", resources.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw new RuntimeException("Unable to undeploy all resources", failure);
             }
-        });
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static CompletableFuture<Void> scheduleUndeployment(Resource resource, List<Resource> resources,
+        Map<Resource, CompletableFuture<Void>> undeployments, ExecutorService executor) {
+        if (undeployments.containsKey(resource)) {
+            return undeployments.get(resource);
+        }
+        // reserve the slot to break possible dependency cycles
+        undeployments.put(resource, CompletableFuture.completedFuture(null));
+        final List<CompletableFuture<Void>> dependents = new ArrayList<>();
+        for (Resource other : resources) {
+            if (other != resource && other.getDependencies().stream().anyMatch(dependency -> dependency.isInstance(resource))) {
+                // failure of the dependent resource shouldn't block undeploying of this one
+                dependents.add(scheduleUndeployment(other, resources, undeployments, executor).exceptionally(e -> null));
+            }
+        }
+        if (resource.isUndeployedSequentially()) {
+            // the resources that change the server are chained, each one waits for the previously created one
+            for (int i = resources.indexOf(resource) - 1; i >= 0; i--) {
+                if (resources.get(i).isUndeployedSequentially()) {
+                    dependents.add(scheduleUndeployment(resources.get(i), resources, undeployments, executor).exceptionally(e -> null));
+                    break;
+                }
+            }
+        }
+        final CompletableFuture<Void> undeployment = CompletableFuture.allOf(dependents.toArray(new CompletableFuture[0]))
+            .thenRunAsync(() -> undeploy(resource), executor);
+        undeployments.put(resource, undeployment);
+        return undeployment;
+    }
+
+    private static void undeploy(Resource resource) {
+        if (resource.isDeployed()) {
+            final long start = System.nanoTime();
+            log.info("Undeploying resource " + resource.getClass().getSimpleName());
+            resource.undeploy();
+            log.info("Resource {} undeployed in {} ms", resource.getClass().getSimpleName(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
     }
 }
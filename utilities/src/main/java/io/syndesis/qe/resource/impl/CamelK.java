@@ -27,6 +27,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -82,6 +83,17 @@ public class CamelK implements Resource {
         return OpenShiftUtils.getAnyPod("name", "camel-k-operator").isPresent();
     }
 
+    @Override
+    public boolean isUndeployedSequentially() {
+        // resets the DB and switches the server back to the springboot runtime
+        return true;
+    }
+
+    @Override
+    public List<Class<? extends Resource>> getDependencies() {
+        return Collections.singletonList(Syndesis.class);
+    }
+
     private void downloadArchive() {
         try {
             FileUtils.copyURLToFile(new URL(CAMEL_K_ARCHIVE_PATH), new File(LOCAL_ARCHIVE_PATH));
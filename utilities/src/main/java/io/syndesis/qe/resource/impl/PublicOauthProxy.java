@@ -7,7 +7,9 @@ import io.syndesis.qe.resource.ResourceFactory;
 import io.syndesis.qe.utils.OpenShiftUtils;
 import io.syndesis.qe.wait.OpenShiftWaitUtils;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import lombok.extern.slf4j.Slf4j;
@@ -40,4 +42,15 @@ public class PublicOauthProxy implements Resource {
     public boolean isDeployed() {
         return OpenShiftUtils.getAnyPod("syndesis.io/component", POD_NAME).isPresent();
     }
+
+    @Override
+    public boolean isUndeployedSequentially() {
+        // disables the public API addon in the Syndesis CR
+        return true;
+    }
+
+    @Override
+    public List<Class<? extends Resource>> getDependencies() {
+        return Collections.singletonList(Syndesis.class);
+    }
 }
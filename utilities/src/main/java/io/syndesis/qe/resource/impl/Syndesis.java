@@ -10,7 +10,9 @@ import io.syndesis.qe.image.Image;
 import io.syndesis.qe.resource.Resource;
 import io.syndesis.qe.resource.ResourceFactory;
 import io.syndesis.qe.test.InfraFail;
+import io.syndesis.qe.utils.LogMatcher;
 import io.syndesis.qe.utils.OpenShiftUtils;
+import io.syndesis.qe.utils.PodLogFollower;
 import io.syndesis.qe.utils.PortForwardUtils;
 import io.syndesis.qe.utils.TestUtils;
 import io.syndesis.qe.utils.TodoUtils;
@@ -29,16 +31,22 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 import io.fabric8.kubernetes.api.model.EnvVar;
 import io.fabric8.kubernetes.api.model.HasMetadata;
@@ -60,6 +68,9 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class Syndesis implements Resource {
     private static final String CR_NAME = "app";
+    private static final String OPERATOR_NAME = "syndesis-operator";
+    private static final long OPERATOR_READY_TIMEOUT_MS = 10 * 60000L;
+    private static final int DEPLOY_THREADS = 4;
 
     @Setter
     @Getter
@@ -73,6 +84,8 @@ public class Syndesis implements Resource {
 
     private String crApiVersion;
 
+    private final Map<String, Long> deployReport = Collections.synchronizedMap(new LinkedHashMap<>());
+
     public Syndesis() {
         defaultValues();
     }
@@ -83,22 +96,94 @@ public class Syndesis implements Resource {
         crUrl = TestConfiguration.syndesisCrUrl();
     }
 
+    /**
+     * Deploys syndesis as a pipeline of stages.
+     * <p>
+     * The stages that don't depend on each other (pull secret, CRD, operator image and the operator commands that need it) run
+     * concurrently. The "install cluster" stage waits for both the operator image and the CRD. The operator and syndesis are deployed
+     * once all of them are done. The duration of each stage is logged in the deploy report at the end.
+     */
     @Override
     public void deploy() {
         log.info("Deploying Syndesis");
         log.info("  Cluster:   " + TestConfiguration.openShiftUrl());
         log.info("  Namespace: " + TestConfiguration.openShiftNamespace());
-        createPullSecret();
-        deployCrd();
-        pullOperatorImage();
-        installCluster();
-        grantPermissions();
-        deployOperator();
-        deploySyndesisViaOperator();
-        changeRuntime(TestConfiguration.syndesisRuntime());
-        checkRoute();
-        TodoUtils.createDefaultRouteForTodo("todo2", "/");
+        final long start = System.nanoTime();
+        deployReport.clear();
+        // create the shared clients up front, so that all the stages work with the same instances
+        OpenShiftUtils.getInstance();
+        OpenShiftUtils.binary();
+
+        List<HasMetadata> operatorResources = null;
+        final ExecutorService executor = Executors.newFixedThreadPool(DEPLOY_THREADS);
+        try {
+            final CompletableFuture<Void> pullSecret = CompletableFuture.runAsync(() -> stage("pull secret", this::createPullSecret), executor);
+            final CompletableFuture<Void> crd = CompletableFuture.runAsync(() -> stage("crd", this::deployCrd), executor);
+            // all operator commands run in the operator image, so they need to wait for the pull
+            final CompletableFuture<Void> image = CompletableFuture.runAsync(() -> stage("operator image", this::pullOperatorImage), executor);
+            // "install cluster" also applies the syndesis CRD, so it must not race with the crd stage
+            final CompletableFuture<Void> permissions = image.thenCombine(crd, (i, c) -> (Void) null)
+                .thenRunAsync(() -> stage("install cluster", this::installCluster), executor)
+                .thenRunAsync(() -> stage("permissions", this::grantPermissions), executor);
+            final CompletableFuture<List<HasMetadata>> resources = image
+                .thenApplyAsync(v -> stageResult("operator resources", this::getOperatorResources), executor);
+            try {
+                CompletableFuture.allOf(pullSecret, crd, permissions, resources).join();
+                operatorResources = resources.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                InfraFail.fail("Unable to prepare Syndesis deployment", e.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final List<HasMetadata> finalOperatorResources = operatorResources;
+        stage("operator", () -> createOperatorResources(finalOperatorResources));
+        // the operator picks up the existing CR when it starts, so there is no need to wait for it before creating the CR
+        stage("syndesis cr", this::deploySyndesisViaOperator);
+        stage("operator ready", this::waitForOperator);
+        stage("runtime", () -> changeRuntime(TestConfiguration.syndesisRuntime()));
+        stage("route", this::checkRoute);
+        stage("todo route", () -> TodoUtils.createDefaultRouteForTodo("todo2", "/"));
         jaegerWorkarounds();
+        logDeployReport(start);
+    }
+
+    /**
+     * Gets the duration of the stages of the last deployment.
+     *
+     * @return map of stage name to its duration in milliseconds, in the order the stages finished
+     */
+    public Map<String, Long> getDeployReport() {
+        synchronized (deployReport) {
+            return new LinkedHashMap<>(deployReport);
+        }
+    }
+
+    private void stage(String name, Runnable stage) {
+        stageResult(name, () -> {
+            stage.run();
+            return null;
+        });
+    }
+
+    private <T> T stageResult(String name, Supplier<T> stage) {
+        final long start = System.nanoTime();
+        try {
+            return stage.get();
+        } finally {
+            final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            deployReport.put(name, elapsedMs);
+            log.info("Deploy stage \"{}\" finished in {} ms", name, elapsedMs);
+        }
+    }
+
+    private void logDeployReport(long startNanos) {
+        log.info("Syndesis deployed in {} ms:", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        getDeployReport().forEach((stage, elapsedMs) -> log.info("  {}: {} ms", stage, elapsedMs));
     }
 
     @Override
@@ -456,10 +541,19 @@ public class Syndesis implements Resource {
     }
 
     public void deployOperator() {
-        List<HasMetadata> resourceList = getOperatorResources();
-        final String operatorResourcesName = "syndesis-operator";
+        createOperatorResources(getOperatorResources());
+        waitForOperator();
+    }
+
+    /**
+     * Creates the operator resources. All the env variables are set in the deployment before it is created, so the first rollout of the
+     * operator already uses them.
+     *
+     * @param resourceList operator resources
+     */
+    private void createOperatorResources(List<HasMetadata> resourceList) {
         Optional<HasMetadata> serviceAccount = resourceList.stream()
-            .filter(resource -> "ServiceAccount".equals(resource.getKind()) && operatorResourcesName.equals(resource.getMetadata().getName()))
+            .filter(resource -> "ServiceAccount".equals(resource.getKind()) && OPERATOR_NAME.equals(resource.getMetadata().getName()))
             .findFirst();
 
         if (serviceAccount.isPresent()) {
@@ -470,80 +564,37 @@ public class Syndesis implements Resource {
         }
 
         Deployment dc = (Deployment) resourceList.stream()
-            .filter(r -> "Deployment".equals(r.getKind()) && operatorResourcesName.equals(r.getMetadata().getName()))
+            .filter(r -> "Deployment".equals(r.getKind()) && OPERATOR_NAME.equals(r.getMetadata().getName()))
             .findFirst().orElseThrow(() -> new RuntimeException("Unable to find deployment in operator resources"));
 
-        List<EnvVar> envVarsToAdd = new ArrayList<>();
-        envVarsToAdd.add(new EnvVar("TEST_SUPPORT", "true", null));
-
-        dc.getSpec().getTemplate().getSpec().getContainers().get(0).getEnv().addAll(envVarsToAdd);
-
-        List<HasMetadata> finalResourceList = resourceList;
-        OpenShiftUtils.asRegularUser(() -> OpenShiftUtils.getInstance().resourceList(finalResourceList).createOrReplace());
-
-        Map<String, String> imagesEnvVars = new HashMap<>();
+        Map<String, String> envVars = new LinkedHashMap<>();
+        envVars.put("TEST_SUPPORT", "true");
         // For upgrade, we want to override images only for "current" version
         if (operatorImage.equals(TestConfiguration.syndesisOperatorImage())) {
             Set<Image> images = EnumSet.allOf(Image.class);
             for (Image image : images) {
                 if (TestConfiguration.image(image) != null) {
                     log.info("Will override " + image.name().toLowerCase() + " image with " + TestConfiguration.image(image));
-                    imagesEnvVars.put("RELATED_IMAGE_" + image.name(), TestConfiguration.image(image));
+                    envVars.put("RELATED_IMAGE_" + image.name(), TestConfiguration.image(image));
                 }
             }
         }
 
-        if (!imagesEnvVars.isEmpty()) {
-            log.info("Overriding images to be deployed");
-            try {
-                OpenShiftWaitUtils.waitFor(() -> OpenShiftUtils.getInstance().getDeploymentConfig(operatorResourcesName) != null);
-            } catch (TimeoutException | InterruptedException e) {
-                fail("Unable to get operator deployment config", e);
-            }
-
-            TestUtils.withRetry(() -> {
-                try {
-                    OpenShiftUtils.getInstance().scale(operatorResourcesName, 0);
-                    return true;
-                } catch (KubernetesClientException kce) {
-                    log.debug("Caught KubernetesClientException: " + kce);
-                    return false;
-                }
-            }, 3, 30000L, "Unable to scale operator deployment config after 3 tries");
-
-            try {
-                OpenShiftWaitUtils.waitFor(OpenShiftWaitUtils.areNoPodsPresent(operatorResourcesName));
-            } catch (TimeoutException | InterruptedException e) {
-                fail("Operator pod shouldn't be present after scaling down", e);
-            }
+        List<EnvVar> env = dc.getSpec().getTemplate().getSpec().getContainers().get(0).getEnv();
+        env.removeIf(envVar -> envVars.containsKey(envVar.getName()));
+        envVars.forEach((name, value) -> env.add(new EnvVar(name, value, null)));
 
-            TestUtils.withRetry(() -> {
-                try {
-                    OpenShiftUtils.getInstance().updateDeploymentConfigEnvVars(operatorResourcesName, imagesEnvVars);
-                    return true;
-                } catch (KubernetesClientException kce) {
-                    log.debug("Caught KubernetesClientException: " + kce);
-                    return false;
-                }
-            }, 3, 30000L, "Unable to update operator deployment config after 3 tries");
-
-            TestUtils.withRetry(() -> {
-                try {
-                    OpenShiftUtils.getInstance().scale(operatorResourcesName, 1);
-                    return true;
-                } catch (KubernetesClientException kce) {
-                    log.debug("Caught KubernetesClientException: " + kce);
-                    return false;
-                }
-            }, 3, 30000L, "Unable to scale operator deployment config after 3 tries");
-        }
+        OpenShiftUtils.asRegularUser(() -> OpenShiftUtils.getInstance().resourceList(resourceList).createOrReplace());
+    }
 
+    private void waitForOperator() {
         log.info("Waiting for syndesis-operator to be ready");
-        OpenShiftUtils.getInstance().waiters()
-            .areExactlyNPodsReady(1, "syndesis.io/component", operatorResourcesName)
-            .interval(TimeUnit.SECONDS, 20)
-            .timeout(TimeUnit.MINUTES, 10)
-            .waitFor();
+        try {
+            OpenShiftWaitUtils.waitFor(OpenShiftWaitUtils.areExactlyNPodsReady("syndesis.io/component", OPERATOR_NAME, 1),
+                OPERATOR_READY_TIMEOUT_MS);
+        } catch (TimeoutException | InterruptedException e) {
+            fail("syndesis-operator didn't become ready", e);
+        }
     }
 
     public void deploySyndesisViaOperator() {
@@ -723,7 +774,7 @@ public class Syndesis implements Resource {
             }
             // even though server is in ready state, inside app is still starting so we have to wait a lot just to be sure
             try {
-                OpenShiftWaitUtils.waitFor(() -> OpenShiftUtils.getPodLogs("server").contains("Started Application in"), 1000 * 300L);
+                PodLogFollower.follow("server").awaitMatch(LogMatcher.contains("Started Application in"), 1000 * 300L);
             } catch (TimeoutException | InterruptedException e) {
                 InfraFail.fail("Syndesis server did not start in 300s with new variable", e);
             }
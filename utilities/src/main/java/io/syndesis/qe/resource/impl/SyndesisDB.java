@@ -208,4 +208,10 @@ public class SyndesisDB implements Resource {
     public boolean isDeployed() {
         return OpenShiftUtils.getAnyPod(LABEL_NAME, APP_NAME).isPresent();
     }
+
+    @Override
+    public boolean isUndeployedSequentially() {
+        // restores the default PostgreSQL connection through the server API
+        return true;
+    }
 }
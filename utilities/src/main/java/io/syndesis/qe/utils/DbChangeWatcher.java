@@ -0,0 +1,212 @@
+package io.syndesis.qe.utils;
+
+import io.syndesis.qe.wait.AdaptiveInterval;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Detects changes of the rows in a database table.
+ * <p>
+ * For PostgreSQL, a statement trigger that sends a notification on every change is installed on the table and the watcher listens
+ * for the notifications, so the waiting ends as soon as the row is written. If the trigger can't be installed (or for other databases),
+ * the watcher falls back to polling a high-watermark query (max value of a monotonically increasing column, or the row count) with
+ * a short interval, which is much cheaper than re-running the whole validation query.
+ * <p>
+ * The trigger and its function are shared by all the watchers of the table in this JVM and they are dropped when the last of them is
+ * closed, so nothing is left behind in the database of the system under test.
+ */
+@Slf4j
+public class DbChangeWatcher implements AutoCloseable {
+    private static final String CHANNEL = "syndesis_qe_changes";
+    private static final long FALLBACK_INITIAL_INTERVAL_MS = 100L;
+    private static final long FALLBACK_MAX_INTERVAL_MS = 1000L;
+    private static final double FALLBACK_BACKOFF_FACTOR = 1.5;
+    /**
+     * Max time to wait for a change, after that the caller re-evaluates its condition anyway.
+     */
+    private static final long MAX_WAIT_MS = 5000L;
+    /**
+     * Number of open watchers that use the notification trigger of given table.
+     */
+    private static final Map<String, Integer> TRIGGER_USERS = new HashMap<>();
+
+    private final String table;
+    private final String triggerName;
+    private final String watermarkQuery;
+    private final Connection connection;
+    @Getter
+    private final boolean notificationsEnabled;
+    private Object watermark;
+
+    /**
+     * Constructor.
+     *
+     * @param dbType database type
+     * @param table table to watch
+     * @param watermarkColumn monotonically increasing column used for the fallback, if null, the row count is used instead
+     * @throws SQLException when the connection can't be obtained
+     */
+    public DbChangeWatcher(String dbType, String table, String watermarkColumn) throws SQLException {
+        this(dbType, SampleDbConnectionManager.getPool(dbType).getConnection(), table, watermarkColumn);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param dbType database type
+     * @param connection connection used only by this watcher, it is closed together with the watcher
+     * @param table table to watch
+     * @param watermarkColumn monotonically increasing column used for the fallback, if null, the row count is used instead
+     * @throws SQLException when the initial watermark can't be read
+     */
+    DbChangeWatcher(String dbType, Connection connection, String table, String watermarkColumn) throws SQLException {
+        this.table = table.toLowerCase();
+        this.triggerName = "syndesis_qe_notify_" + this.table.replaceAll("\\W", "_");
+        this.watermarkQuery = "SELECT " + (watermarkColumn == null ? "COUNT(*)" : "MAX(" + watermarkColumn + ")") + " FROM " + table;
+        this.connection = connection;
+        this.notificationsEnabled = "postgresql".equals(dbType) && listen();
+        if (!notificationsEnabled) {
+            try {
+                watermark = readWatermark();
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Waits until the table changes or the timeout elapses. Returns also after at most a few seconds without any change,
+     * so that the caller re-evaluates its condition periodically in any case.
+     *
+     * @param timeoutMs max time to wait
+     * @return true if a change was detected
+     */
+    public boolean awaitChange(long timeoutMs) {
+        final long waitMs = Math.max(1L, Math.min(timeoutMs, MAX_WAIT_MS));
+        try {
+            return notificationsEnabled ? awaitNotification(waitMs) : awaitWatermarkChange(waitMs);
+        } catch (SQLException e) {
+            log.debug("Unable to wait for change of table {}: {}", table, e.getMessage());
+            TestUtils.sleepIgnoreInterrupt(waitMs);
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (notificationsEnabled) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("UNLISTEN " + CHANNEL);
+                    unregisterTrigger(statement);
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("Unable to close the change watcher of table {}: {}", table, e.getMessage());
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Unable to close the connection of the change watcher of table {}: {}", table, e.getMessage());
+            }
+        }
+    }
+
+    private boolean listen() {
+        synchronized (TRIGGER_USERS) {
+            try (Statement statement = connection.createStatement()) {
+                // the tables may be re-created during the tests, so check that the trigger is still there
+                if (!triggerExists(statement)) {
+                    statement.execute("CREATE OR REPLACE FUNCTION " + triggerName + "() RETURNS trigger AS $$ BEGIN "
+                        + "PERFORM pg_notify('" + CHANNEL + "', TG_TABLE_NAME); RETURN NULL; END; $$ LANGUAGE plpgsql");
+                    statement.execute("CREATE TRIGGER " + triggerName + " AFTER INSERT OR UPDATE OR DELETE ON " + table
+                        + " FOR EACH STATEMENT EXECUTE PROCEDURE " + triggerName + "()");
+                    log.debug("Installed change notification trigger on table {}", table);
+                }
+                statement.execute("LISTEN " + CHANNEL);
+                TRIGGER_USERS.merge(table, 1, Integer::sum);
+                return true;
+            } catch (SQLException e) {
+                log.info("Unable to listen for changes of table {}, falling back to polling: {}", table, e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Drops the trigger and its function when this is the last watcher of the table that uses it.
+     */
+    private void unregisterTrigger(Statement statement) throws SQLException {
+        synchronized (TRIGGER_USERS) {
+            final int users = TRIGGER_USERS.getOrDefault(table, 1) - 1;
+            if (users > 0) {
+                TRIGGER_USERS.put(table, users);
+                return;
+            }
+            TRIGGER_USERS.remove(table);
+            statement.execute("DROP TRIGGER IF EXISTS " + triggerName + " ON " + table);
+            statement.execute("DROP FUNCTION IF EXISTS " + triggerName + "()");
+            log.debug("Removed change notification trigger from table {}", table);
+        }
+    }
+
+    private boolean triggerExists(Statement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM pg_trigger t JOIN pg_class c ON t.tgrelid = c.oid "
+            + "WHERE t.tgname = '" + triggerName + "' AND c.relname = '" + table + "'")) {
+            return resultSet.next() && resultSet.getInt(1) > 0;
+        }
+    }
+
+    private boolean awaitNotification(long waitMs) throws SQLException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs);
+        long remaining = waitMs;
+        while (remaining > 0) {
+            final PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications((int) remaining);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    if (table.equals(notification.getParameter())) {
+                        return true;
+                    }
+                }
+            }
+            remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        }
+        return false;
+    }
+
+    private boolean awaitWatermarkChange(long waitMs) throws SQLException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs);
+        final AdaptiveInterval interval = new AdaptiveInterval(FALLBACK_INITIAL_INTERVAL_MS, FALLBACK_MAX_INTERVAL_MS, FALLBACK_BACKOFF_FACTOR);
+        long remaining = waitMs;
+        while (remaining > 0) {
+            TestUtils.sleepIgnoreInterrupt(interval.next(remaining));
+            final Object current = readWatermark();
+            if (!Objects.equals(watermark, current)) {
+                watermark = current;
+                return true;
+            }
+            remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        }
+        return false;
+    }
+
+    private Object readWatermark() throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(watermarkQuery)) {
+            return resultSet.next() ? resultSet.getObject(1) : null;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package io.syndesis.qe.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Small pool of JDBC connections.
+ * <p>
+ * The connections handed out by {@link #getConnection()} are returned to the pool when they are closed, so use them in try-with-resources.
+ * Idle connections are validated before they are handed out again, invalid ones (for example after the port-forward was re-established)
+ * are replaced with new ones.
+ */
+@Slf4j
+public class DbConnectionPool implements AutoCloseable {
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long ACQUIRE_TIMEOUT_MS = 30000L;
+
+    /**
+     * Creates a new physical connection.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    @Getter
+    private final String name;
+    private final ConnectionFactory connectionFactory;
+    private final int maxSize;
+    private final Semaphore permits;
+    private final BlockingQueue<Connection> idle = new LinkedBlockingQueue<>();
+    private volatile boolean closed;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong borrowed = new AtomicLong();
+    private final AtomicLong invalidated = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param name pool name, used in logs
+     * @param connectionFactory factory of the physical connections
+     * @param maxSize max number of connections
+     */
+    public DbConnectionPool(String name, ConnectionFactory connectionFactory, int maxSize) {
+        this.name = name;
+        this.connectionFactory = connectionFactory;
+        this.maxSize = maxSize;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Borrows the connection from the pool, waits if all the connections are in use.
+     *
+     * @return connection that is returned to the pool when closed
+     * @throws SQLException when the connection can't be created or no connection was available in time
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Pool " + name + " is closed");
+        }
+        final long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("No connection available in pool " + name + " after " + ACQUIRE_TIMEOUT_MS + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for connection from pool " + name, e);
+        }
+        waitNanos.addAndGet(System.nanoTime() - start);
+        try {
+            final Connection connection = takeValidConnection();
+            active.incrementAndGet();
+            borrowed.incrementAndGet();
+            return wrap(connection);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the pool usage counters.
+     *
+     * @return map of counter name to its value
+     */
+    public Map<String, Long> getStats() {
+        final Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("maxSize", (long) maxSize);
+        stats.put("active", (long) active.get());
+        stats.put("idle", (long) idle.size());
+        stats.put("created", created.get());
+        stats.put("borrowed", borrowed.get());
+        stats.put("invalidated", invalidated.get());
+        stats.put("waitMs", TimeUnit.NANOSECONDS.toMillis(waitNanos.get()));
+        return stats;
+    }
+
+    /**
+     * Closes all idle connections. The connections that are in use are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            closeQuietly(connection);
+        }
+    }
+
+    private Connection takeValidConnection() throws SQLException {
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            if (isValid(connection)) {
+                return connection;
+            }
+            invalidated.incrementAndGet();
+            closeQuietly(connection);
+        }
+        connection = connectionFactory.create();
+        created.incrementAndGet();
+        log.debug("Created connection #{} in pool {}", created.get(), name);
+        return connection;
+    }
+
+    private void giveBack(Connection connection) {
+        active.decrementAndGet();
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            if (closed) {
+                closeQuietly(connection);
+            } else {
+                idle.offer(connection);
+                // the pool may have been closed meanwhile, don't leave the connection in it
+                if (closed) {
+                    close();
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("Discarding connection from pool {}: {}", name, e.getMessage());
+            closeQuietly(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Connection wrap(Connection connection) {
+        final boolean[] returned = {false};
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    synchronized (returned) {
+                        if (!returned[0]) {
+                            returned[0] = true;
+                            giveBack(connection);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return returned[0] || connection.isClosed();
+                default:
+                    if (returned[0]) {
+                        throw new SQLException("Connection was already returned to pool " + name);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        });
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Unable to close connection: {}", e.getMessage());
+        }
+    }
+}
@@ -5,13 +5,32 @@ import static org.assertj.core.api.Assertions.fail;
 import io.syndesis.qe.endpoint.ConnectionsActionsEndpoint;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class DbUtils {
+    /**
+     * Maps the current row of the result set.
+     *
+     * @param <T> type of the mapped row
+     */
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet resultSet) throws SQLException;
+    }
+
     private Connection dbConnection;
     private String databaseType;
 
@@ -27,6 +46,9 @@ public class DbUtils {
 
     /**
      * Best to use with SELECT.
+     * <p>
+     * The ResultSet should be closed after use, the statement is closed together with it. Prefer {@link #query(String, RowMapper, Object...)}
+     * which closes everything itself.
      *
      * @param sqlCommand sql query to execute
      * @return a ResultSet object that contains the data produced by the query; never null
@@ -36,7 +58,9 @@ public class DbUtils {
         ResultSet resultSet = null;
         try {
             log.debug("Executing SQL query: " + sqlCommand);
-            resultSet = dbConnection.prepareStatement(sqlCommand).executeQuery();
+            final PreparedStatement statement = dbConnection.prepareStatement(sqlCommand);
+            statement.closeOnCompletion();
+            resultSet = statement.executeQuery();
         } catch (SQLException ex) {
             log.error("Error: " + ex);
         }
@@ -52,15 +76,151 @@ public class DbUtils {
     public int executeSQLGetUpdateNumber(String sqlCommand) {
         reopenConnectionIfIsClosed();
         int result = -1;
-        try {
+        try (PreparedStatement statement = dbConnection.prepareStatement(sqlCommand)) {
             log.debug("Executing SQL query: " + sqlCommand);
-            result = dbConnection.prepareStatement(sqlCommand).executeUpdate();
+            result = statement.executeUpdate();
         } catch (SQLException ex) {
             log.error("Error: " + ex);
         }
         return result;
     }
 
+    /**
+     * Executes the query using a pooled connection and maps all the rows. The connection, statement and result set are closed before
+     * returning, so this can be used from multiple threads at once.
+     *
+     * @param sql sql query with ? placeholders
+     * @param mapper row mapper
+     * @param params query parameters
+     * @param <T> type of the mapped rows
+     * @return list of mapped rows
+     */
+    public <T> List<T> query(String sql, RowMapper<T> mapper, Object... params) {
+        log.debug("Executing SQL query: " + sql);
+        final List<T> rows = new ArrayList<>();
+        try (Connection connection = SampleDbConnectionManager.getPool(databaseType).getConnection();
+            PreparedStatement statement = prepare(connection, sql, params);
+            ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows.add(mapper.map(resultSet));
+            }
+        } catch (SQLException ex) {
+            fail("Unable to execute query " + sql, ex);
+        }
+        return rows;
+    }
+
+    /**
+     * Executes the query using a pooled connection and returns the rows as maps of column label to value.
+     *
+     * @param sql sql query with ? placeholders
+     * @param params query parameters
+     * @return list of rows
+     */
+    public List<Map<String, Object>> queryForRows(String sql, Object... params) {
+        return query(sql, resultSet -> {
+            final ResultSetMetaData metaData = resultSet.getMetaData();
+            final Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                row.put(metaData.getColumnLabel(i), resultSet.getObject(i));
+            }
+            return row;
+        }, params);
+    }
+
+    /**
+     * Executes the statement for each set of the parameters in a single batch and a single transaction using a pooled connection.
+     *
+     * @param sql INSERT, UPDATE or DELETE with ? placeholders
+     * @param batchParams parameters for each execution
+     * @return update counts for each execution
+     */
+    public int[] executeBatch(String sql, List<Object[]> batchParams) {
+        log.debug("Executing SQL batch of {}: {}", batchParams.size(), sql);
+        try (Connection connection = SampleDbConnectionManager.getPool(databaseType).getConnection();
+            PreparedStatement statement = connection.prepareStatement(sql)) {
+            connection.setAutoCommit(false);
+            for (Object[] params : batchParams) {
+                setParameters(statement, params);
+                statement.addBatch();
+            }
+            final int[] result = statement.executeBatch();
+            connection.commit();
+            return result;
+        } catch (SQLException ex) {
+            fail("Unable to execute batch " + sql, ex);
+        }
+        return new int[0];
+    }
+
+    /**
+     * Executes all the statements in a single batch and a single transaction using a pooled connection.
+     *
+     * @param sqlCommands INSERT, UPDATE or DELETE statements
+     * @return update counts for each statement
+     */
+    public int[] executeBatch(List<String> sqlCommands) {
+        log.debug("Executing SQL batch of {} statements", sqlCommands.size());
+        try (Connection connection = SampleDbConnectionManager.getPool(databaseType).getConnection();
+            Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            for (String sqlCommand : sqlCommands) {
+                statement.addBatch(sqlCommand);
+            }
+            final int[] result = statement.executeBatch();
+            connection.commit();
+            return result;
+        } catch (SQLException ex) {
+            fail("Unable to execute batch", ex);
+        }
+        return new int[0];
+    }
+
+    /**
+     * Waits until the condition is true, the condition is re-evaluated as soon as the table changes (see {@link DbChangeWatcher}).
+     *
+     * @param table table that the condition depends on
+     * @param watermarkColumn monotonically increasing column of the table used when the change notifications are not available,
+     * if null, the row count is used instead
+     * @param condition condition to wait for
+     * @param timeoutMs max time to wait
+     * @return true if the condition became true within the timeout
+     */
+    public boolean waitForChange(String table, String watermarkColumn, BooleanSupplier condition, long timeoutMs) {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        // start watching before the first evaluation, so that no change is missed
+        try (DbChangeWatcher watcher = new DbChangeWatcher(databaseType, table, watermarkColumn)) {
+            while (!condition.getAsBoolean()) {
+                final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                watcher.awaitChange(remaining);
+            }
+            return true;
+        } catch (SQLException ex) {
+            fail("Unable to watch table " + table, ex);
+        }
+        return false;
+    }
+
+    private static PreparedStatement prepare(Connection connection, String sql, Object... params) throws SQLException {
+        final PreparedStatement statement = connection.prepareStatement(sql);
+        try {
+            setParameters(statement, params);
+        } catch (SQLException ex) {
+            statement.close();
+            throw ex;
+        }
+        return statement;
+    }
+
+    private static void setParameters(PreparedStatement statement, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            statement.setObject(i + 1, params[i]);
+        }
+    }
+
     /**
      * Get the row count of given table.
      *
@@ -95,8 +255,7 @@ public class DbUtils {
      */
     public int getCountOfInvokedQuery(String query) {
         int records = 0;
-        try {
-            ResultSet resultSet = executeSQLGetResultSet(query);
+        try (ResultSet resultSet = executeSQLGetResultSet(query)) {
             while (resultSet != null && resultSet.next()) {
                 records++;
             }
@@ -0,0 +1,188 @@
+package io.syndesis.qe.utils;
+
+import io.syndesis.qe.endpoint.IntegrationsMetricsEndpoint;
+import io.syndesis.qe.wait.AdaptiveInterval;
+import io.syndesis.qe.wait.WaitStatistics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+
+/**
+ * Watches the message counts of one or more integrations.
+ * <p>
+ * The integration ids are resolved once when the watcher is created, each poll then fetches only the metrics summaries. The first poll
+ * is the baseline for the {@link Throughput} calculation.
+ */
+public class IntegrationMetricsWatcher {
+    private static final long INITIAL_INTERVAL_MS = 500L;
+    private static final long MAX_INTERVAL_MS = 3000L;
+    private static final double BACKOFF_FACTOR = 1.5;
+
+    private final IntegrationsMetricsEndpoint integrationsMetricsEndpoint;
+    private final Map<String, Samples> samples = new LinkedHashMap<>();
+
+    /**
+     * Constructor, polls the baseline.
+     *
+     * @param integrationsMetricsEndpoint metrics endpoint
+     * @param integrationIds map of integration name to integration id
+     */
+    IntegrationMetricsWatcher(IntegrationsMetricsEndpoint integrationsMetricsEndpoint, Map<String, String> integrationIds) {
+        this.integrationsMetricsEndpoint = integrationsMetricsEndpoint;
+        integrationIds.forEach((name, id) -> samples.put(name, new Samples(id)));
+        poll();
+    }
+
+    /**
+     * Fetches the current message counts of all the watched integrations.
+     */
+    public final void poll() {
+        samples.values().forEach(s -> s.update(integrationsMetricsEndpoint.get(s.id).getMessages()));
+    }
+
+    /**
+     * Returns the message count from the last poll.
+     *
+     * @param integrationName integration name
+     * @return number of messages
+     */
+    public long getMessages(String integrationName) {
+        return get(integrationName).latest;
+    }
+
+    /**
+     * Waits until the integration processed at least given number of messages in total.
+     *
+     * @param integrationName integration name
+     * @param messages expected number of messages
+     * @param timeoutMs timeout
+     * @return true if the integration processed the messages in time
+     */
+    public boolean waitForMessages(String integrationName, long messages, long timeoutMs) {
+        return waitForMessages(Collections.singletonMap(integrationName, messages), timeoutMs);
+    }
+
+    /**
+     * Waits until the integration processed given number of messages since the baseline poll.
+     *
+     * @param integrationName integration name
+     * @param messages expected number of new messages
+     * @param timeoutMs timeout
+     * @return true if the integration processed the messages in time
+     */
+    public boolean waitForNewMessages(String integrationName, long messages, long timeoutMs) {
+        return waitForMessages(integrationName, get(integrationName).baseline + messages, timeoutMs);
+    }
+
+    /**
+     * Waits until all the integrations processed at least given number of messages in total. Each poll fetches only the metrics
+     * of the integrations that haven't reached their count yet.
+     *
+     * @param expectedMessages map of integration name to the expected number of messages
+     * @param timeoutMs timeout
+     * @return true if all the integrations processed the messages in time
+     */
+    public boolean waitForMessages(Map<String, Long> expectedMessages, long timeoutMs) {
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        final AdaptiveInterval interval = new AdaptiveInterval(INITIAL_INTERVAL_MS, MAX_INTERVAL_MS, BACKOFF_FACTOR);
+        int polls = 0;
+        while (true) {
+            boolean done = true;
+            for (Map.Entry<String, Long> expected : expectedMessages.entrySet()) {
+                final Samples s = get(expected.getKey());
+                if (s.latest < expected.getValue()) {
+                    s.update(integrationsMetricsEndpoint.get(s.id).getMessages());
+                }
+                done &= s.latest >= expected.getValue();
+            }
+            polls++;
+            final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (done || remaining <= 0) {
+                WaitStatistics.record("IntegrationMetricsWatcher.waitForMessages", start, polls, done);
+                return done;
+            }
+            TestUtils.sleepIgnoreInterrupt(interval.next(remaining));
+        }
+    }
+
+    /**
+     * Calculates the throughput of the integration since the baseline poll.
+     *
+     * @param integrationName integration name
+     * @return throughput
+     */
+    public Throughput getThroughput(String integrationName) {
+        return new Throughput(get(integrationName));
+    }
+
+    private Samples get(String integrationName) {
+        final Samples s = samples.get(integrationName);
+        if (s == null) {
+            throw new IllegalArgumentException("Integration " + integrationName + " is not watched");
+        }
+        return s;
+    }
+
+    private static final class Samples {
+        private final String id;
+        private long baseline = -1;
+        private long baselineNanos;
+        private long latest;
+        private long latestNanos;
+        private long firstMessageNanos = -1;
+
+        private Samples(String id) {
+            this.id = id;
+        }
+
+        private void update(Long messages) {
+            final long now = System.nanoTime();
+            latest = messages == null ? 0 : messages;
+            latestNanos = now;
+            if (baseline < 0) {
+                baseline = latest;
+                baselineNanos = now;
+            } else if (firstMessageNanos < 0 && latest > baseline) {
+                firstMessageNanos = now;
+            }
+        }
+    }
+
+    /**
+     * Throughput of the integration between the baseline poll and the last poll. The times are measured on the polls, so their precision
+     * is limited by the polling interval.
+     */
+    @Getter
+    public static final class Throughput {
+        /**
+         * Number of messages processed since the baseline.
+         */
+        private final long messages;
+        private final long elapsedMs;
+        private final double messagesPerSecond;
+        /**
+         * Time from the baseline to the poll that first saw a new message, empty if there was no new message.
+         */
+        private final OptionalLong timeToFirstMessageMs;
+
+        private Throughput(Samples s) {
+            this.messages = s.latest - s.baseline;
+            this.elapsedMs = TimeUnit.NANOSECONDS.toMillis(s.latestNanos - s.baselineNanos);
+            this.messagesPerSecond = elapsedMs == 0 ? 0 : messages * 1000.0 / elapsedMs;
+            this.timeToFirstMessageMs = s.firstMessageNanos < 0 ? OptionalLong.empty()
+                : OptionalLong.of(TimeUnit.NANOSECONDS.toMillis(s.firstMessageNanos - s.baselineNanos));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d messages in %d ms (%.2f msg/s), first message after %s", messages, elapsedMs, messagesPerSecond,
+                timeToFirstMessageMs.isPresent() ? timeToFirstMessageMs.getAsLong() + " ms" : "-");
+        }
+    }
+}
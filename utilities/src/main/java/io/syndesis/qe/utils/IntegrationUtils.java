@@ -1,6 +1,7 @@
 package io.syndesis.qe.utils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 
 import io.syndesis.common.model.integration.Integration;
 import io.syndesis.common.model.metrics.IntegrationMetricsSummary;
@@ -13,7 +14,9 @@ import io.syndesis.server.endpoint.v1.handler.activity.Activity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class IntegrationUtils {
@@ -28,13 +31,16 @@ public class IntegrationUtils {
     private IntegrationsEndpoint integrationsEndpoint;
 
     public String getIdByIntegrationName(String integrationName) {
-        List<Integration> integrations = integrationsEndpoint.list();
-        Integration integr =
-            integrations.stream().filter(integration -> integrationName.equalsIgnoreCase(integration.getName())).findAny().orElse(null);
-        if (integr == null) {
-            integr =
-                integrations.stream().filter(integration -> integrationName.replaceAll("-", " ").equalsIgnoreCase(integration.getName())).findAny()
-                    .orElse(null);
+        final String relaxedName = integrationName.replaceAll("-", " ");
+        Integration integr = null;
+        for (Integration integration : integrationsEndpoint.list()) {
+            if (integrationName.equalsIgnoreCase(integration.getName())) {
+                integr = integration;
+                break;
+            }
+            if (integr == null && relaxedName.equalsIgnoreCase(integration.getName())) {
+                integr = integration;
+            }
         }
         assertThat(integr).as(String
             .format("Integration %s not found. Be sure you provide the correct name of the integration. (same name as in the UI)", integrationName))
@@ -61,9 +67,24 @@ public class IntegrationUtils {
     }
 
     public void waitForMessage(String integrationName, int numberOfMessages, int timeoutInSeconds) {
-        TestUtils.waitFor(() ->
-                this.numberOfMessages(integrationName) >= numberOfMessages, 3, timeoutInSeconds,
-            String.format("The message doesn't go through integration in time. Expected messages: %s, actual: %s", numberOfMessages,
-                this.numberOfMessages(integrationName)));
+        final IntegrationMetricsWatcher watcher = watchMetrics(integrationName);
+        if (!watcher.waitForMessages(integrationName, numberOfMessages, timeoutInSeconds * 1000L)) {
+            fail(String.format("The message doesn't go through integration in time. Expected messages: %s, actual: %s", numberOfMessages,
+                watcher.getMessages(integrationName)));
+        }
+    }
+
+    /**
+     * Starts watching the message counts of the integrations. The integration ids are resolved only once here.
+     *
+     * @param integrationNames integration names
+     * @return watcher with the current counts as the baseline
+     */
+    public IntegrationMetricsWatcher watchMetrics(String... integrationNames) {
+        final Map<String, String> ids = new LinkedHashMap<>();
+        for (String integrationName : integrationNames) {
+            ids.put(integrationName, getIdByIntegrationName(integrationName));
+        }
+        return new IntegrationMetricsWatcher(integrationsMetricsEndpoint, ids);
     }
 }
@@ -3,38 +3,58 @@ package io.syndesis.qe.utils;
 import io.syndesis.qe.account.Account;
 import io.syndesis.qe.account.AccountsDirectory;
 import io.syndesis.qe.endpoint.client.EndpointClient;
+import io.syndesis.qe.issue.IssueCache;
 import io.syndesis.qe.issue.IssueState;
 import io.syndesis.qe.issue.SimpleIssue;
 
 import org.eclipse.egit.github.core.Issue;
-import org.eclipse.egit.github.core.Repository;
+import org.eclipse.egit.github.core.RepositoryId;
 import org.eclipse.egit.github.core.client.GitHubClient;
 import org.eclipse.egit.github.core.service.IssueService;
-import org.eclipse.egit.github.core.service.RepositoryService;
 
 import com.atlassian.jira.rest.client.api.IssueRestClient;
 import com.atlassian.jira.rest.client.api.JiraRestClient;
 import com.atlassian.jira.rest.client.api.JiraRestClientFactory;
-import com.atlassian.jira.rest.client.api.RestClientException;
 import com.atlassian.jira.rest.client.internal.async.AsynchronousJiraRestClientFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import javax.ws.rs.core.MediaType;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import io.cucumber.java.Scenario;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class IssueHooksUtils {
+    private static final Pattern JIRA_TAG = Pattern.compile("@(ENTESB-\\d+)\\b");
+    private static final String GITHUB_KEY_PREFIX = "gh-";
+    private static final RepositoryId SYNDESIS_REPOSITORY = new RepositoryId("syndesisio", "syndesis");
+    private static final String ZENHUB_API_URL = "https://api.zenhub.io";
+    private static final int PREFETCH_THREADS = 8;
+
+    private static JiraRestClient cachedJiraClient;
 
     public static List<SimpleIssue> analyzeJiraIssues(List<String> jiraIssues, Scenario scenario) {
 
@@ -49,12 +69,11 @@ public class IssueHooksUtils {
         for (String tag : jiraIssues) {
             String issueName = tag.replaceFirst("^@", "");
             try {
-                com.atlassian.jira.rest.client.api.domain.Issue issue = issueClient.getIssue(issueName).claim();
-                issues.add(transformJiraIssue(issue));
-            } catch (RestClientException e) {
+                Optional.ofNullable(IssueCache.get(issueName, () -> fetchJiraIssue(issueClient, issueName))).ifPresent(issues::add);
+            } catch (CompletionException e) {
                 log.error("Couldn't obtain the Jira issue : {}", tag);
                 scenario.attach("Error while processing Jira issues".getBytes(), "text/plain", "ErrorMessage");
-                e.printStackTrace();
+                e.getCause().printStackTrace();
             }
         }
 
@@ -70,26 +89,83 @@ public class IssueHooksUtils {
             return Collections.emptyList();
         }
 
-        RepositoryService repositoryService = new RepositoryService(gitHubClient);
         IssueService issueService = new IssueService(gitHubClient);
 
         try {
-            Repository repository = repositoryService.getRepository("syndesisio", "syndesis");
-
             for (String tag : githubIssues) {
                 String issueNumber = tag.replaceFirst("^@gh-", "");
-                Issue issue = issueService.getIssue(repository, issueNumber);
-                issues.add(transformGithubIssue(issue, scenario));
+                Optional.ofNullable(IssueCache.get(GITHUB_KEY_PREFIX + issueNumber, () -> fetchGithubIssue(issueService, issueNumber, scenario)))
+                    .ifPresent(issues::add);
             }
-        } catch (IOException e) {
-            log.error("Error while processing GitHub issues", e);
+        } catch (CompletionException e) {
+            log.error("Error while processing GitHub issues", e.getCause());
             scenario.attach("Error while processing GitHub issues".getBytes(), "text/plain", "ErrorMessage");
-            e.printStackTrace();
+            e.getCause().printStackTrace();
         }
 
         return issues;
     }
 
+    /**
+     * Fetches the Jira issues tagged in the feature files on the classpath into the {@link IssueCache} in the background,
+     * so that the hooks that skip the scenarios with open issues don't need to wait for Jira.
+     * <p>
+     * GitHub issues are not prefetched, each of them costs also a ZenHub request, they are cached when a scenario first needs them.
+     */
+    public static void prefetchIssues() {
+        if (!AccountsDirectory.getInstance().getAccount(Account.Name.JIRA_HOOK).isPresent()) {
+            return;
+        }
+        final Set<String> issueNames = findJiraIssueNames();
+        final JiraRestClient jira = issueNames.isEmpty() ? null : getJiraClient(null);
+        if (jira == null) {
+            return;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(PREFETCH_THREADS);
+        for (String issueName : issueNames) {
+            IssueCache.load(issueName, () -> fetchJiraIssue(jira.getIssueClient(), issueName), executor);
+        }
+        // the queued fetches are still executed, the threads end when there is nothing left to do
+        executor.shutdown();
+        log.info("Prefetching {} Jira issues linked from the feature files", issueNames.size());
+    }
+
+    private static Set<String> findJiraIssueNames() {
+        final Set<String> issueNames = new TreeSet<>();
+        final URL features = IssueHooksUtils.class.getClassLoader().getResource("features");
+        if (features == null || !"file".equals(features.getProtocol())) {
+            return issueNames;
+        }
+        try (Stream<Path> files = Files.walk(Paths.get(features.toURI()))) {
+            files.filter(f -> f.toString().endsWith(".feature")).forEach(f -> {
+                try {
+                    final String content = new String(Files.readAllBytes(f), StandardCharsets.UTF_8);
+                    final Matcher matcher = JIRA_TAG.matcher(content);
+                    while (matcher.find()) {
+                        issueNames.add(matcher.group(1));
+                    }
+                } catch (IOException e) {
+                    log.debug("Unable to read feature file {}: {}", f, e.getMessage());
+                }
+            });
+        } catch (IOException | URISyntaxException e) {
+            log.warn("Unable to scan feature files for issue tags: {}", e.getMessage());
+        }
+        return issueNames;
+    }
+
+    private static SimpleIssue fetchJiraIssue(IssueRestClient issueClient, String issueName) {
+        return transformJiraIssue(issueClient.getIssue(issueName).claim());
+    }
+
+    private static SimpleIssue fetchGithubIssue(IssueService issueService, String issueNumber, Scenario scenario) {
+        try {
+            return transformGithubIssue(issueService.getIssue(SYNDESIS_REPOSITORY, issueNumber), scenario);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to get GitHub issue " + issueNumber, e);
+        }
+    }
+
     private static SimpleIssue transformGithubIssue(Issue githubIssue, Scenario scenario) {
 
         SimpleIssue issue = new SimpleIssue();
@@ -163,9 +239,11 @@ public class IssueHooksUtils {
     private static String getZenHubPipeline(Scenario scenario, String issueNumber) {
         // TODO: this whole thing should probably be refactored eventually
         String oauthToken = "";
+        String apiUrl = ZENHUB_API_URL;
 
         Optional<Account> optional = AccountsDirectory.getInstance().getAccount(Account.Name.ZENHUB);
         if (optional.isPresent()) {
+            apiUrl = optional.get().getProperties().getOrDefault("apiUrl", ZENHUB_API_URL);
             if (!optional.get().getProperties().containsKey("APIToken")) {
                 logError(scenario, "Account with name \"ZenHub\" and property \"APIToken\" is required in credentials.json file.");
                 return null;
@@ -175,7 +253,7 @@ public class IssueHooksUtils {
         }
 
         // hardcoded syndesis repo id for now
-        JsonNode jsonNode = EndpointClient.getClient().target("https://api.zenhub.io/p1/repositories/105563335/issues/" + issueNumber)
+        JsonNode jsonNode = EndpointClient.getClient().target(apiUrl + "/p1/repositories/105563335/issues/" + issueNumber)
             .request(MediaType.APPLICATION_JSON)
             .header("X-Authentication-Token", oauthToken)
             .get(JsonNode.class);
@@ -192,9 +270,15 @@ public class IssueHooksUtils {
 
     private static GitHubClient getGitHubClient(Scenario scenario) {
         String oauthToken = "";
+        GitHubClient client = new GitHubClient();
 
         Optional<Account> optional = AccountsDirectory.getInstance().getAccount(Account.Name.GITHUB);
         if (optional.isPresent()) {
+            // custom API url, for example for a local stub
+            if (optional.get().getProperties().containsKey("apiUrl")) {
+                URI apiUrl = URI.create(optional.get().getProperty("apiUrl"));
+                client = new GitHubClient(apiUrl.getHost(), apiUrl.getPort(), apiUrl.getScheme());
+            }
             if (!optional.get().getProperties().containsKey("PersonalAccessToken")) {
                 logError(scenario, "Account with name \"GitHub\" and property \"PersonalAccessToken\" is required in credentials.json file.");
                 logError(scenario, "If you want to get known issues from github in logs in case of scenario fails, update your credentials.");
@@ -204,12 +288,14 @@ public class IssueHooksUtils {
             }
         }
 
-        GitHubClient client = new GitHubClient();
         client.setOAuth2Token(oauthToken);
         return client;
     }
 
-    private static JiraRestClient getJiraClient(Scenario scenario) {
+    private static synchronized JiraRestClient getJiraClient(Scenario scenario) {
+        if (cachedJiraClient != null) {
+            return cachedJiraClient;
+        }
         String userName = "";
         String password = "";
         String instanceUrl = "";
@@ -236,11 +322,15 @@ public class IssueHooksUtils {
             log.error("URL {} is a malformed URL", instanceUrl);
             e.printStackTrace();
         }
-        return factory.createWithBasicHttpAuthentication(uri, userName, password);
+        cachedJiraClient = factory.createWithBasicHttpAuthentication(uri, userName, password);
+        return cachedJiraClient;
     }
 
     public static void logError(Scenario scenario, String message) {
-        scenario.attach(message.getBytes(), "text/plain", "ErrorMessage");
+        // the issues are prefetched also outside of any scenario
+        if (scenario != null) {
+            scenario.attach(message.getBytes(), "text/plain", "ErrorMessage");
+        }
         log.error(message);
     }
 }
@@ -0,0 +1,83 @@
+package io.syndesis.qe.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Matcher of the log lines used by {@link PodLogFollower}.
+ * <p>
+ * The matcher consists of one or more steps that have to match the log lines in the given order, each step on a separate line. The matcher
+ * is stateful, so create a new one for every wait.
+ */
+public final class LogMatcher {
+    private final String description;
+    private final List<Predicate<String>> steps;
+    private int position;
+
+    private LogMatcher(String description, List<Predicate<String>> steps) {
+        this.description = description;
+        this.steps = steps;
+    }
+
+    /**
+     * Matches the first line that contains given text.
+     *
+     * @param text text to search for
+     * @return matcher
+     */
+    public static LogMatcher contains(String text) {
+        return new LogMatcher("contains '" + text + "'", Collections.singletonList(line -> line.contains(text)));
+    }
+
+    /**
+     * Matches the first line in which the regular expression is found.
+     *
+     * @param regex regular expression
+     * @return matcher
+     */
+    public static LogMatcher regex(String regex) {
+        final Pattern pattern = Pattern.compile(regex);
+        return new LogMatcher("matches '" + regex + "'", Collections.singletonList(line -> pattern.matcher(line).find()));
+    }
+
+    /**
+     * Matches when the lines containing given texts are found in the given order.
+     *
+     * @param texts texts to search for
+     * @return matcher that returns the line that contains the last text
+     */
+    public static LogMatcher sequence(String... texts) {
+        return new LogMatcher("contains in sequence " + Arrays.toString(texts), Arrays.stream(texts)
+            .<Predicate<String>>map(text -> line -> line.contains(text))
+            .collect(Collectors.toList()));
+    }
+
+    /**
+     * Offers the next line to the matcher.
+     *
+     * @param line log line
+     * @return true if the matcher is completed by this line
+     */
+    boolean offer(String line) {
+        if (position < steps.size() && steps.get(position).test(line)) {
+            position++;
+        }
+        return position == steps.size();
+    }
+
+    /**
+     * Starts the matching from the beginning, used when the log of a new pod is followed.
+     */
+    void reset() {
+        position = 0;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
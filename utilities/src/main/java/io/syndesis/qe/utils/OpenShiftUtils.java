@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import io.syndesis.qe.TestConfiguration;
 import io.syndesis.qe.test.InfraFail;
 import io.syndesis.qe.wait.OpenShiftWaitUtils;
+import io.syndesis.qe.wait.OpenShiftWatchEngine;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -96,6 +97,17 @@ public final class OpenShiftUtils {
         return getPodResource(pod).portForward(remotePort, localPort);
     }
 
+    /**
+     * Forwards the remote port to any free local port, use {@link LocalPortForward#getLocalPort()} to get it.
+     *
+     * @param pod pod
+     * @param remotePort port in the pod
+     * @return local port forward
+     */
+    public static LocalPortForward portForward(Pod pod, int remotePort) {
+        return getPodResource(pod).portForward(remotePort);
+    }
+
     private static PodResource<Pod, DoneablePod> getPodResource(Pod pod) {
         if (pod.getMetadata().getNamespace() != null) {
             return getInstance().pods().inNamespace(pod.getMetadata().getNamespace()).withName(pod.getMetadata().getName());
@@ -175,13 +187,15 @@ public final class OpenShiftUtils {
 
     /**
      * Returns all pods that match the given predicates.
+     * <p>
+     * The pods are read from the watch-backed cache, see {@link OpenShiftWatchEngine}.
      *
      * @param predicates predicates to match
      * @return list of pods that match the given predicates.
      */
     @SafeVarargs
     public static List<Pod> findPodsByPredicates(Predicate<Pod>... predicates) {
-        Stream<Pod> podStream = OpenShiftUtils.getInstance().pods().list().getItems().stream();
+        Stream<Pod> podStream = OpenShiftWatchEngine.getPods().stream();
         for (Predicate<Pod> predicate : predicates) {
             podStream = podStream.filter(predicate);
         }
@@ -224,7 +238,7 @@ public final class OpenShiftUtils {
      */
     @SafeVarargs
     public static boolean podExists(Predicate<Pod>... predicates) {
-        Stream<Pod> podStream = OpenShiftUtils.getInstance().pods().list().getItems().stream();
+        Stream<Pod> podStream = OpenShiftWatchEngine.getPods().stream();
         for (Predicate<Pod> predicate : predicates) {
             podStream = podStream.filter(predicate);
         }
@@ -264,12 +278,7 @@ public final class OpenShiftUtils {
      * @return optional
      */
     public static Optional<Pod> getAnyPod(String labelName, String labelValue) {
-        try {
-            return Optional.of(OpenShiftUtils.getInstance().getAnyPod(labelName, labelValue));
-        } catch (IllegalArgumentException ex) {
-            // When the pod is not there yet, the getAnyPod throws IllegalArgumentException, so ignore it
-            return Optional.empty();
-        }
+        return OpenShiftWatchEngine.getPodsByLabel(labelName, labelValue).stream().findFirst();
     }
 
     public static void updateEnvVarInDeploymentConfig(String dcName, String key, String value) {
@@ -330,8 +339,17 @@ public final class OpenShiftUtils {
     }
 
     public static boolean isDcDeployed(String dcName) {
-        DeploymentConfig dc = getInstance().deploymentConfigs().withName(dcName).get();
-        return dc != null && dc.getStatus().getReadyReplicas() != null && dc.getStatus().getReadyReplicas() > 0;
+        return OpenShiftWatchEngine.getDeploymentConfig(dcName)
+            .map(dc -> dc.getStatus() != null && dc.getStatus().getReadyReplicas() != null && dc.getStatus().getReadyReplicas() > 0)
+            .orElse(false);
+    }
+
+    /**
+     * Lists the pods, services, deployment configs and routes again, so that the lookups see the changes that weren't delivered
+     * by the watches yet.
+     */
+    public static void refreshCache() {
+        OpenShiftWatchEngine.refresh();
     }
 
     public static void terminateLocalPortForward(LocalPortForward lpf) {
@@ -0,0 +1,332 @@
+package io.syndesis.qe.utils;
+
+import io.syndesis.qe.TestConfiguration;
+import io.syndesis.qe.wait.OpenShiftWatchEngine;
+import io.syndesis.qe.wait.WaitStatistics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Follows the logs of the pods in the test namespace.
+ * <p>
+ * There is one follower per pod name, it streams the log of the current running pod with given name in a background thread and keeps
+ * the last lines (see {@link TestConfiguration#logBufferLines()}) in memory. The log-based waits register a {@link LogMatcher} that is
+ * completed as soon as a matching line arrives, so the waiting doesn't download and scan the whole log over and over again.
+ * <p>
+ * When the pod is replaced or its container restarts, the buffer is cleared and the log of the new container is followed.
+ */
+@Slf4j
+public final class PodLogFollower {
+    private static final long POD_WAIT_MS = 5000L;
+    private static final long RECONNECT_DELAY_MS = 1000L;
+
+    private static final Map<String, Follower> FOLLOWERS = new ConcurrentHashMap<>();
+
+    private PodLogFollower() {
+    }
+
+    /**
+     * Gets the follower of the pod, starts following its log if it is not followed yet.
+     *
+     * @param podPartialName part of the pod name
+     * @return follower
+     */
+    public static Follower follow(String podPartialName) {
+        return FOLLOWERS.computeIfAbsent(podPartialName, Follower::new);
+    }
+
+    /**
+     * Gets the follower of the integration pod.
+     *
+     * @param integrationName integration name
+     * @return follower
+     */
+    public static Follower followIntegration(String integrationName) {
+        return follow(integrationName.replaceAll("[\\s_]", "-").toLowerCase());
+    }
+
+    /**
+     * Stops all the followers.
+     */
+    public static void stopAll() {
+        FOLLOWERS.values().forEach(Follower::stop);
+        FOLLOWERS.clear();
+    }
+
+    private static Optional<Pod> findRunningPod(String podPartialName) {
+        return OpenShiftWatchEngine.getPods().stream()
+            .filter(p -> p.getMetadata().getName().contains(podPartialName))
+            .filter(p -> !p.getMetadata().getName().contains("deploy") && !p.getMetadata().getName().contains("build"))
+            .filter(p -> p.getMetadata().getDeletionTimestamp() == null && "Running".equals(p.getStatus().getPhase()))
+            .max(Comparator.comparing(p -> p.getMetadata().getCreationTimestamp()));
+    }
+
+    /**
+     * Identifies the followed container instance, the log starts from the beginning when the container restarts.
+     */
+    private static String identity(Pod pod) {
+        final int restarts = pod.getStatus().getContainerStatuses() == null || pod.getStatus().getContainerStatuses().isEmpty()
+            ? 0 : pod.getStatus().getContainerStatuses().get(0).getRestartCount();
+        return pod.getMetadata().getUid() + "/" + restarts;
+    }
+
+    /**
+     * Follower of the log of one pod.
+     */
+    public static final class Follower {
+        private final String podPartialName;
+        private final int capacity;
+        private final Deque<String> lines = new ArrayDeque<>();
+        private final Map<LogMatcher, CompletableFuture<String>> matchers = new LinkedHashMap<>();
+        private final Thread reader;
+
+        private String podIdentity;
+        private long linesRead;
+        private long linesDropped;
+        private LogWatch logWatch;
+        private volatile boolean stopped;
+
+        private Follower(String podPartialName) {
+            this.podPartialName = podPartialName;
+            this.capacity = TestConfiguration.logBufferLines();
+            this.reader = new Thread(this::run, "log-follower-" + podPartialName);
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        /**
+         * Registers the matcher. The lines that are already in the buffer are matched first.
+         *
+         * @param matcher matcher
+         * @return future completed with the matching line
+         */
+        public CompletableFuture<String> match(LogMatcher matcher) {
+            ensureCurrentPod();
+            synchronized (this) {
+                final CompletableFuture<String> future = new CompletableFuture<>();
+                for (String line : lines) {
+                    if (matcher.offer(line)) {
+                        future.complete(line);
+                        return future;
+                    }
+                }
+                if (stopped) {
+                    future.cancel(false);
+                } else {
+                    matchers.put(matcher, future);
+                }
+                return future;
+            }
+        }
+
+        /**
+         * Waits until a line matching the matcher appears in the log.
+         *
+         * @param matcher matcher
+         * @param timeoutMs timeout
+         * @return matching line
+         * @throws TimeoutException when no line matched in time
+         * @throws InterruptedException when interrupted
+         */
+        public String awaitMatch(LogMatcher matcher, long timeoutMs) throws TimeoutException, InterruptedException {
+            final long start = System.nanoTime();
+            final CompletableFuture<String> future = match(matcher);
+            boolean satisfied = false;
+            try {
+                final String line = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+                satisfied = true;
+                return line;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Unable to follow the log of pod " + podPartialName, e.getCause());
+            } catch (TimeoutException e) {
+                throw new TimeoutException("The log of pod " + podPartialName + " didn't match (" + matcher + ") in " + timeoutMs + " ms");
+            } finally {
+                synchronized (this) {
+                    matchers.remove(matcher);
+                }
+                WaitStatistics.record("log: " + podPartialName, start, 1, satisfied);
+            }
+        }
+
+        /**
+         * Waits until a line containing given text appears in the log.
+         *
+         * @param text text
+         * @param timeoutMs timeout
+         * @return true if the text was found in time
+         */
+        public boolean waitForText(String text, long timeoutMs) {
+            try {
+                awaitMatch(LogMatcher.contains(text), timeoutMs);
+                return true;
+            } catch (TimeoutException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        /**
+         * Returns the buffered log of the current pod.
+         *
+         * @return log lines joined with a new line, the oldest lines may be missing if the log is longer than the buffer
+         */
+        public String getLog() {
+            ensureCurrentPod();
+            synchronized (this) {
+                if (linesDropped > 0) {
+                    log.debug("First {} lines of pod {} log are not in the buffer anymore", linesDropped, podPartialName);
+                }
+                return String.join("\n", lines);
+            }
+        }
+
+        private void run() {
+            while (!stopped) {
+                final long version = OpenShiftWatchEngine.version();
+                final Optional<Pod> pod = findRunningPod(podPartialName);
+                if (!pod.isPresent()) {
+                    try {
+                        OpenShiftWatchEngine.awaitChange(version, POD_WAIT_MS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    continue;
+                }
+                final String identity = identity(pod.get());
+                final long skip;
+                synchronized (this) {
+                    switchTo(identity);
+                    skip = linesRead;
+                }
+                read(pod.get(), identity, skip);
+                if (!stopped) {
+                    TestUtils.sleepIgnoreInterrupt(RECONNECT_DELAY_MS);
+                }
+            }
+        }
+
+        /**
+         * Reads the log of the pod, skips the lines that were already read from the same container before reconnecting.
+         */
+        private void read(Pod pod, String identity, long skip) {
+            final String podName = pod.getMetadata().getName();
+            final String container = pod.getSpec().getContainers().get(0).getName();
+            try (LogWatch watch = OpenShiftUtils.getInstance().pods().withName(podName).inContainer(container).watchLog()) {
+                synchronized (this) {
+                    if (stopped || !identity.equals(podIdentity)) {
+                        return;
+                    }
+                    logWatch = watch;
+                }
+                log.debug("Following log of pod {}", podName);
+                try (BufferedReader br = new BufferedReader(new InputStreamReader(watch.getOutput(), StandardCharsets.UTF_8))) {
+                    String line;
+                    long index = 0;
+                    while ((line = br.readLine()) != null) {
+                        if (index++ >= skip && !append(identity, line)) {
+                            return;
+                        }
+                    }
+                }
+            } catch (IOException | KubernetesClientException e) {
+                if (!stopped) {
+                    log.debug("Following log of pod {} interrupted: {}", podName, e.getMessage());
+                }
+            } finally {
+                synchronized (this) {
+                    logWatch = null;
+                }
+            }
+        }
+
+        /**
+         * Appends the line to the buffer and completes the matchers it matches.
+         *
+         * @return false if the line belongs to a container that is not followed anymore
+         */
+        private synchronized boolean append(String identity, String line) {
+            if (stopped || !identity.equals(podIdentity)) {
+                return false;
+            }
+            linesRead++;
+            lines.addLast(line);
+            if (lines.size() > capacity) {
+                lines.removeFirst();
+                linesDropped++;
+            }
+            matchers.entrySet().removeIf(e -> {
+                if (e.getKey().offer(line)) {
+                    e.getValue().complete(line);
+                    return true;
+                }
+                return false;
+            });
+            return true;
+        }
+
+        /**
+         * Switches to the current pod right away, so that the caller doesn't see the log of the pod that was just replaced.
+         */
+        private void ensureCurrentPod() {
+            final Optional<Pod> pod = findRunningPod(podPartialName);
+            if (pod.isPresent()) {
+                synchronized (this) {
+                    switchTo(identity(pod.get()));
+                }
+            }
+        }
+
+        private void switchTo(String identity) {
+            if (identity.equals(podIdentity)) {
+                return;
+            }
+            if (podIdentity != null) {
+                log.debug("Pod {} was replaced or restarted, following the log of the new container", podPartialName);
+            }
+            podIdentity = identity;
+            lines.clear();
+            linesRead = 0;
+            linesDropped = 0;
+            matchers.keySet().forEach(LogMatcher::reset);
+            closeWatch();
+        }
+
+        private void closeWatch() {
+            if (logWatch != null) {
+                logWatch.close();
+                logWatch = null;
+            }
+        }
+
+        private void stop() {
+            synchronized (this) {
+                stopped = true;
+                closeWatch();
+                matchers.values().forEach(future -> future.cancel(false));
+                matchers.clear();
+            }
+            reader.interrupt();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package io.syndesis.qe.utils;
+
+import io.syndesis.qe.wait.AdaptiveInterval;
+import io.syndesis.qe.wait.OpenShiftWatchEngine;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntPredicate;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.LocalPortForward;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Central registry of the port-forwards to the pods in the test namespace.
+ * <p>
+ * A forward is identified by the pod name prefix and the remote port and it is shared by all its consumers. The local port is chosen
+ * by the system, unless a fixed port is requested. Before each use, {@link Forward#ensureAlive()} checks in the watch-backed pod cache
+ * that the forwarded pod is still the running pod with given prefix and that the forward is alive. If not, the forward is
+ * re-established to the current pod and its readiness is probed with an exponential back-off.
+ */
+@Slf4j
+public final class PortForwardManager {
+    private static final long PROBE_INITIAL_INTERVAL_MS = 100L;
+    private static final long PROBE_MAX_INTERVAL_MS = 5000L;
+    private static final double PROBE_BACKOFF_FACTOR = 2.0;
+    private static final long PROBE_TIMEOUT_MS = 60000L;
+    private static final int CONNECT_TIMEOUT_MS = 1000;
+
+    private static final Map<String, Forward> FORWARDS = new ConcurrentHashMap<>();
+
+    private PortForwardManager() {
+    }
+
+    /**
+     * Gets the shared forward to a free local port.
+     *
+     * @param podNamePrefix prefix of the pod name
+     * @param remotePort port in the pod
+     * @return forward, the caller should invoke {@link Forward#release()} when it doesn't need it anymore
+     */
+    public static Forward forward(String podNamePrefix, int remotePort) {
+        return forward(podNamePrefix, remotePort, 0, null);
+    }
+
+    /**
+     * Gets the shared forward.
+     *
+     * @param podNamePrefix prefix of the pod name
+     * @param remotePort port in the pod
+     * @param localPort local port, 0 to use any free port
+     * @param readinessProbe probe invoked with the local port, if null, the forward is ready when it accepts connections
+     * @return forward, the caller should invoke {@link Forward#release()} when it doesn't need it anymore
+     */
+    public static Forward forward(String podNamePrefix, int remotePort, int localPort, IntPredicate readinessProbe) {
+        // the consumers are counted inside compute, so that the forward can't be released and closed by its last consumer concurrently
+        return FORWARDS.compute(podNamePrefix + ":" + remotePort, (key, existing) -> {
+            final Forward forward = existing != null ? existing
+                : new Forward(key, podNamePrefix, remotePort, localPort, readinessProbe == null ? PortForwardManager::isListening : readinessProbe);
+            forward.consumers++;
+            return forward;
+        });
+    }
+
+    /**
+     * Closes all the forwards.
+     */
+    public static void closeAll() {
+        FORWARDS.values().forEach(Forward::close);
+        FORWARDS.clear();
+    }
+
+    private static boolean isListening(int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), CONNECT_TIMEOUT_MS);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static Optional<Pod> findRunningPod(String podNamePrefix) {
+        return OpenShiftWatchEngine.getPodsByNamePrefix(podNamePrefix).stream()
+            .filter(p -> !p.getMetadata().getName().contains("deploy") && !p.getMetadata().getName().contains("build"))
+            .filter(p -> p.getMetadata().getDeletionTimestamp() == null && "Running".equals(p.getStatus().getPhase()))
+            .findFirst();
+    }
+
+    /**
+     * Port-forward shared by multiple consumers.
+     */
+    public static final class Forward {
+        private final String key;
+        private final String podNamePrefix;
+        private final int remotePort;
+        private final int requestedLocalPort;
+        private final IntPredicate readinessProbe;
+        /**
+         * Number of consumers, accessed only inside {@link ConcurrentHashMap#compute} of its key in {@link #FORWARDS}.
+         */
+        private int consumers;
+
+        private LocalPortForward portForward;
+        private String podUid;
+        @Getter
+        private volatile int localPort;
+
+        private Forward(String key, String podNamePrefix, int remotePort, int requestedLocalPort, IntPredicate readinessProbe) {
+            this.key = key;
+            this.podNamePrefix = podNamePrefix;
+            this.remotePort = remotePort;
+            this.requestedLocalPort = requestedLocalPort;
+            this.localPort = requestedLocalPort;
+            this.readinessProbe = readinessProbe;
+        }
+
+        /**
+         * Makes sure that the forward goes to the current running pod and that it is ready (the readiness probe is invoked on every call),
+         * re-establishes it otherwise.
+         *
+         * @return true if the forward is ready, false if there is no running pod or the forward didn't become ready in time
+         */
+        public synchronized boolean ensureAlive() {
+            final Optional<Pod> pod = findRunningPod(podNamePrefix);
+            if (!pod.isPresent()) {
+                log.warn("No running pod with name prefix {} found", podNamePrefix);
+                closeForward();
+                return false;
+            }
+            if (portForward != null && portForward.isAlive() && pod.get().getMetadata().getUid().equals(podUid)
+                && readinessProbe.test(localPort)) {
+                return true;
+            }
+            if (portForward != null) {
+                log.info("Pod {} was replaced or the port-forward is not working, re-establishing the port-forward", podNamePrefix);
+            }
+            closeForward();
+            establish(pod.get());
+            return awaitReady();
+        }
+
+        /**
+         * Releases the forward. It is closed when the last consumer releases it.
+         */
+        public void release() {
+            final AtomicBoolean last = new AtomicBoolean();
+            FORWARDS.computeIfPresent(key, (k, forward) -> {
+                if (forward != this || --consumers > 0) {
+                    return forward;
+                }
+                last.set(true);
+                return null;
+            });
+            // a forward that is not registered anymore was already closed by closeAll
+            if (last.get()) {
+                close();
+            }
+        }
+
+        private synchronized void close() {
+            closeForward();
+        }
+
+        private void establish(Pod pod) {
+            portForward = requestedLocalPort == 0
+                ? OpenShiftUtils.portForward(pod, remotePort)
+                : OpenShiftUtils.portForward(pod, remotePort, requestedLocalPort);
+            podUid = pod.getMetadata().getUid();
+            localPort = portForward.getLocalPort();
+            log.info("Forwarding localhost:{} to {}:{}", localPort, pod.getMetadata().getName(), remotePort);
+        }
+
+        private boolean awaitReady() {
+            final long start = System.nanoTime();
+            final long deadline = start + TimeUnit.MILLISECONDS.toNanos(PROBE_TIMEOUT_MS);
+            final AdaptiveInterval interval = new AdaptiveInterval(PROBE_INITIAL_INTERVAL_MS, PROBE_MAX_INTERVAL_MS, PROBE_BACKOFF_FACTOR);
+            while (!(portForward.isAlive() && readinessProbe.test(localPort))) {
+                final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    log.error("Port-forward to {}:{} was not ready after {} ms", podNamePrefix, remotePort, PROBE_TIMEOUT_MS);
+                    return false;
+                }
+                TestUtils.sleepIgnoreInterrupt(interval.next(remaining));
+            }
+            log.debug("Port-forward to {}:{} ready after {} ms", podNamePrefix, remotePort,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return true;
+        }
+
+        private void closeForward() {
+            OpenShiftUtils.terminateLocalPortForward(portForward);
+            portForward = null;
+            podUid = null;
+        }
+    }
+}
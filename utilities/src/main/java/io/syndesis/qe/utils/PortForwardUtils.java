@@ -5,57 +5,40 @@ import io.syndesis.qe.endpoint.Constants;
 import io.syndesis.qe.utils.http.HTTPResponse;
 import io.syndesis.qe.utils.http.HTTPUtils;
 
-import java.io.IOException;
-
-import io.fabric8.kubernetes.client.LocalPortForward;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Utility class for Rest client (RestEasy).
+ * <p>
+ * The port-forward to syndesis-server is managed by {@link PortForwardManager}, so it is re-established automatically when the server pod
+ * is replaced.
  *
  * @author jknetl
  */
 @Slf4j
 public final class PortForwardUtils {
-    private static LocalPortForward localPortForward = null;
-
+    private static final int SERVER_PORT = 8080;
     private static final String CHECK_URL = Constants.LOCAL_REST_URL + Constants.API_PATH + "/version";
 
+    private static PortForwardManager.Forward serverForward = null;
+
     private PortForwardUtils() {
     }
 
     public static void createOrCheckPortForward() {
-        if (localPortForward == null) {
-            setupLocalPortForward();
-        } else {
-            // Check if the port forward is working
-            if (!isWorking()) {
-                log.error("Port-forward was created, but seems it isn't working, recreating it");
-                setupLocalPortForward();
-            }
+        if (serverForward == null) {
+            log.debug("creating local port forward for pod syndesis-server");
+            // the local port is fixed, because the local rest url is a constant
+            serverForward = PortForwardManager.forward(Component.SERVER.getName(), SERVER_PORT, SERVER_PORT, port -> isWorking());
         }
-    }
-
-    private static void setupLocalPortForward() {
         TestUtils.withRetry(() -> {
-            if (localPortForward != null) {
-                try {
-                    localPortForward.close();
-                    localPortForward = null;
-                } catch (IOException e) {
-                    log.error("Unable to terminate local port forward: ", e);
-                }
-            }
             if (!OpenShiftUtils.podExists(
                 p -> p.getMetadata().getName().contains(Component.SERVER.getName()),
                 p -> !p.getMetadata().getName().contains("deploy"))
             ) {
                 return true;
             }
-            log.debug("creating local port forward for pod syndesis-server");
-            localPortForward = OpenShiftUtils.createLocalPortForward(Component.SERVER.getName(), 8080, 8080);
-            TestUtils.sleepIgnoreInterrupt(30000L);
-            return isWorking();
+            return serverForward.ensureAlive();
         }, 5, 0, "Unable to create working port-forward after 5 tries");
     }
 
@@ -63,14 +46,16 @@ public final class PortForwardUtils {
      * Resets the URL and port-forward.
      */
     public static void reset() {
-        OpenShiftUtils.terminateLocalPortForward(localPortForward);
-        localPortForward = null;
+        if (serverForward != null) {
+            serverForward.release();
+            serverForward = null;
+        }
     }
 
     private static boolean isWorking() {
         HTTPResponse response = null;
         try {
-            response = HTTPUtils.doGetRequest(CHECK_URL, null, false);
+            response = HTTPUtils.doGetRequest(CHECK_URL, null, false, HTTPUtils.Timeout.SHORT);
         } catch (Exception ex) {
             log.debug("Exception while waiting for port forward: " + ex);
         }
@@ -0,0 +1,188 @@
+package io.syndesis.qe.utils;
+
+import io.syndesis.qe.wait.AdaptiveInterval;
+import io.syndesis.qe.wait.WaitStatistics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Watches the content of a remote directory (FTP / SFTP directory, S3 bucket, ...) by diffing its listings.
+ * <p>
+ * The lister returns the map of file name to its version (modification time and size, ETag, ...). Each poll is compared with the last
+ * seen listing, the condition is evaluated only when something changed. The polling interval grows while the directory doesn't change
+ * and starts from the shortest interval again after each change, as the integrations usually write several files shortly after each other.
+ */
+@Slf4j
+public class RemoteDirectoryWatcher {
+    private static final long INITIAL_INTERVAL_MS = 500L;
+    private static final long MAX_INTERVAL_MS = 15000L;
+    private static final double BACKOFF_FACTOR = 1.5;
+    /**
+     * Time between the two listings that have to show the same version of the file for it to be considered completely written.
+     */
+    private static final long STABLE_INTERVAL_MS = 1000L;
+
+    private final String name;
+    private final Supplier<Map<String, String>> lister;
+    private Map<String, String> lastSeen;
+
+    /**
+     * Constructor.
+     *
+     * @param name name of the watched directory, used in logs
+     * @param lister lists the directory, returns the map of file name to its version
+     */
+    public RemoteDirectoryWatcher(String name, Supplier<Map<String, String>> lister) {
+        this.name = name;
+        this.lister = lister;
+    }
+
+    /**
+     * Waits until the file is present in the directory.
+     *
+     * @param fileName file name
+     * @param timeoutMs timeout
+     * @return true if the file is present
+     */
+    public boolean awaitFile(String fileName, long timeoutMs) {
+        return await("file " + fileName + " present", files -> files.containsKey(fileName), timeoutMs);
+    }
+
+    /**
+     * Waits until the file is not present in the directory.
+     *
+     * @param fileName file name
+     * @param timeoutMs timeout
+     * @return true if the file is not present
+     */
+    public boolean awaitNoFile(String fileName, long timeoutMs) {
+        return await("file " + fileName + " not present", files -> !files.containsKey(fileName), timeoutMs);
+    }
+
+    /**
+     * Waits until the file is created or modified compared to the last listing (a new listing is done if there is none).
+     *
+     * @param fileName file name
+     * @param timeoutMs timeout
+     * @return true if the file was created or modified
+     */
+    public boolean awaitModified(String fileName, long timeoutMs) {
+        final String version = getFiles().get(fileName);
+        return await("file " + fileName + " modified", files -> files.containsKey(fileName) && !Objects.equals(version, files.get(fileName)),
+            timeoutMs);
+    }
+
+    /**
+     * Waits until the file is present and its version is the same in two consecutive listings, so that it is not being written anymore.
+     *
+     * @param fileName file name
+     * @param timeoutMs timeout
+     * @return true if the file is present and stable
+     */
+    public boolean awaitStable(String fileName, long timeoutMs) {
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        if (!awaitFile(fileName, timeoutMs)) {
+            return false;
+        }
+        int polls = 0;
+        boolean stable = false;
+        while (!stable) {
+            final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                break;
+            }
+            final String version = lastSeen.get(fileName);
+            TestUtils.sleepIgnoreInterrupt(Math.min(STABLE_INTERVAL_MS, remaining));
+            polls++;
+            poll();
+            stable = version != null && version.equals(lastSeen.get(fileName));
+        }
+        log.debug("Watching {}: file {} {} after {} listings", name, fileName, stable ? "stable" : "still changing", polls);
+        WaitStatistics.record("RemoteDirectoryWatcher", start, polls, stable);
+        return stable;
+    }
+
+    /**
+     * Waits until the listing of the directory satisfies the condition.
+     *
+     * @param description description of the condition
+     * @param condition condition on the map of file name to its version
+     * @param timeoutMs timeout
+     * @return true if the condition was satisfied
+     */
+    public boolean await(String description, Predicate<Map<String, String>> condition, long timeoutMs) {
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        AdaptiveInterval interval = new AdaptiveInterval(INITIAL_INTERVAL_MS, MAX_INTERVAL_MS, BACKOFF_FACTOR);
+        int polls = 1;
+        poll();
+        boolean satisfied = condition.test(lastSeen);
+        while (!satisfied) {
+            final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                break;
+            }
+            TestUtils.sleepIgnoreInterrupt(interval.next(remaining));
+            polls++;
+            if (poll()) {
+                interval = new AdaptiveInterval(INITIAL_INTERVAL_MS, MAX_INTERVAL_MS, BACKOFF_FACTOR);
+                satisfied = condition.test(lastSeen);
+            }
+        }
+        log.debug("Watching {}: {} {} after {} listings", name, description, satisfied ? "satisfied" : "timed out", polls);
+        WaitStatistics.record("RemoteDirectoryWatcher", start, polls, satisfied);
+        return satisfied;
+    }
+
+    /**
+     * Returns the last seen listing, lists the directory if it wasn't listed yet.
+     *
+     * @return map of file name to its version
+     */
+    public Map<String, String> getFiles() {
+        if (lastSeen == null) {
+            poll();
+        }
+        return Collections.unmodifiableMap(lastSeen);
+    }
+
+    /**
+     * Lists the directory and compares the listing with the last seen one.
+     *
+     * @return true if this is the first listing or if anything changed
+     */
+    private boolean poll() {
+        final Map<String, String> current = lister.get();
+        if (lastSeen == null) {
+            lastSeen = current;
+            return true;
+        }
+        boolean changed = false;
+        for (Map.Entry<String, String> file : current.entrySet()) {
+            final String previous = lastSeen.get(file.getKey());
+            if (previous == null) {
+                log.debug("{}: {} added", name, file.getKey());
+                changed = true;
+            } else if (!previous.equals(file.getValue())) {
+                log.debug("{}: {} modified", name, file.getKey());
+                changed = true;
+            }
+        }
+        for (String file : lastSeen.keySet()) {
+            if (!current.containsKey(file)) {
+                log.debug("{}: {} removed", name, file);
+                changed = true;
+            }
+        }
+        lastSeen = current;
+        return changed;
+    }
+}
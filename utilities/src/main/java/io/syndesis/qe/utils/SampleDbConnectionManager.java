@@ -7,15 +7,15 @@ import io.syndesis.qe.account.AccountsDirectory;
 
 import org.assertj.core.api.Assertions;
 
+import java.net.InetAddress;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
-import io.fabric8.kubernetes.api.model.Service;
-import io.fabric8.kubernetes.client.LocalPortForward;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -25,17 +25,71 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class SampleDbConnectionManager {
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final int POOL_SIZE = 4;
+    private static final String PREPARED_STATEMENT_CACHE_SIZE = "256";
 
     private static Map<String, DbWrapper> connectionsInfoMap = new HashMap<>();
+    /**
+     * Port-forwards to the databases, they are kept open between the scenarios and re-established when the database pod is replaced.
+     */
+    private static final Map<String, PortForwardManager.Forward> DB_FORWARDS = new ConcurrentHashMap<>();
+    private static final Map<String, DbConnectionPool> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the connection pool for given database type. Unlike {@link #getConnection(String)}, the pool can be used by multiple threads
+     * at once, the borrowed connections need to be closed to return them to the pool.
+     *
+     * @param dbType database type
+     * @return connection pool
+     */
+    public static DbConnectionPool getPool(String dbType) {
+        return POOLS.computeIfAbsent(dbType, type -> new DbConnectionPool(type, () -> openConnection(type), POOL_SIZE));
+    }
+
+    public static void logPoolStats() {
+        POOLS.values().forEach(pool -> log.info("DB connection pool {}: {}", pool.getName(), pool.getStats()));
+    }
+
+    /**
+     * Closes the idle connections in all pools and releases the port-forwards to the databases.
+     */
+    public static void closePools() {
+        POOLS.values().forEach(DbConnectionPool::close);
+        POOLS.clear();
+        DB_FORWARDS.values().forEach(PortForwardManager.Forward::release);
+        DB_FORWARDS.clear();
+    }
+
+    private static Connection openConnection(String dbType) throws SQLException {
+        switch (dbType) {
+            case "postgresql":
+                return createDbConnection(ensurePortForward(dbType, 5432, "syndesis-db"), "postgresql");
+            case "mysql":
+                return createDbConnection(ensurePortForward(dbType, 3306, "mysql"), "mysql");
+            case "oracle12":
+                return createDbConnection(dbType);
+            default:
+                throw new IllegalArgumentException("Unsupported database type " + dbType);
+        }
+    }
+
+    private static int ensurePortForward(String dbType, int remotePort, String podName) {
+        final PortForwardManager.Forward forward = DB_FORWARDS.computeIfAbsent(dbType, type -> PortForwardManager.forward(podName, remotePort));
+        if (!forward.ensureAlive()) {
+            fail("Unable to create port-forward to " + podName);
+        }
+        return forward.getLocalPort();
+    }
 
     public static Connection getConnection(String dbType) {
 
         switch (dbType) {
             case "postgresql":
-                SampleDbConnectionManager.handlePortForwardDatabases(dbType, 5432, 5432, "syndesis-db", "postgresql");
+                SampleDbConnectionManager.handlePortForwardDatabases(dbType, 5432, "syndesis-db", "postgresql");
                 break;
             case "mysql":
-                SampleDbConnectionManager.handlePortForwardDatabases(dbType, 3306, 3306, "mysql", "mysql");
+                SampleDbConnectionManager.handlePortForwardDatabases(dbType, 3306, "mysql", "mysql");
                 break;
             case "oracle12":
                 SampleDbConnectionManager.handleExternalDatabases(dbType);
@@ -70,17 +124,16 @@ public class SampleDbConnectionManager {
         connectionsInfoMap.clear();
     }
 
-    private static void handlePortForwardDatabases(String dbType, int remotePort, int localPort, String podName, String driver) {
+    private static void handlePortForwardDatabases(String dbType, int remotePort, String podName, String driver) {
         //        check whether portForward and connection are alive:
         DbWrapper wrap = SampleDbConnectionManager.getWrap(dbType);
-        if (wrap.getLocalPortForward() == null || !wrap.getLocalPortForward().isAlive()) {
-            LocalPortForward localPortForward = createLocalPortForward(remotePort, localPort, podName);
-            wrap.setLocalPortForward(localPortForward);
-        }
+        final int localPort = ensurePortForward(dbType, remotePort, podName);
 
         try {
-            if (wrap.getDbConnection() == null || wrap.getDbConnection().isClosed()) {
-                Connection dbConnection = SampleDbConnectionManager.createDbConnection(wrap.getLocalPortForward(), localPort, driver);
+            // the connection is not valid when the forward was re-established
+            if (wrap.getDbConnection() == null || wrap.getDbConnection().isClosed()
+                || !wrap.getDbConnection().isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                Connection dbConnection = SampleDbConnectionManager.createDbConnection(localPort, driver);
                 wrap.setDbConnection(dbConnection);
                 connectionsInfoMap.put(driver, wrap);
                 Assertions.assertThat(connectionsInfoMap).containsKey(driver);
@@ -91,23 +144,23 @@ public class SampleDbConnectionManager {
         }
     }
 
-    private static Connection createDbConnection(LocalPortForward localPortForward, int localPort, String driver) throws SQLException {
+    private static Connection createDbConnection(int localPort, String driver) throws SQLException {
 
         final Properties props = new Properties();
+        // let the drivers cache the server-side prepared statements, so that the repeated queries are parsed only once
         if ("mysql".equalsIgnoreCase(driver)) {
             props.setProperty("user", "developer");
             props.setProperty("password", "developer");
+            props.setProperty("useServerPrepStmts", "true");
+            props.setProperty("cachePrepStmts", "true");
+            props.setProperty("prepStmtCacheSize", PREPARED_STATEMENT_CACHE_SIZE);
         } else {
             props.setProperty("user", "sampledb");
+            props.setProperty("prepareThreshold", "1");
+            props.setProperty("preparedStatementCacheQueries", PREPARED_STATEMENT_CACHE_SIZE);
         }
 
-        String dbUrl;
-        try {
-            String hostName = localPortForward.getLocalAddress().getLoopbackAddress().getHostName();
-            dbUrl = String.format("jdbc:%s://%s:%s/sampledb", driver, hostName, localPort);
-        } catch (IllegalStateException ex) {
-            dbUrl = String.format("jdbc:%s://%s:%s/sampledb", driver, "127.0.0.1", localPort);
-        }
+        String dbUrl = String.format("jdbc:%s://%s:%s/sampledb", driver, InetAddress.getLoopbackAddress().getHostName(), localPort);
         if ("mysql".equalsIgnoreCase(driver)) {
             dbUrl = dbUrl.concat("?useSSL=false");
         }
@@ -134,13 +187,6 @@ public class SampleDbConnectionManager {
         return null;
     }
 
-    private static LocalPortForward createLocalPortForward(int remotePort, int localPort, String name) {
-        final Service service = OpenShiftUtils.getInstance().services().list().getItems().stream()
-            .filter(s -> s.getMetadata().getName().startsWith(name)).findFirst()
-            .orElseThrow(() -> new IllegalArgumentException("No service with name " + name + " found"));
-        return OpenShiftUtils.getInstance().services().withName(service.getMetadata().getName()).portForward(remotePort, localPort);
-    }
-
     private static void releaseDbWrapper(DbWrapper wrap) {
 
         try {
@@ -154,8 +200,6 @@ public class SampleDbConnectionManager {
         } catch (SQLException ex) {
             log.error("Error: " + ex);
         }
-
-        OpenShiftUtils.terminateLocalPortForward(wrap.getLocalPortForward());
     }
 
     private static DbWrapper getWrap(String dbType) {
@@ -11,16 +11,21 @@ import io.syndesis.qe.endpoint.IntegrationOverviewEndpoint;
 import io.syndesis.qe.endpoint.model.IntegrationOverview;
 import io.syndesis.qe.utils.dballoc.DBAllocation;
 import io.syndesis.qe.utils.http.HTTPUtils;
+import io.syndesis.qe.wait.AdaptiveInterval;
 import io.syndesis.qe.wait.OpenShiftWaitUtils;
+import io.syndesis.qe.wait.WaitStatistics;
 
 import org.apache.commons.io.FileUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BooleanSupplier;
@@ -41,32 +46,36 @@ public final class TestUtils {
 
     /**
      * Waits until a predicate is true or timeout exceeds.
+     * <p>
+     * The predicate is tested often at the beginning and the interval grows up to the given sleep time.
      *
      * @param predicate predicate
      * @param supplier supplier of values to test by predicate
      * @param unit TimeUnit for timeout
      * @param timeout how long to wait for event
      * @param sleepUnit TimeUnit of sleep interval between tests
-     * @param sleepTime how long to wait between individual tests (in miliseconds)
+     * @param sleepTime maximum time to wait between individual tests
      * @param <T> Type of tested value by a predicate
      * @return True if predicate become true within a timeout, otherwise returns false.
      */
     public static <T> boolean waitForEvent(Predicate<T> predicate, Supplier<T> supplier, TimeUnit unit, long timeout, TimeUnit sleepUnit,
         long sleepTime) {
-        final long start = System.currentTimeMillis();
-        long elapsed = 0;
-        while (!predicate.test(supplier.get()) && unit.toMillis(timeout) >= elapsed) {
+        final long start = System.nanoTime();
+        final long deadline = start + unit.toNanos(timeout);
+        final AdaptiveInterval interval = new AdaptiveInterval(sleepUnit.toMillis(sleepTime));
+        int polls = 1;
+        boolean result = predicate.test(supplier.get());
+        while (!result && System.nanoTime() - deadline <= 0) {
             try {
-                sleepUnit.sleep(sleepTime);
+                TimeUnit.MILLISECONDS.sleep(interval.next(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
             } catch (InterruptedException e) {
                 log.debug("Interupted while sleeping", e);
-            } finally {
-                elapsed = System.currentTimeMillis() - start;
-                System.gc();
             }
+            polls++;
+            result = predicate.test(supplier.get());
         }
-
-        return predicate.test(supplier.get());
+        WaitStatistics.record("TestUtils.waitForEvent", start, polls, result);
+        return result;
     }
 
     public static boolean waitForPublishing(IntegrationOverviewEndpoint e, IntegrationOverview i, TimeUnit unit, long timeout) {
@@ -99,6 +108,34 @@ public final class TestUtils {
         );
     }
 
+    /**
+     * Waits until all given integrations reach a specified state or timeout exceeds. The state of all integrations is obtained
+     * by a single call in each poll.
+     *
+     * @param e Integration endpoint to obtain current states
+     * @param integrationIds integration ids
+     * @param state desired integration state
+     * @param unit Time unit
+     * @param timeout timeout
+     * @return ids of the integrations that didn't reach the state within a timeout, empty if all of them did
+     */
+    public static Set<String> waitForStates(IntegrationOverviewEndpoint e, Collection<String> integrationIds, IntegrationDeploymentState state,
+        TimeUnit unit, long timeout) {
+        final Set<String> pending = new HashSet<>(integrationIds);
+        waitForEvent(
+            Set::isEmpty,
+            () -> {
+                e.getOverviews().stream().filter(i -> i.getCurrentState() == state).map(IntegrationOverview::getId).forEach(pending::remove);
+                return pending;
+            },
+            unit,
+            timeout,
+            TimeUnit.SECONDS,
+            10
+        );
+        return pending;
+    }
+
     private static Optional<IntegrationOverview> getIntegration(IntegrationOverviewEndpoint e, String integrationId) {
         return Optional.of(e.getOverview(integrationId));
     }
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.fail;
 
 import io.syndesis.qe.account.Account;
 import io.syndesis.qe.account.AccountsDirectory;
+import io.syndesis.qe.utils.RemoteDirectoryWatcher;
 
 import org.apache.commons.io.IOUtils;
 import org.springframework.context.annotation.Lazy;
@@ -20,7 +21,9 @@ import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -136,6 +139,30 @@ public class S3Utils {
         return s3client.listObjectsV2(b -> b.bucket(bucketName)).contents().stream().anyMatch(o -> fileName.equals(o.key()));
     }
 
+    /**
+     * Lists the objects in the bucket.
+     *
+     * @param bucketName bucket name
+     * @param prefix key prefix, use it to limit the listing of large buckets, may be null
+     * @return map of object key to its ETag
+     */
+    public Map<String, String> listObjects(String bucketName, String prefix) {
+        final Map<String, String> objects = new HashMap<>();
+        s3client.listObjectsV2Paginator(b -> b.bucket(bucketName).prefix(prefix)).contents().forEach(o -> objects.put(o.key(), String.valueOf(o.eTag())));
+        return objects;
+    }
+
+    /**
+     * Creates the watcher of the objects in the bucket.
+     *
+     * @param bucketName bucket name
+     * @param prefix key prefix, use it to limit the listing of large buckets, may be null
+     * @return watcher
+     */
+    public RemoteDirectoryWatcher watchBucket(String bucketName, String prefix) {
+        return new RemoteDirectoryWatcher(bucketName, () -> listObjects(bucketName, prefix));
+    }
+
     /**
      * Gets specified text file content from specified S3 bucket.
      *
@@ -10,9 +10,18 @@ import javax.net.ssl.X509TrustManager;
 import java.io.IOException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -20,12 +29,42 @@ import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 
+/**
+ * Simple HTTP client.
+ * <p>
+ * All requests share one trust-all client, so the connections are kept alive and reused between the requests. The clients
+ * with different timeouts (see {@link Timeout}) are derived from the shared one, so they share its connection pool and dispatcher.
+ */
 @Slf4j
 public final class HTTPUtils {
     public enum Method {
         GET, POST, PUT, DELETE
     }
 
+    /**
+     * Timeout profiles for the connect, read and write timeouts.
+     */
+    public enum Timeout {
+        SHORT(5),
+        DEFAULT(30),
+        LONG(120);
+
+        @Getter
+        private final long seconds;
+
+        Timeout(long seconds) {
+            this.seconds = seconds;
+        }
+    }
+
+    private static final int MAX_IDLE_CONNECTIONS = 10;
+    private static final long KEEP_ALIVE_MINUTES = 5L;
+    private static final int MAX_REQUESTS = 64;
+    private static final int MAX_REQUESTS_PER_HOST = 16;
+
+    private static final Map<Timeout, OkHttpClient> CLIENTS = new ConcurrentHashMap<>();
+    private static OkHttpClient client;
+
     private HTTPUtils() {
     }
 
@@ -47,15 +86,12 @@ public final class HTTPUtils {
     }
 
     private static HTTPResponse doRequest(Request request, boolean doLog) {
+        return doRequest(request, doLog, Timeout.DEFAULT);
+    }
+
+    private static HTTPResponse doRequest(Request request, boolean doLog, Timeout timeout) {
         try {
-            Response r = getClient().newCall(request).execute();
-            if (r.body() != null) {
-                return new HTTPResponse(r.body().string(), r.code());
-            } else {
-                int response = r.code();
-                r.close();
-                return new HTTPResponse(null, response);
-            }
+            return toHttpResponse(getClient(timeout).newCall(request).execute());
         } catch (IOException e) {
             if (doLog) {
                 log.error("Request invocation failed!", e);
@@ -86,6 +122,10 @@ public final class HTTPUtils {
     }
 
     public static HTTPResponse doGetRequest(String url, Headers headers, boolean doLog) {
+        return doGetRequest(url, headers, doLog, Timeout.DEFAULT);
+    }
+
+    public static HTTPResponse doGetRequest(String url, Headers headers, boolean doLog, Timeout timeout) {
         Request.Builder requestBuilder = new Request.Builder()
             .url(url)
             .get();
@@ -93,7 +133,7 @@ public final class HTTPUtils {
             requestBuilder.headers(headers);
         }
 
-        return doRequest(requestBuilder.build(), doLog);
+        return doRequest(requestBuilder.build(), doLog, timeout);
     }
 
     public static HTTPResponse doDeleteRequest(String url) {
@@ -137,11 +177,21 @@ public final class HTTPUtils {
      * @return true if there is any response, false if there is an exception raised
      */
     public static boolean isReachable(String url) {
+        return isReachable(url, Timeout.DEFAULT);
+    }
+
+    /**
+     * Check if the url is reachable within the given timeout.
+     * @param url url to check
+     * @param timeout timeout profile to use
+     * @return true if there is any response, false if there is an exception raised
+     */
+    public static boolean isReachable(String url, Timeout timeout) {
         Request.Builder requestBuilder = new Request.Builder()
             .url(url)
             .get();
         try {
-            Response r = getClient().newCall(requestBuilder.build()).execute();
+            Response r = getClient(timeout).newCall(requestBuilder.build()).execute();
             // Close the body to prevent leaked connections
             if (r.body() != null) {
                 r.body().close();
@@ -152,7 +202,125 @@ public final class HTTPUtils {
         }
     }
 
-    private static OkHttpClient getClient() {
+    /**
+     * Invokes the GET request without reading the response body into memory.
+     * @param url url
+     * @param headers headers, may be null
+     * @return streaming response that needs to be closed
+     */
+    public static StreamingHTTPResponse doGetRequestStreaming(String url, Headers headers) {
+        Request.Builder requestBuilder = new Request.Builder()
+            .url(url)
+            .get();
+        if (headers != null) {
+            requestBuilder.headers(headers);
+        }
+
+        return doRequestStreaming(requestBuilder.build(), Timeout.LONG);
+    }
+
+    /**
+     * Invokes the request without reading the response body into memory.
+     * @param request request to invoke
+     * @param timeout timeout profile to use
+     * @return streaming response that needs to be closed
+     */
+    public static StreamingHTTPResponse doRequestStreaming(Request request, Timeout timeout) {
+        try {
+            return new StreamingHTTPResponse(getClient(timeout).newCall(request).execute());
+        } catch (IOException e) {
+            fail("Request invocation failed", e);
+        }
+        return null;
+    }
+
+    public static CompletableFuture<HTTPResponse> doGetRequestAsync(String url, Headers headers) {
+        Request.Builder requestBuilder = new Request.Builder()
+            .url(url)
+            .get();
+        if (headers != null) {
+            requestBuilder.headers(headers);
+        }
+
+        return doRequestAsync(requestBuilder.build());
+    }
+
+    public static CompletableFuture<HTTPResponse> doPostRequestAsync(String url, String content, String contentType, Headers headers) {
+        Request.Builder requestBuilder = new Request.Builder()
+            .url(url)
+            .post(RequestBody.create(MediaType.parse(contentType), content));
+        if (headers != null) {
+            requestBuilder.headers(headers);
+        }
+
+        return doRequestAsync(requestBuilder.build());
+    }
+
+    /**
+     * Enqueues the request to the shared client's dispatcher, so that many requests can be in flight without blocking the calling thread.
+     * @param request request to invoke
+     * @return future completed with the response, or exceptionally if the request invocation failed
+     */
+    public static CompletableFuture<HTTPResponse> doRequestAsync(Request request) {
+        final CompletableFuture<HTTPResponse> future = new CompletableFuture<>();
+        getClient().newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try {
+                    future.complete(toHttpResponse(response));
+                } catch (IOException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Returns the state of the shared connection pool and dispatcher.
+     * @return map with connection and call counts
+     */
+    public static Map<String, Integer> getClientStats() {
+        final Map<String, Integer> stats = new LinkedHashMap<>();
+        final OkHttpClient c = getClient();
+        stats.put("connections", c.connectionPool().connectionCount());
+        stats.put("idleConnections", c.connectionPool().idleConnectionCount());
+        stats.put("runningCalls", c.dispatcher().runningCallsCount());
+        stats.put("queuedCalls", c.dispatcher().queuedCallsCount());
+        return stats;
+    }
+
+    public static void logClientStats() {
+        log.info("HTTP client stats: {}", getClientStats());
+    }
+
+    private static HTTPResponse toHttpResponse(Response r) throws IOException {
+        try (Response response = r) {
+            return new HTTPResponse(response.body() != null ? response.body().string() : null, response.code());
+        }
+    }
+
+    private static OkHttpClient getClient(Timeout timeout) {
+        return CLIENTS.computeIfAbsent(timeout, t -> getClient().newBuilder()
+            .connectTimeout(t.getSeconds(), TimeUnit.SECONDS)
+            .writeTimeout(t.getSeconds(), TimeUnit.SECONDS)
+            .readTimeout(t.getSeconds(), TimeUnit.SECONDS)
+            .build());
+    }
+
+    private static synchronized OkHttpClient getClient() {
+        if (client == null) {
+            client = createClient();
+        }
+        return client;
+    }
+
+    private static OkHttpClient createClient() {
         // Create a trust manager that does not validate certificate chains
         final TrustManager[] trustAllCerts = new TrustManager[] {
             new X509TrustManager() {
@@ -177,13 +345,18 @@ public final class HTTPUtils {
             sslContext = SSLContext.getInstance("SSL");
             sslContext.init(null, trustAllCerts, new java.security.SecureRandom());
             final SSLSocketFactory sslSocketFactory = sslContext.getSocketFactory();
+            final Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(MAX_REQUESTS);
+            dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
             OkHttpClient.Builder builder = new OkHttpClient.Builder();
             builder.sslSocketFactory(sslSocketFactory, (X509TrustManager) trustAllCerts[0]);
             builder.hostnameVerifier((hostname, session) -> true);
             return builder
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .dispatcher(dispatcher)
+                .connectTimeout(Timeout.DEFAULT.getSeconds(), TimeUnit.SECONDS)
+                .writeTimeout(Timeout.DEFAULT.getSeconds(), TimeUnit.SECONDS)
+                .readTimeout(Timeout.DEFAULT.getSeconds(), TimeUnit.SECONDS)
                 .build();
         } catch (NoSuchAlgorithmException | KeyManagementException e) {
             fail("Error while creating Http client", e);
@@ -0,0 +1,183 @@
+package io.syndesis.qe.utils.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Predicate;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.ByteString;
+import okio.Okio;
+
+/**
+ * Streaming wrapper for {@link okhttp3.Response}.
+ * <p>
+ * Unlike {@link HTTPResponse}, the body is not read into memory. It can be consumed only once - as a stream, as a string, written to a file
+ * or digested. The response holds the connection until it is closed, so use it in try-with-resources.
+ */
+@Slf4j
+public class StreamingHTTPResponse implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int LOGGED_BODY_LENGTH = 1000;
+
+    private final Response response;
+    @Getter
+    private final int code;
+    private String body;
+    private boolean consumed;
+
+    StreamingHTTPResponse(Response response) {
+        log.debug("Response code: " + response.code());
+        this.response = response;
+        this.code = response.code();
+    }
+
+    public Headers getHeaders() {
+        return response.headers();
+    }
+
+    /**
+     * Returns the content length from the response headers.
+     *
+     * @return content length or -1 if unknown
+     */
+    public long getContentLength() {
+        return response.body() == null ? -1 : response.body().contentLength();
+    }
+
+    public BufferedSource getSource() {
+        if (consumed) {
+            throw new IllegalStateException("Response body was already consumed");
+        }
+        consumed = true;
+        return response.body().source();
+    }
+
+    public InputStream getStream() {
+        return getSource().inputStream();
+    }
+
+    /**
+     * Returns the body as a reader using the charset from the content type (UTF-8 by default), for parsers that can read from a stream.
+     *
+     * @return body reader
+     */
+    public Reader getReader() {
+        return new InputStreamReader(getStream(), charset());
+    }
+
+    /**
+     * Reads the body line by line until a line matching the predicate is found. The lines are not kept in memory.
+     *
+     * @param predicate line predicate
+     * @return true if any line matched
+     */
+    public boolean anyLineMatches(Predicate<String> predicate) {
+        final BufferedSource source = getSource();
+        try {
+            String line;
+            while ((line = source.readUtf8Line()) != null) {
+                if (predicate.test(line)) {
+                    return true;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read response body", e);
+        }
+        return false;
+    }
+
+    /**
+     * Reads the body to string on the first invocation.
+     *
+     * @return body as string
+     */
+    public String getBody() {
+        if (body == null) {
+            try {
+                body = getSource().readString(charset());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read response body", e);
+            }
+            log.debug("Response body ({} chars): {}", body.length(), StringUtils.abbreviate(body, LOGGED_BODY_LENGTH));
+        }
+        return body;
+    }
+
+    /**
+     * Streams the body to the given file.
+     *
+     * @param target target file
+     * @return number of bytes written
+     */
+    public long writeTo(Path target) {
+        try (BufferedSink sink = Okio.buffer(Okio.sink(target))) {
+            return sink.writeAll(getSource());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write response body to " + target, e);
+        }
+    }
+
+    /**
+     * Computes the digest of the body without keeping the body in memory.
+     *
+     * @param algorithm digest algorithm, for example SHA-256
+     * @return hex encoded digest
+     */
+    public String digest(String algorithm) {
+        final MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported digest algorithm " + algorithm, e);
+        }
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream is = getStream()) {
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read response body", e);
+        }
+        return ByteString.of(messageDigest.digest()).hex();
+    }
+
+    /**
+     * Asserts that the digest of the body is equal to the expected one.
+     *
+     * @param algorithm digest algorithm, for example SHA-256
+     * @param expected expected hex encoded digest
+     */
+    public void assertDigest(String algorithm, String expected) {
+        assertThat(digest(algorithm)).as("%s digest of the response body", algorithm).isEqualToIgnoringCase(expected);
+    }
+
+    private Charset charset() {
+        final MediaType contentType = response.body().contentType();
+        return contentType == null ? StandardCharsets.UTF_8 : contentType.charset(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+}
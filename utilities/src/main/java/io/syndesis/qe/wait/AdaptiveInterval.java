@@ -0,0 +1,50 @@
+package io.syndesis.qe.wait;
+
+/**
+ * Polling interval that starts short and grows with each poll up to the configured maximum.
+ * <p>
+ * Most of the conditions are fulfilled either almost immediately or after a long time, so polling fast at the beginning shortens the
+ * first case and backing off keeps the load low in the second case.
+ */
+public class AdaptiveInterval {
+    private static final long INITIAL_INTERVAL_MS = 500L;
+    private static final double BACKOFF_FACTOR = 1.5;
+
+    private final long maxIntervalMs;
+    private final double backoffFactor;
+    private long currentMs;
+
+    /**
+     * Constructor.
+     *
+     * @param maxIntervalMs maximum interval, usually the interval previously used for the fixed polling
+     */
+    public AdaptiveInterval(long maxIntervalMs) {
+        this(INITIAL_INTERVAL_MS, maxIntervalMs, BACKOFF_FACTOR);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param initialIntervalMs first interval
+     * @param maxIntervalMs maximum interval
+     * @param backoffFactor factor by which the interval grows with each poll
+     */
+    public AdaptiveInterval(long initialIntervalMs, long maxIntervalMs, double backoffFactor) {
+        this.maxIntervalMs = maxIntervalMs;
+        this.backoffFactor = backoffFactor;
+        this.currentMs = Math.min(initialIntervalMs, maxIntervalMs);
+    }
+
+    /**
+     * Returns the next interval, but at most the remaining time (and at least 1 ms).
+     *
+     * @param remainingMs time remaining until the timeout
+     * @return interval in milliseconds
+     */
+    public long next(long remainingMs) {
+        final long interval = currentMs;
+        currentMs = Math.min(maxIntervalMs, (long) Math.ceil(currentMs * backoffFactor));
+        return Math.max(1L, Math.min(interval, remainingMs));
+    }
+}
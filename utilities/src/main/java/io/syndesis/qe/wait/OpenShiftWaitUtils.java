@@ -9,6 +9,7 @@ import io.syndesis.qe.utils.TestUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BooleanSupplier;
@@ -23,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class OpenShiftWaitUtils {
     private static final long DEFAULT_WAIT_INTERVAL = 1000L; // one second
+    private static final String WAIT_KIND = "OpenShiftWaitUtils.waitFor";
 
     public static boolean isPodReady(Pod pod) {
         if (pod.getStatus().getConditions() != null) {
@@ -61,11 +63,11 @@ public class OpenShiftWaitUtils {
     }
 
     private static boolean _areExactlyNPodsRunning(Predicate<Pod> podFilter, int n) {
-        return OpenShiftUtils.getInstance().getPods().stream().filter(podFilter).filter(OpenShiftWaitUtils::isPodRunning).count() == n;
+        return OpenShiftWatchEngine.getPods().stream().filter(podFilter).filter(OpenShiftWaitUtils::isPodRunning).count() == n;
     }
 
     private static boolean _areExactlyNPods(Predicate<Pod> podFilter, int n) {
-        return OpenShiftUtils.getInstance().getPods().stream().filter(podFilter).count() == n;
+        return OpenShiftWatchEngine.getPods().stream().filter(podFilter).count() == n;
     }
 
     public static BooleanSupplier areExactlyNPods(String podPartialName, int n) {
@@ -73,15 +75,15 @@ public class OpenShiftWaitUtils {
     }
 
     private static boolean _areNPodsReady(Predicate<Pod> podFilter, int n) {
-        return OpenShiftUtils.getInstance().getPods().stream().filter(podFilter).filter(OpenShiftWaitUtils::isPodReady).count() >= n;
+        return OpenShiftWatchEngine.getPods().stream().filter(podFilter).filter(OpenShiftWaitUtils::isPodReady).count() >= n;
     }
 
     private static boolean _areExactlyNPodsReady(Predicate<Pod> podFilter, int n) {
-        return OpenShiftUtils.getInstance().getPods().stream().filter(podFilter).filter(OpenShiftWaitUtils::isPodReady).count() == n;
+        return OpenShiftWatchEngine.getPods().stream().filter(podFilter).filter(OpenShiftWaitUtils::isPodReady).count() == n;
     }
 
     private static boolean hasAnyPodRestarted(Predicate<Pod> podFilter) {
-        return OpenShiftUtils.getInstance().getPods().stream().filter(podFilter).filter(OpenShiftWaitUtils::hasPodRestarted).count() > 0;
+        return OpenShiftWatchEngine.getPods().stream().filter(podFilter).filter(OpenShiftWaitUtils::hasPodRestarted).count() > 0;
     }
 
     public static boolean isAPodReady(Predicate<Pod> podFilter) {
@@ -125,11 +127,12 @@ public class OpenShiftWaitUtils {
     }
 
     public static BooleanSupplier areNoPodsPresent(final String appName) {
-        return () -> OpenShiftUtils.getInstance().getLabeledPods("syndesis.io/component", appName).size() == 0;
+        return areNoPodsPresent(pod -> pod.getMetadata().getLabels() != null
+            && appName.equals(pod.getMetadata().getLabels().get("syndesis.io/component")));
     }
 
     public static BooleanSupplier areNoPodsPresent(Predicate<Pod> podFilter) {
-        return () -> OpenShiftUtils.getInstance().getPods().stream().filter(podFilter).count() == 0;
+        return () -> OpenShiftWatchEngine.getPods().stream().filter(podFilter).count() == 0;
     }
 
     public static BooleanSupplier hasPodRestarted(String appName) {
@@ -145,7 +148,7 @@ public class OpenShiftWaitUtils {
     }
 
     public static BooleanSupplier hasPodRestartedAtLeastNTimes(Predicate<Pod> podFilter, int n) {
-        return () -> OpenShiftUtils.getInstance().getPods().stream().filter(podFilter)
+        return () -> OpenShiftWatchEngine.getPods().stream().filter(podFilter)
             .filter(p -> OpenShiftWaitUtils.hasPodRestartedAtLeastNTimes(p, n)).count() > 0;
     }
 
@@ -165,49 +168,66 @@ public class OpenShiftWaitUtils {
 
     public static <X> boolean waitFor(Supplier<X> supplier, Function<X, Boolean> trueCondition, Function<X, Boolean> failCondition, long interval,
         long timeout) throws InterruptedException, TimeoutException {
-        timeout = System.currentTimeMillis() + timeout;
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeout);
+        final AdaptiveInterval adaptiveInterval = new AdaptiveInterval(interval);
+        int polls = 0;
 
-        while (System.currentTimeMillis() < timeout) {
+        while (System.nanoTime() - deadline < 0) {
+            final long changeVersion = OpenShiftWatchEngine.version();
 
             X x = supplier.get();
+            polls++;
 
             if (failCondition != null && failCondition.apply(x)) {
+                WaitStatistics.record(WAIT_KIND, start, polls, false);
                 return false;
             }
 
             if (trueCondition.apply(x)) {
+                WaitStatistics.record(WAIT_KIND, start, polls, true);
                 return true;
             }
 
-            log.info("Condition was not fulfilled, sleeping for " + interval);
-            Thread.sleep(interval);
+            final long sleep = adaptiveInterval.next(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            log.info("Condition was not fulfilled, sleeping for " + sleep);
+            OpenShiftWatchEngine.awaitChange(changeVersion, sleep);
         }
 
+        WaitStatistics.record(WAIT_KIND, start, polls, false);
         throw new TimeoutException();
     }
 
     public static boolean waitFor(BooleanSupplier condition, BooleanSupplier failCondition, long interval, long timeout)
         throws InterruptedException, TimeoutException {
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeout);
+        final AdaptiveInterval adaptiveInterval = new AdaptiveInterval(interval);
+        int polls = 0;
 
-        timeout = System.currentTimeMillis() + timeout;
-
-        while (System.currentTimeMillis() < timeout) {
+        while (System.nanoTime() - deadline < 0) {
+            final long changeVersion = OpenShiftWatchEngine.version();
+            polls++;
 
             try {
                 if (failCondition != null && failCondition.getAsBoolean()) {
+                    WaitStatistics.record(WAIT_KIND, start, polls, false);
                     return false;
                 }
 
                 if (condition.getAsBoolean()) {
+                    WaitStatistics.record(WAIT_KIND, start, polls, true);
                     return true;
                 }
             } catch (Exception ex) {
                 log.warn("Exception thrown while waiting, ignoring: ", ex);
             }
 
-            Thread.sleep(interval);
+            // wakes up earlier when any pod, deployment config or route changes
+            OpenShiftWatchEngine.awaitChange(changeVersion, adaptiveInterval.next(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
         }
 
+        WaitStatistics.record(WAIT_KIND, start, polls, false);
         throw new TimeoutException();
     }
 
@@ -0,0 +1,181 @@
+package io.syndesis.qe.wait;
+
+import io.syndesis.qe.TestConfiguration;
+import io.syndesis.qe.utils.OpenShiftUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Watch-backed view of the pods and deployment configs in the test namespace used by the wait conditions and by the lookups in
+ * {@link OpenShiftUtils}.
+ * <p>
+ * Every change received from the watches wakes up the threads waiting in {@link #awaitChange(long, long)}, so the wait conditions that
+ * read the watched resources are re-evaluated as soon as something changes instead of on the next poll. Conditions that don't use the
+ * watched resources (REST calls, UI checks, ...) are re-evaluated after the full interval as before. When the watches can't be
+ * established (or are disabled by syndesis.config.wait.watch=false), the lookups fall back to listing the resources and the waiting
+ * to plain sleeping.
+ */
+@Slf4j
+public final class OpenShiftWatchEngine {
+    private static final Object LOCK = new Object();
+    private static final ThreadLocal<Boolean> USED = ThreadLocal.withInitial(() -> false);
+    private static long version;
+    private static final AtomicLong FALLBACKS = new AtomicLong();
+
+    private static final WatchedResources<Pod> PODS = new WatchedResources<>("pods",
+        () -> OpenShiftUtils.getInstance().pods().list(),
+        (resourceVersion, watcher) -> OpenShiftUtils.getInstance().pods().withResourceVersion(resourceVersion).watch(watcher),
+        OpenShiftWatchEngine::onChange);
+
+    private static final WatchedResources<DeploymentConfig> DEPLOYMENT_CONFIGS = new WatchedResources<>("deploymentconfigs",
+        () -> OpenShiftUtils.getInstance().deploymentConfigs().list(),
+        (resourceVersion, watcher) -> OpenShiftUtils.getInstance().deploymentConfigs().withResourceVersion(resourceVersion).watch(watcher),
+        OpenShiftWatchEngine::onChange);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(OpenShiftWatchEngine::stop));
+    }
+
+    private OpenShiftWatchEngine() {
+    }
+
+    public static List<Pod> getPods() {
+        return cachedOrList(PODS, () -> OpenShiftUtils.getInstance().getPods());
+    }
+
+    /**
+     * Returns the pods whose name starts with given prefix.
+     *
+     * @param prefix name prefix
+     * @return list of pods
+     */
+    public static List<Pod> getPodsByNamePrefix(String prefix) {
+        return cachedOrGet(PODS, pods -> pods.listByNamePrefix(prefix), () -> OpenShiftUtils.getInstance().getPods().stream()
+            .filter(p -> p.getMetadata().getName().startsWith(prefix)).collect(Collectors.toList()));
+    }
+
+    /**
+     * Returns the pods with given label.
+     *
+     * @param key label key
+     * @param value label value
+     * @return list of pods
+     */
+    public static List<Pod> getPodsByLabel(String key, String value) {
+        return cachedOrGet(PODS, pods -> pods.listByLabel(key, value),
+            () -> OpenShiftUtils.getInstance().pods().withLabel(key, value).list().getItems());
+    }
+
+    public static List<DeploymentConfig> getDeploymentConfigs() {
+        return cachedOrList(DEPLOYMENT_CONFIGS, () -> OpenShiftUtils.getInstance().deploymentConfigs().list().getItems());
+    }
+
+    public static Optional<DeploymentConfig> getDeploymentConfig(String name) {
+        return cachedOrGet(DEPLOYMENT_CONFIGS, dcs -> dcs.get(name),
+            () -> Optional.ofNullable(OpenShiftUtils.getInstance().deploymentConfigs().withName(name).get()));
+    }
+
+    /**
+     * Returns the current change counter. Pass it to {@link #awaitChange(long, long)} to not miss changes that happen between reading
+     * the counter and waiting. It should be called before evaluating the condition.
+     *
+     * @return change counter
+     */
+    public static long version() {
+        USED.set(false);
+        synchronized (LOCK) {
+            return version;
+        }
+    }
+
+    /**
+     * Waits until any of the watched resources change after the given version, or until the timeout elapses. If the condition evaluated
+     * since {@link #version()} didn't read any watched resources, just sleeps for the whole timeout.
+     *
+     * @param sinceVersion version obtained from {@link #version()}
+     * @param timeoutMs maximum time to wait
+     * @throws InterruptedException when interrupted
+     */
+    public static void awaitChange(long sinceVersion, long timeoutMs) throws InterruptedException {
+        if (!USED.get() || !isActive()) {
+            Thread.sleep(timeoutMs);
+            return;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        synchronized (LOCK) {
+            long remaining = timeoutMs;
+            while (version == sinceVersion && remaining > 0) {
+                LOCK.wait(remaining);
+                remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     * Lists all the watched resources again. Use it when the changes need to be visible immediately (for example right after creating
+     * a resource), as the watch events are delivered asynchronously.
+     */
+    public static void refresh() {
+        if (TestConfiguration.useWatchWaits()) {
+            all().forEach(WatchedResources::refresh);
+        }
+    }
+
+    /**
+     * Stops all the watches.
+     */
+    public static void stop() {
+        all().forEach(WatchedResources::close);
+    }
+
+    /**
+     * Logs the state of the caches: number of resources, events, resyncs and the time since the last update of each cache.
+     */
+    public static void logStatistics() {
+        all().forEach(resources -> log.info("Watched {}: synced: {}, resources: {}, events: {}, resyncs: {}, staleness: {} ms",
+            resources.getKind(), resources.isSynced(), resources.size(), resources.getEventCount(), resources.getResyncCount(),
+            resources.getStalenessMs()));
+        log.info("Lookups that fell back to listing: {}", FALLBACKS.get());
+    }
+
+    private static List<WatchedResources<? extends HasMetadata>> all() {
+        return Arrays.asList(PODS, DEPLOYMENT_CONFIGS);
+    }
+
+    private static boolean isActive() {
+        return all().stream().anyMatch(WatchedResources::isSynced);
+    }
+
+    private static <T extends HasMetadata> List<T> cachedOrList(WatchedResources<T> resources, Supplier<List<T>> fallback) {
+        return cachedOrGet(resources, WatchedResources::list, fallback);
+    }
+
+    private static <T extends HasMetadata, R> R cachedOrGet(WatchedResources<T> resources, Function<WatchedResources<T>, R> read,
+        Supplier<R> fallback) {
+        if (TestConfiguration.useWatchWaits() && resources.sync()) {
+            USED.set(true);
+            return read.apply(resources);
+        }
+        FALLBACKS.incrementAndGet();
+        return fallback.get();
+    }
+
+    private static void onChange() {
+        synchronized (LOCK) {
+            version++;
+            LOCK.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.syndesis.qe.wait;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records how long the waits took and how many polls they needed.
+ */
+@Slf4j
+public final class WaitStatistics {
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    @Getter
+    public static class Stats {
+        private final LongAdder waits = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder polls = new LongAdder();
+        private final LongAdder waitTimeMs = new LongAdder();
+
+        @Override
+        public String toString() {
+            return String.format("waits: %d, timeouts: %d, polls: %d, total time: %d ms", waits.sum(), timeouts.sum(), polls.sum(), waitTimeMs.sum());
+        }
+    }
+
+    private WaitStatistics() {
+    }
+
+    /**
+     * Records the finished wait.
+     *
+     * @param kind kind of the wait
+     * @param startNanos {@link System#nanoTime()} at the start of the wait
+     * @param polls number of condition evaluations
+     * @param satisfied whether the condition was satisfied or the wait timed out
+     */
+    public static void record(String kind, long startNanos, int polls, boolean satisfied) {
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        log.debug("{} {} after {} ms and {} polls", kind, satisfied ? "finished" : "timed out", elapsedMs, polls);
+        final Stats stats = STATS.computeIfAbsent(kind, k -> new Stats());
+        stats.waits.increment();
+        if (!satisfied) {
+            stats.timeouts.increment();
+        }
+        stats.polls.add(polls);
+        stats.waitTimeMs.add(elapsedMs);
+    }
+
+    public static Map<String, Stats> getStats() {
+        return STATS;
+    }
+
+    public static void log() {
+        STATS.forEach((kind, stats) -> log.info("{}: {}", kind, stats));
+    }
+}
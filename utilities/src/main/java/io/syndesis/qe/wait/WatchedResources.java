@@ -0,0 +1,257 @@
+package io.syndesis.qe.wait;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory copy of one kind of resources in the namespace, kept up to date by a watch.
+ * <p>
+ * The resources are listed once, then the watch is started from the list's resource version. When the watch is closed,
+ * the cache is marked as not synced and it is listed again on next {@link #sync()}.
+ * <p>
+ * The resources are kept sorted by name, so that the name prefix lookups are range reads, and indexed by their labels.
+ *
+ * @param <T> resource type
+ */
+@Slf4j
+public class WatchedResources<T extends HasMetadata> implements Watcher<T> {
+    private static final long RESYNC_BACKOFF_MS = 10000L;
+
+    @Getter
+    private final String kind;
+    private final Supplier<KubernetesResourceList<T>> lister;
+    private final BiFunction<String, Watcher<T>, Watch> watchStarter;
+    private final Runnable changeListener;
+    private final NavigableMap<String, T> resources = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> labelIndex = new ConcurrentHashMap<>();
+
+    @Getter
+    private volatile boolean synced;
+    private Watch watch;
+    private long lastSyncAttempt;
+
+    private final AtomicLong events = new AtomicLong();
+    private final AtomicLong resyncs = new AtomicLong();
+    private volatile long lastUpdate;
+
+    /**
+     * Constructor.
+     *
+     * @param kind resource kind, used in logs
+     * @param lister lists all resources
+     * @param watchStarter starts the watch from given resource version
+     * @param changeListener invoked after every change of the cached resources
+     */
+    public WatchedResources(String kind, Supplier<KubernetesResourceList<T>> lister, BiFunction<String, Watcher<T>, Watch> watchStarter,
+        Runnable changeListener) {
+        this.kind = kind;
+        this.lister = lister;
+        this.watchStarter = watchStarter;
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Lists the resources and starts the watch if the cache is not synced. Unsuccessful attempts are not repeated more often than
+     * every 10 seconds.
+     *
+     * @return true if the cache is synced, false otherwise
+     */
+    public synchronized boolean sync() {
+        if (synced) {
+            return true;
+        }
+        final long now = System.nanoTime();
+        if (lastSyncAttempt != 0 && TimeUnit.NANOSECONDS.toMillis(now - lastSyncAttempt) < RESYNC_BACKOFF_MS) {
+            return false;
+        }
+        lastSyncAttempt = now;
+        closeWatch();
+        try {
+            final KubernetesResourceList<T> list = lister.get();
+            clear();
+            list.getItems().forEach(this::put);
+            watch = watchStarter.apply(list.getMetadata().getResourceVersion(), this);
+            synced = true;
+            lastSyncAttempt = 0;
+            lastUpdate = System.nanoTime();
+            resyncs.incrementAndGet();
+            log.debug("Watching {} from resource version {}", kind, list.getMetadata().getResourceVersion());
+        } catch (KubernetesClientException e) {
+            log.warn("Unable to watch {}, falling back to listing: {}", kind, e.getMessage());
+        }
+        changeListener.run();
+        return synced;
+    }
+
+    /**
+     * Drops the cached resources and lists them again, regardless of the state of the watch.
+     *
+     * @return true if the cache is synced, false otherwise
+     */
+    public synchronized boolean refresh() {
+        synced = false;
+        lastSyncAttempt = 0;
+        return sync();
+    }
+
+    /**
+     * Returns the snapshot of all cached resources, sorted by name (same as the list call).
+     *
+     * @return list of resources
+     */
+    public List<T> list() {
+        return new ArrayList<>(resources.values());
+    }
+
+    public Optional<T> get(String name) {
+        return Optional.ofNullable(resources.get(name));
+    }
+
+    /**
+     * Returns the cached resources whose name starts with given prefix, sorted by name.
+     *
+     * @param prefix name prefix
+     * @return list of resources
+     */
+    public List<T> listByNamePrefix(String prefix) {
+        return new ArrayList<>(resources.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values());
+    }
+
+    /**
+     * Returns the cached resources with given label, sorted by name.
+     *
+     * @param key label key
+     * @param value label value
+     * @return list of resources
+     */
+    public List<T> listByLabel(String key, String value) {
+        return labelIndex.getOrDefault(labelKey(key, value), Collections.emptySet()).stream().sorted()
+            .map(resources::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the time since the cache was last confirmed to be up to date (last list or last event received).
+     *
+     * @return staleness in milliseconds, -1 if the cache was never synced
+     */
+    public long getStalenessMs() {
+        return lastUpdate == 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastUpdate);
+    }
+
+    public int size() {
+        return resources.size();
+    }
+
+    public long getEventCount() {
+        return events.get();
+    }
+
+    public long getResyncCount() {
+        return resyncs.get();
+    }
+
+    @Override
+    public void eventReceived(Action action, T resource) {
+        events.incrementAndGet();
+        lastUpdate = System.nanoTime();
+        switch (action) {
+            case ADDED:
+            case MODIFIED:
+                put(resource);
+                break;
+            case DELETED:
+                remove(resource.getMetadata().getName());
+                break;
+            default:
+                log.warn("Error event received while watching {}, will resync", kind);
+                synced = false;
+        }
+        changeListener.run();
+    }
+
+    @Override
+    public void onClose(KubernetesClientException cause) {
+        synced = false;
+        if (cause != null) {
+            log.warn("Watch of {} closed, will resync: {}", kind, cause.getMessage());
+        }
+        changeListener.run();
+    }
+
+    /**
+     * Stops the watch and clears the cache.
+     */
+    public synchronized void close() {
+        synced = false;
+        closeWatch();
+        clear();
+    }
+
+    private synchronized void put(T resource) {
+        final String name = resource.getMetadata().getName();
+        unindex(resources.put(name, resource));
+        labels(resource).forEach(label -> labelIndex.computeIfAbsent(label, l -> ConcurrentHashMap.newKeySet()).add(name));
+    }
+
+    private synchronized void remove(String name) {
+        unindex(resources.remove(name));
+    }
+
+    private synchronized void clear() {
+        resources.clear();
+        labelIndex.clear();
+    }
+
+    private void unindex(T resource) {
+        if (resource != null) {
+            labels(resource).forEach(label -> labelIndex.computeIfPresent(label, (l, names) -> {
+                names.remove(resource.getMetadata().getName());
+                return names.isEmpty() ? null : names;
+            }));
+        }
+    }
+
+    private static List<String> labels(HasMetadata resource) {
+        final Map<String, String> labels = resource.getMetadata().getLabels();
+        if (labels == null) {
+            return Collections.emptyList();
+        }
+        return labels.entrySet().stream().map(e -> labelKey(e.getKey(), e.getValue())).collect(Collectors.toList());
+    }
+
+    private static String labelKey(String key, String value) {
+        return key + "=" + value;
+    }
+
+    private void closeWatch() {
+        if (watch != null) {
+            try {
+                watch.close();
+            } catch (RuntimeException e) {
+                log.debug("Unable to close the watch of {}: {}", kind, e.getMessage());
+            }
+            watch = null;
+        }
+    }
+}
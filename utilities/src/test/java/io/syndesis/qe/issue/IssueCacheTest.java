@@ -0,0 +1,207 @@
+package io.syndesis.qe.issue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.syndesis.qe.TestConfiguration;
+import io.syndesis.qe.utils.IssueHooksUtils;
+import io.syndesis.qe.utils.TestUtils;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Tests the {@link IssueCache} through {@link IssueHooksUtils} with the GitHub "apiUrl" pointed to a local stub.
+ */
+public class IssueCacheTest {
+    private static final Pattern ISSUE_PATH = Pattern.compile(".*/repos/syndesisio/syndesis/issues/(\\d+)$");
+
+    private static final Map<String, AtomicInteger> REQUESTS = new ConcurrentHashMap<>();
+    private static volatile CountDownLatch responseGate = new CountDownLatch(0);
+    private static HttpServer server;
+    private static ExecutorService serverExecutor;
+    private static Path tempDir;
+
+    @BeforeClass
+    public static void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", IssueCacheTest::handle);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        // mandatory properties for the test configuration when there is no test.properties file
+        System.getProperties().putIfAbsent(TestConfiguration.SYNDESIS_INSTALL_VERSION, "latest");
+        System.getProperties().putIfAbsent(TestConfiguration.SYNDESIS_ADMIN_USERNAME, "admin");
+        System.getProperties().putIfAbsent(TestConfiguration.SYNDESIS_ADMIN_PASSWORD, "admin");
+        System.getProperties().putIfAbsent(TestConfiguration.OPENSHIFT_NAMESPACE, "syndesis");
+
+        tempDir = Files.createTempDirectory("issue-cache");
+        final Path credentials = tempDir.resolve("credentials.json");
+        Files.write(credentials, ("{\"GitHub\": {\"service\": \"GitHub\", \"properties\": {"
+            + "\"PersonalAccessToken\": \"token\", \"apiUrl\": \"http://localhost:" + server.getAddress().getPort() + "\"}}}")
+            .getBytes(StandardCharsets.UTF_8));
+        TestConfiguration.get().overrideProperty(TestConfiguration.SYNDESIS_CREDENTIALS_FILE, credentials.toString());
+    }
+
+    @AfterClass
+    public static void stopStub() throws IOException {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            files.sorted(Collections.reverseOrder()).forEach(f -> f.toFile().delete());
+        }
+    }
+
+    @After
+    public void clearCache() {
+        IssueCache.clear();
+        TestConfiguration.get().clearProperty(TestConfiguration.ISSUES_CACHE_TTL);
+        TestConfiguration.get().clearProperty(TestConfiguration.ISSUES_CACHE_FILE);
+        responseGate = new CountDownLatch(0);
+    }
+
+    @Test
+    public void shouldFetchIssueOnceWithinTtl() {
+        assertThat(fetch(1).getIssueSummary()).isEqualTo("Issue 1");
+        assertThat(fetch(1).getState()).isEqualTo(IssueState.CLOSED);
+
+        assertThat(requests(1)).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldFetchIssueAgainWhenExpired() {
+        TestConfiguration.get().overrideProperty(TestConfiguration.ISSUES_CACHE_TTL, "0");
+
+        fetch(2);
+        fetch(2);
+
+        assertThat(requests(2)).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldShareInFlightFetch() throws Exception {
+        responseGate = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<SimpleIssue> first = executor.submit(() -> fetch(3));
+            waitUntil(() -> requests(3) == 1);
+
+            final AtomicReference<Thread> second = new AtomicReference<>();
+            final Future<SimpleIssue> secondResult = executor.submit(() -> {
+                second.set(Thread.currentThread());
+                return fetch(3);
+            });
+            // the second caller parks on the in-flight future instead of sending its own request
+            waitUntil(() -> second.get() != null && second.get().getState() == Thread.State.WAITING);
+            responseGate.countDown();
+
+            assertThat(first.get(10, TimeUnit.SECONDS).getIssueSummary()).isEqualTo("Issue 3");
+            assertThat(secondResult.get(10, TimeUnit.SECONDS).getIssueSummary()).isEqualTo("Issue 3");
+            assertThat(requests(3)).isEqualTo(1);
+        } finally {
+            responseGate.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldLoadSavedSnapshot() {
+        final Path snapshot = tempDir.resolve("issues.json");
+        TestConfiguration.get().overrideProperty(TestConfiguration.ISSUES_CACHE_FILE, snapshot.toString());
+
+        fetch(4);
+        IssueCache.save();
+        assertThat(snapshot).exists();
+
+        IssueCache.clear();
+        final SimpleIssue loaded = fetch(4);
+
+        assertThat(requests(4)).isEqualTo(1);
+        assertThat(loaded.getIssue()).isEqualTo("4");
+        assertThat(loaded.getIssueSummary()).isEqualTo("Issue 4");
+        assertThat(loaded.getUrl()).isEqualTo("http://localhost/issues/4");
+        assertThat(loaded.getState()).isEqualTo(IssueState.CLOSED);
+    }
+
+    @Test
+    public void shouldSkipExpiredSnapshotEntries() {
+        final Path snapshot = tempDir.resolve("expired-issues.json");
+        TestConfiguration.get().overrideProperty(TestConfiguration.ISSUES_CACHE_FILE, snapshot.toString());
+
+        fetch(5);
+        IssueCache.save();
+        IssueCache.clear();
+        TestConfiguration.get().overrideProperty(TestConfiguration.ISSUES_CACHE_TTL, "0");
+        fetch(5);
+
+        assertThat(requests(5)).isEqualTo(2);
+    }
+
+    private static SimpleIssue fetch(int number) {
+        final List<SimpleIssue> issues = IssueHooksUtils.analyzeGithubIssues(Collections.singletonList("@gh-" + number), null);
+        assertThat(issues).hasSize(1);
+        return issues.get(0);
+    }
+
+    private static int requests(int number) {
+        return REQUESTS.getOrDefault(Integer.toString(number), new AtomicInteger()).get();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("Condition was not met in time").isLessThan(deadline);
+            TestUtils.sleepIgnoreInterrupt(10L);
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        final Matcher matcher = ISSUE_PATH.matcher(exchange.getRequestURI().getPath());
+        if (!matcher.matches()) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        final String number = matcher.group(1);
+        REQUESTS.computeIfAbsent(number, n -> new AtomicInteger()).incrementAndGet();
+        try {
+            responseGate.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        final byte[] body = String.format("{\"number\": %s, \"html_url\": \"http://localhost/issues/%s\", \"title\": \"Issue %s\", \"state\": \"closed\"}",
+            number, number, number).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.syndesis.qe.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Tests the LISTEN/NOTIFY mode of {@link DbChangeWatcher} against an embedded PostgreSQL server.
+ */
+public class DbChangeWatcherPostgresTest {
+    private static final String TRIGGER = "syndesis_qe_notify_todo";
+
+    private static EmbeddedPostgres postgres;
+
+    private Connection writer;
+
+    @BeforeClass
+    public static void startPostgres() throws IOException {
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterClass
+    public static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @Before
+    public void createTables() throws SQLException {
+        writer = postgres.getPostgresDatabase().getConnection();
+        execute("CREATE TABLE todo (id SERIAL PRIMARY KEY, task VARCHAR(255))");
+        execute("CREATE TABLE other (id SERIAL PRIMARY KEY, task VARCHAR(255))");
+    }
+
+    @After
+    public void dropTables() throws SQLException {
+        execute("DROP TABLE todo");
+        execute("DROP TABLE other");
+        writer.close();
+    }
+
+    @Test
+    public void shouldInstallTriggerAndDeliverNotification() throws Exception {
+        try (DbChangeWatcher watcher = watcher()) {
+            assertThat(watcher.isNotificationsEnabled()).isTrue();
+            assertThat(count("SELECT COUNT(*) FROM pg_trigger WHERE tgname = '" + TRIGGER + "'")).isEqualTo(1);
+
+            final CompletableFuture<Void> insert = CompletableFuture.runAsync(() -> {
+                TestUtils.sleepIgnoreInterrupt(300L);
+                try {
+                    execute("INSERT INTO todo (task) VALUES ('task 1')");
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            final long start = System.nanoTime();
+            assertThat(watcher.awaitChange(5000L)).isTrue();
+            // the notification ends the waiting right away, there is no polling interval to wait for
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000L);
+            insert.get();
+        }
+    }
+
+    @Test
+    public void shouldIgnoreChangesOfOtherTables() throws SQLException {
+        try (DbChangeWatcher watcher = watcher();
+            DbChangeWatcher otherWatcher = new DbChangeWatcher("postgresql", postgres.getPostgresDatabase().getConnection(), "other", "id")) {
+            // both tables notify on the same channel
+            assertThat(otherWatcher.isNotificationsEnabled()).isTrue();
+            execute("INSERT INTO other (task) VALUES ('task 1')");
+            assertThat(watcher.awaitChange(500L)).isFalse();
+            assertThat(otherWatcher.awaitChange(5000L)).isTrue();
+        }
+    }
+
+    @Test
+    public void shouldDropTriggerWhenLastWatcherIsClosed() throws SQLException {
+        final DbChangeWatcher first = watcher();
+        final DbChangeWatcher second = watcher();
+        assertThat(count("SELECT COUNT(*) FROM pg_trigger WHERE tgname = '" + TRIGGER + "'")).isEqualTo(1);
+
+        first.close();
+        assertThat(count("SELECT COUNT(*) FROM pg_trigger WHERE tgname = '" + TRIGGER + "'")).isEqualTo(1);
+        execute("INSERT INTO todo (task) VALUES ('task 1')");
+        assertThat(second.awaitChange(5000L)).isTrue();
+
+        second.close();
+        assertThat(count("SELECT COUNT(*) FROM pg_trigger WHERE tgname = '" + TRIGGER + "'")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM pg_proc WHERE proname = '" + TRIGGER + "'")).isZero();
+    }
+
+    private static DbChangeWatcher watcher() throws SQLException {
+        return new DbChangeWatcher("postgresql", postgres.getPostgresDatabase().getConnection(), "todo", "id");
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Statement statement = writer.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = writer.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package io.syndesis.qe.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the polling fallback of {@link DbChangeWatcher} against an in-memory H2 database.
+ */
+public class DbChangeWatcherTest {
+    private static final String URL = "jdbc:h2:mem:watcher;DB_CLOSE_DELAY=-1";
+
+    private Connection writer;
+
+    @Before
+    public void createTable() throws SQLException {
+        writer = DriverManager.getConnection(URL);
+        execute("CREATE TABLE todo (id IDENTITY PRIMARY KEY, task VARCHAR(255))");
+    }
+
+    @After
+    public void dropTable() throws SQLException {
+        execute("DROP TABLE todo");
+        writer.close();
+    }
+
+    @Test
+    public void shouldDetectInsertByWatermarkColumn() throws SQLException {
+        try (DbChangeWatcher watcher = new DbChangeWatcher("h2", DriverManager.getConnection(URL), "todo", "id")) {
+            assertThat(watcher.isNotificationsEnabled()).isFalse();
+            execute("INSERT INTO todo (task) VALUES ('task 1')");
+            assertThat(watcher.awaitChange(5000L)).isTrue();
+        }
+    }
+
+    @Test
+    public void shouldDetectDeleteByRowCount() throws SQLException {
+        execute("INSERT INTO todo (task) VALUES ('task 1')");
+        try (DbChangeWatcher watcher = new DbChangeWatcher("h2", DriverManager.getConnection(URL), "todo", null)) {
+            execute("DELETE FROM todo");
+            assertThat(watcher.awaitChange(5000L)).isTrue();
+        }
+    }
+
+    @Test
+    public void shouldNotReportChangeWithoutModification() throws SQLException {
+        try (DbChangeWatcher watcher = new DbChangeWatcher("h2", DriverManager.getConnection(URL), "todo", "id")) {
+            final long start = System.nanoTime();
+            assertThat(watcher.awaitChange(500L)).isFalse();
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(500L);
+        }
+    }
+
+    @Test
+    public void shouldWakeUpSoonAfterConcurrentChange() throws Exception {
+        try (DbChangeWatcher watcher = new DbChangeWatcher("h2", DriverManager.getConnection(URL), "todo", "id")) {
+            final CompletableFuture<Void> insert = CompletableFuture.runAsync(() -> {
+                TestUtils.sleepIgnoreInterrupt(300L);
+                try {
+                    execute("INSERT INTO todo (task) VALUES ('task 1')");
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            final long start = System.nanoTime();
+            assertThat(watcher.awaitChange(5000L)).isTrue();
+            // the fallback polls at most once per second, so the change is seen long before the max wait
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000L);
+            insert.get();
+        }
+    }
+
+    @Test
+    public void shouldFallBackToPollingWhenTriggerCannotBeInstalled() throws SQLException {
+        // H2 has no pg_trigger, so installing the notification trigger fails
+        try (DbChangeWatcher watcher = new DbChangeWatcher("postgresql", DriverManager.getConnection(URL), "todo", "id")) {
+            assertThat(watcher.isNotificationsEnabled()).isFalse();
+            execute("INSERT INTO todo (task) VALUES ('task 1')");
+            assertThat(watcher.awaitChange(5000L)).isTrue();
+        }
+    }
+
+    @Test
+    public void shouldCloseConnection() throws SQLException {
+        final Connection connection = DriverManager.getConnection(URL);
+        new DbChangeWatcher("h2", connection, "todo", "id").close();
+        assertThat(connection.isClosed()).isTrue();
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = writer.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package io.syndesis.qe.util;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pool of authenticated FTP / SFTP sessions shared by all the steps.
+ * <p>
+ * A session is borrowed for a single operation, so concurrent transfers use separate sessions. The sessions that were idle for a while
+ * are checked with a cheap liveness request before they are used again. When the operation fails because the connection was broken,
+ * the session is discarded and the operation is retried once with a new session.
+ *
+ * @param <S> session type
+ */
+@Slf4j
+public class FileTransferSessionPool<S> {
+    private static final long VALIDATION_IDLE_MS = 2000L;
+
+    /**
+     * Creates a new authenticated session.
+     */
+    @FunctionalInterface
+    public interface SessionFactory<S> {
+        S create() throws IOException;
+    }
+
+    /**
+     * Operation executed with a session.
+     */
+    @FunctionalInterface
+    public interface SessionCallback<S, R> {
+        R apply(S session) throws IOException;
+    }
+
+    private final String name;
+    private final SessionFactory<S> factory;
+    private final Predicate<S> liveness;
+    private final Consumer<S> closer;
+    private final Predicate<IOException> connectionFailure;
+    private final long validationIdleMs;
+    private final Deque<IdleSession<S>> idle = new ArrayDeque<>();
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param name pool name, used in logs
+     * @param factory factory of the sessions
+     * @param liveness cheap check whether the session is still usable
+     * @param closer closes the session, must not throw
+     * @param connectionFailure decides whether the exception thrown by an operation means that the session is broken
+     */
+    public FileTransferSessionPool(String name, SessionFactory<S> factory, Predicate<S> liveness, Consumer<S> closer,
+        Predicate<IOException> connectionFailure) {
+        this(name, factory, liveness, closer, connectionFailure, VALIDATION_IDLE_MS);
+    }
+
+    FileTransferSessionPool(String name, SessionFactory<S> factory, Predicate<S> liveness, Consumer<S> closer,
+        Predicate<IOException> connectionFailure, long validationIdleMs) {
+        this.name = name;
+        this.factory = factory;
+        this.liveness = liveness;
+        this.closer = closer;
+        this.connectionFailure = connectionFailure;
+        this.validationIdleMs = validationIdleMs;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+    }
+
+    /**
+     * Executes the operation with a pooled session.
+     *
+     * @param callback operation
+     * @param <R> result type
+     * @return result of the operation
+     * @throws IOException when the operation failed also with a new session
+     */
+    public <R> R execute(SessionCallback<S, R> callback) throws IOException {
+        S session = borrow();
+        try {
+            final R result = callback.apply(session);
+            giveBack(session);
+            return result;
+        } catch (IOException e) {
+            if (!connectionFailure.test(e)) {
+                giveBack(session);
+                throw e;
+            }
+            log.debug("{} session broken ({}), retrying with a new session", name, e.getMessage());
+            discard(session);
+        } catch (RuntimeException e) {
+            discard(session);
+            throw e;
+        }
+        session = create();
+        try {
+            final R result = callback.apply(session);
+            giveBack(session);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            discard(session);
+            throw e;
+        }
+    }
+
+    /**
+     * Closes all the idle sessions.
+     */
+    public void close() {
+        IdleSession<S> s;
+        while ((s = poll()) != null) {
+            closer.accept(s.session);
+        }
+        log.debug("{} session pool closed, sessions created: {}, reused: {}, discarded: {}", name, created.get(), reused.get(), discarded.get());
+    }
+
+    private S borrow() throws IOException {
+        IdleSession<S> s;
+        while ((s = poll()) != null) {
+            if (System.nanoTime() - s.since < TimeUnit.MILLISECONDS.toNanos(validationIdleMs) || liveness.test(s.session)) {
+                reused.incrementAndGet();
+                return s.session;
+            }
+            log.debug("Idle {} session is not alive anymore", name);
+            discard(s.session);
+        }
+        return create();
+    }
+
+    private S create() throws IOException {
+        final S session = factory.create();
+        created.incrementAndGet();
+        log.debug("Created {} session #{}", name, created.get());
+        return session;
+    }
+
+    private synchronized IdleSession<S> poll() {
+        return idle.pollFirst();
+    }
+
+    private synchronized void giveBack(S session) {
+        idle.addFirst(new IdleSession<>(session));
+    }
+
+    private void discard(S session) {
+        discarded.incrementAndGet();
+        closer.accept(session);
+    }
+
+    private static final class IdleSession<S> {
+        private final S session;
+        private final long since = System.nanoTime();
+
+        private IdleSession(S session) {
+            this.session = session;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package io.syndesis.qe.util;
 
+import io.syndesis.qe.utils.RemoteDirectoryWatcher;
+
+import java.util.Map;
+
 public interface FileTransferUtils {
     void deleteFile(String path);
 
@@ -8,4 +12,16 @@ public interface FileTransferUtils {
     void uploadTestFile(String testFileName, String text, String remoteDirectory);
 
     String getFileContent(String directory, String fileName);
+
+    /**
+     * Lists the files in the directory.
+     *
+     * @param directory directory
+     * @return map of file name to its version (modification time and size)
+     */
+    Map<String, String> listFiles(String directory);
+
+    default RemoteDirectoryWatcher watchDirectory(String directory) {
+        return new RemoteDirectoryWatcher(directory, () -> listFiles(directory));
+    }
 }
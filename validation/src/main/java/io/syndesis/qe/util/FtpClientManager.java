@@ -3,16 +3,17 @@ package io.syndesis.qe.util;
 import io.syndesis.qe.account.Account;
 import io.syndesis.qe.account.AccountsDirectory;
 import io.syndesis.qe.resource.impl.FTP;
-import io.syndesis.qe.utils.OpenShiftUtils;
+import io.syndesis.qe.utils.PortForwardManager;
 import io.syndesis.qe.utils.TestUtils;
 
 import org.apache.commons.net.ftp.FTPClient;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-import io.fabric8.kubernetes.client.LocalPortForward;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -21,54 +22,58 @@ import lombok.extern.slf4j.Slf4j;
  * @author sveres@redhat.com
  */
 @Slf4j
-public class FtpClientManager {
+public final class FtpClientManager {
+    private static final int DATA_PORTS = 10;
 
-    private static LocalPortForward LOCAL_PORT_FORWARD = null;
+    private static FileTransferSessionPool<FTPClient> pool;
 
     private final String ftpServer = "127.0.0.1";
-    private final int ftpLocalPort = 2121;  //on local computer
 
     private String ftpPodName;
     private int ftpRemotePort;
     private String ftpUser;
     private String ftpPass;
 
-    public FtpClientManager() {
+    private PortForwardManager.Forward controlForward;
+    private final List<PortForwardManager.Forward> dataForwards = new ArrayList<>();
+
+    private FtpClientManager() {
         initProperties();
     }
 
-    public FTPClient getClient() {
-
-        if (LOCAL_PORT_FORWARD == null || !LOCAL_PORT_FORWARD.isAlive()) {
-            LOCAL_PORT_FORWARD = OpenShiftUtils.portForward(OpenShiftUtils.getInstance().getAnyPod("app", ftpPodName), ftpRemotePort, ftpLocalPort);
-            //since we use passive FTP connection, we need to forward data ports also
-            for (int i = 0; i < 10; i++) {
-                OpenShiftUtils.portForward(OpenShiftUtils.getInstance().getAnyPod("app", ftpPodName), FTP.FTP_DATA_PORT + i, FTP.FTP_DATA_PORT + i);
-            }
+    /**
+     * Gets the pool of the FTP sessions shared by all the steps.
+     *
+     * @return session pool
+     */
+    public static synchronized FileTransferSessionPool<FTPClient> getPool() {
+        if (pool == null) {
+            final FtpClientManager manager = new FtpClientManager();
+            pool = new FileTransferSessionPool<>("FTP", manager::initClient, FtpClientManager::isAlive, FtpClientManager::closeFtpClient,
+                e -> true);
         }
-        return initClient();
+        return pool;
     }
 
-    public void closeFtpClient(FTPClient ftpClient) {
-        OpenShiftUtils.terminateLocalPortForward(LOCAL_PORT_FORWARD);
-        try {
-            if (ftpClient == null) {
-                return;
-            }
-            if (ftpClient.isConnected()) {
-                ftpClient.logout();
-                ftpClient.disconnect();
+    private synchronized void ensureForwards() {
+        if (controlForward == null) {
+            controlForward = PortForwardManager.forward(ftpPodName, ftpRemotePort);
+            //since we use passive FTP connection, we need to forward data ports also, the server announces them, so the local ports
+            //have to be the same. The data ports are open only during the transfer, so there is nothing to probe
+            for (int i = 0; i < DATA_PORTS; i++) {
+                dataForwards.add(PortForwardManager.forward(ftpPodName, FTP.FTP_DATA_PORT + i, FTP.FTP_DATA_PORT + i, port -> true));
             }
-        } catch (IOException e) {
-            log.error(e.getMessage());
         }
+        controlForward.ensureAlive();
+        dataForwards.forEach(PortForwardManager.Forward::ensureAlive);
     }
 
     private FTPClient initClient() {
+        ensureForwards();
         FTPClient ftpClient = new FTPClient();
         TestUtils.withRetry(() -> {
             try {
-                ftpClient.connect(ftpServer, ftpLocalPort);
+                ftpClient.connect(ftpServer, controlForward.getLocalPort());
                 ftpClient.login(ftpUser, ftpPass);
                 ftpClient.enterLocalPassiveMode();
                 ftpClient.setFileType(org.apache.commons.net.ftp.FTP.BINARY_FILE_TYPE);
@@ -82,6 +87,30 @@ public class FtpClientManager {
         return ftpClient;
     }
 
+    static boolean isAlive(FTPClient ftpClient) {
+        try {
+            return ftpClient.isConnected() && ftpClient.sendNoOp();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    static void closeFtpClient(FTPClient ftpClient) {
+        if (!ftpClient.isConnected()) {
+            return;
+        }
+        try {
+            ftpClient.logout();
+        } catch (IOException e) {
+            log.debug("Unable to log out FTP client: {}", e.getMessage());
+        }
+        try {
+            ftpClient.disconnect();
+        } catch (IOException e) {
+            log.debug("Unable to disconnect FTP client: {}", e.getMessage());
+        }
+    }
+
     private void initProperties() {
         Account account = AccountsDirectory.getInstance().get(Account.Name.FTP);
         Map<String, String> properties = new HashMap<>();
@@ -4,24 +4,35 @@ import static org.assertj.core.api.Assertions.fail;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.net.ftp.FTPClient;
+import org.apache.commons.net.ftp.FTPFile;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class FtpUtils implements FileTransferUtils {
-    private FtpClientManager manager = new FtpClientManager();
-    private FTPClient ftpClient = manager.getClient();
+    private final FileTransferSessionPool<FTPClient> pool;
+
+    public FtpUtils() {
+        this(FtpClientManager.getPool());
+    }
+
+    FtpUtils(FileTransferSessionPool<FTPClient> pool) {
+        this.pool = pool;
+    }
 
     @Override
     public void deleteFile(String path) {
-        checkConnection();
         log.info("Deleting " + path + " from FTP server");
         try {
-            ftpClient.deleteFile(path);
+            pool.execute(ftpClient -> ftpClient.deleteFile(path));
         } catch (IOException e) {
             fail("Unable to delete file", path);
         }
@@ -29,21 +40,37 @@ public class FtpUtils implements FileTransferUtils {
 
     @Override
     public boolean isFileThere(String directory, String fileName) {
-        checkConnection();
         try {
-            return Arrays.stream(ftpClient.listFiles(directory)).filter(file -> file.getName().equals(fileName)).count() == 1;
+            return pool.execute(ftpClient -> Arrays.stream(ftpClient.listFiles(directory)).filter(file -> file.getName().equals(fileName))
+                .count() == 1);
         } catch (IOException ex) {
             fail("Unable to list files in FTP", ex);
         }
         return false;
     }
 
+    @Override
+    public Map<String, String> listFiles(String directory) {
+        final Map<String, String> files = new HashMap<>();
+        try {
+            for (FTPFile file : pool.execute(ftpClient -> ftpClient.listFiles(directory))) {
+                files.put(file.getName(), (file.getTimestamp() == null ? "" : file.getTimestamp().getTimeInMillis()) + "/" + file.getSize());
+            }
+        } catch (IOException ex) {
+            fail("Unable to list files in FTP", ex);
+        }
+        return files;
+    }
+
     @Override
     public void uploadTestFile(String testFileName, String text, String remoteDirectory) {
-        checkConnection();
         log.info("Uploading file " + testFileName + " with content " + text + " to directory " + remoteDirectory + ". This may take some time");
-        try (InputStream is = IOUtils.toInputStream(text, "UTF-8")) {
-            ftpClient.storeFile("/" + remoteDirectory + "/" + testFileName, is);
+        try {
+            pool.execute(ftpClient -> {
+                try (InputStream is = IOUtils.toInputStream(text, "UTF-8")) {
+                    return ftpClient.storeFile("/" + remoteDirectory + "/" + testFileName, is);
+                }
+            });
         } catch (IOException ex) {
             fail("Unable to upload test file: ", ex);
         }
@@ -51,22 +78,19 @@ public class FtpUtils implements FileTransferUtils {
 
     @Override
     public String getFileContent(String directory, String fileName) {
+        String content = null;
         try {
-            return IOUtils.toString(ftpClient.retrieveFileStream(directory + "/" + fileName), "utf-8");
+            content = pool.execute(ftpClient -> {
+                // retrieveFile completes the transfer, so the session can be reused for the next command
+                final ByteArrayOutputStream os = new ByteArrayOutputStream();
+                return ftpClient.retrieveFile(directory + "/" + fileName, os) ? new String(os.toByteArray(), StandardCharsets.UTF_8) : null;
+            });
         } catch (Exception ex) {
-            fail("Unable to read FTP file " + directory + "/" + fileName);
+            log.error("Unable to read FTP file", ex);
         }
-        return null;
-    }
-
-    /**
-     * Sometimes the Connections ends with "FTPConnectionClosedException: Connection closed without indication".
-     */
-    private void checkConnection() {
-        try {
-            ftpClient.listFiles();
-        } catch (IOException ex) {
-            ftpClient = manager.getClient();
+        if (content == null) {
+            fail("Unable to read FTP file " + directory + "/" + fileName);
         }
+        return content;
     }
 }
@@ -4,17 +4,18 @@ import static org.assertj.core.api.Assertions.fail;
 
 import io.syndesis.qe.account.Account;
 import io.syndesis.qe.account.AccountsDirectory;
-import io.syndesis.qe.utils.OpenShiftUtils;
+import io.syndesis.qe.utils.PortForwardManager;
 import io.syndesis.qe.utils.TestUtils;
 
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
-import io.fabric8.kubernetes.client.LocalPortForward;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.schmizz.sshj.SSHClient;
 import net.schmizz.sshj.sftp.SFTPClient;
+import net.schmizz.sshj.sftp.SFTPException;
 import net.schmizz.sshj.transport.verification.PromiscuousVerifier;
 
 /**
@@ -23,50 +24,61 @@ import net.schmizz.sshj.transport.verification.PromiscuousVerifier;
  * @author sveres@redhat.com
  */
 @Slf4j
-public class SftpClientManager {
+public final class SftpClientManager {
+
+    private static FileTransferSessionPool<Session> pool;
 
     private final String sftpServer = "127.0.0.1";
-    private final int sftpLocalPort = 2222;
     private int sftpRemotePort;
     private String sftpPodName;
     private String sftpUser;
     private String sftpPass;
 
-    private static LocalPortForward localPortForward = null;
+    private PortForwardManager.Forward forward;
 
-    public SftpClientManager() {
+    private SftpClientManager() {
         initProperties();
     }
 
-    public SSHClient getSshClient() {
-        if (localPortForward == null || !localPortForward.isAlive()) {
-            localPortForward = OpenShiftUtils.portForward(OpenShiftUtils.getInstance().getAnyPod("app", sftpPodName), sftpRemotePort,
-                sftpLocalPort);
+    /**
+     * Gets the pool of the SFTP sessions shared by all the steps.
+     *
+     * @return session pool
+     */
+    public static synchronized FileTransferSessionPool<Session> getPool() {
+        if (pool == null) {
+            final SftpClientManager manager = new SftpClientManager();
+            // SFTPException is the error status of a request, the session itself is fine
+            pool = new FileTransferSessionPool<>("SFTP", manager::initSession, SftpClientManager::isAlive, SftpClientManager::closeSession,
+                e -> !(e instanceof SFTPException));
         }
-        return initSshClient();
+        return pool;
     }
 
-    public void closeClient(SSHClient sshClient, SFTPClient sftpClient) {
-        OpenShiftUtils.terminateLocalPortForward(localPortForward);
+    private synchronized void ensureForward() {
+        if (forward == null) {
+            forward = PortForwardManager.forward(sftpPodName, sftpRemotePort);
+        }
+        forward.ensureAlive();
+    }
+
+    private Session initSession() throws IOException {
+        final SSHClient sshClient = initSshClient();
         try {
-            if (sshClient == null) {
-                return;
-            }
-            if (!sshClient.isConnected()) {
-                sftpClient.close();
-                sshClient.disconnect();
-            }
+            return new Session(sshClient, sshClient.newSFTPClient());
         } catch (IOException e) {
-            log.error(e.getMessage());
+            sshClient.disconnect();
+            throw e;
         }
     }
 
     private SSHClient initSshClient() {
+        ensureForward();
         SSHClient sshClient = new SSHClient();
         sshClient.addHostKeyVerifier(new PromiscuousVerifier());
         TestUtils.withRetry(() -> {
             try {
-                sshClient.connect(sftpServer, sftpLocalPort);
+                sshClient.connect(sftpServer, forward.getLocalPort());
                 sshClient.authPassword(sftpUser, sftpPass);
                 log.info("SSH client connected: {}", sshClient.isConnected());
                 return true;
@@ -79,13 +91,24 @@ public class SftpClientManager {
         return sshClient;
     }
 
-    public SFTPClient getSftpClient(SSHClient sshClient) {
+    static boolean isAlive(Session session) {
+        try {
+            return session.getSsh().isConnected() && session.getSftp().canonicalize(".") != null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    static void closeSession(Session session) {
+        try {
+            session.getSftp().close();
+        } catch (IOException e) {
+            log.debug("Unable to close SFTP client: {}", e.getMessage());
+        }
         try {
-            log.info("SSH client connected: {}", sshClient.isConnected());
-            return sshClient.newSFTPClient();
+            session.getSsh().disconnect();
         } catch (IOException e) {
-            fail("creation of SFTP client failed", e);
-            return null;
+            log.debug("Unable to disconnect SSH client: {}", e.getMessage());
         }
     }
 
@@ -100,4 +123,18 @@ public class SftpClientManager {
         sftpPodName = properties.get("host");
         sftpRemotePort = Integer.parseInt(properties.get("port"));
     }
+
+    /**
+     * Authenticated SSH connection with an open SFTP channel.
+     */
+    @Getter
+    public static final class Session {
+        private final SSHClient ssh;
+        private final SFTPClient sftp;
+
+        Session(SSHClient ssh, SFTPClient sftp) {
+            this.ssh = ssh;
+            this.sftp = sftp;
+        }
+    }
 }
@@ -7,51 +7,57 @@ import io.syndesis.qe.resource.impl.SFTP;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFilePermissions;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import lombok.extern.slf4j.Slf4j;
-import net.schmizz.sshj.SSHClient;
+import net.schmizz.sshj.sftp.RemoteFile;
 import net.schmizz.sshj.sftp.RemoteResourceInfo;
-import net.schmizz.sshj.sftp.SFTPClient;
 
 @Slf4j
 public class SftpUtils implements FileTransferUtils {
 
-    private SftpClientManager manager = new SftpClientManager();
-    private SSHClient sshClient = manager.getSshClient();
-    private SFTPClient sftpClient = manager.getSftpClient(sshClient);
+    private final FileTransferSessionPool<SftpClientManager.Session> pool;
+
+    public SftpUtils() {
+        this(SftpClientManager.getPool());
+    }
+
+    SftpUtils(FileTransferSessionPool<SftpClientManager.Session> pool) {
+        this.pool = pool;
+    }
 
     public void prepareServerForTest() {
-        checkConnection();
         log.info("Preparing SFTP server for tests");
         try {
             //0. set 'test' as home folder
             //not possible - there is no such method in com.hierynomus.sshj, so we have to bypass this.
             //1. create download / upload folders
-            sftpClient.mkdir("/" + SFTP.TEST_DIRECTORY + "/download");
-            sftpClient.mkdir("/" + SFTP.TEST_DIRECTORY + "/upload");
+            pool.execute(session -> {
+                session.getSftp().mkdir("/" + SFTP.TEST_DIRECTORY + "/download");
+                session.getSftp().mkdir("/" + SFTP.TEST_DIRECTORY + "/upload");
+                return null;
+            });
         } catch (IOException e) {
             fail("Unable to prepare server", e);
         }
     }
 
-    public void closeConnection(SSHClient sshCl, SFTPClient sftpCl) {
-        manager.closeClient(sshCl, sftpCl);
-    }
-
     @Override
     public void deleteFile(String path) {
-        checkConnection();
         log.info("Deleting " + path + " from SFTP server");
         try {
-            sftpClient.rm(path);
+            pool.execute(session -> {
+                session.getSftp().rm(path);
+                return null;
+            });
         } catch (IOException e) {
             fail("Unable to delete file", path);
         }
@@ -59,27 +65,39 @@ public class SftpUtils implements FileTransferUtils {
 
     @Override
     public boolean isFileThere(String directory, String fileName) {
-        checkConnection();
         try {
-            List<RemoteResourceInfo> directoryContent = sftpClient.ls(directory);
-            RemoteResourceInfo[] itemsArray = new RemoteResourceInfo[directoryContent.size()];
-            itemsArray = directoryContent.toArray(itemsArray);
-            return Arrays.stream(itemsArray).filter(file -> file.getName().equals(fileName)).count() == 1;
+            List<RemoteResourceInfo> directoryContent = pool.execute(session -> session.getSftp().ls(directory));
+            return directoryContent.stream().filter(file -> file.getName().equals(fileName)).count() == 1;
         } catch (IOException ex) {
             fail("Unable to list files in FTP", ex);
         }
         return false;
     }
 
+    @Override
+    public Map<String, String> listFiles(String directory) {
+        final Map<String, String> files = new HashMap<>();
+        try {
+            for (RemoteResourceInfo file : pool.execute(session -> session.getSftp().ls(directory))) {
+                files.put(file.getName(), file.getAttributes().getMtime() + "/" + file.getAttributes().getSize());
+            }
+        } catch (IOException ex) {
+            fail("Unable to list files in SFTP", ex);
+        }
+        return files;
+    }
+
     @Override
     public void uploadTestFile(String testFileName, String text, String remoteDirectory) {
-        checkConnection();
         log.info("Uploading file " + testFileName + " with content " + text + " to directory " + remoteDirectory + ". This may take some time");
         try {
             Path tempFile = Files.createTempFile(testFileName, null,
                 PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwxrwxrwx")));
             FileUtils.write(tempFile.toFile(), text, "UTF-8");
-            sftpClient.put(tempFile.toAbsolutePath().toString(), remoteDirectory + "/" + testFileName);
+            pool.execute(session -> {
+                session.getSftp().put(tempFile.toAbsolutePath().toString(), remoteDirectory + "/" + testFileName);
+                return null;
+            });
         } catch (IOException ex) {
             fail("Unable to SFTP upload test file: ", ex);
         }
@@ -87,26 +105,16 @@ public class SftpUtils implements FileTransferUtils {
 
     @Override
     public String getFileContent(String directory, String fileName) {
-        checkConnection();
         try {
-            sftpClient.get(directory + "/" + fileName, fileName);
-            FileInputStream inputStream = new FileInputStream(fileName);
-            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+            return pool.execute(session -> {
+                try (RemoteFile file = session.getSftp().open(directory + "/" + fileName);
+                    InputStream is = file.new RemoteFileInputStream()) {
+                    return IOUtils.toString(is, StandardCharsets.UTF_8);
+                }
+            });
         } catch (Exception ex) {
             fail("Unable to read SFTP file " + directory + "/" + fileName);
         }
         return null;
     }
-
-    /**
-     * Sometimes the Connections ends with "FTPConnectionClosedException: Connection closed without indication".
-     */
-    private void checkConnection() {
-        try {
-            sftpClient.ls(".");
-        } catch (IOException ex) {
-            sshClient = manager.getSshClient();
-            sftpClient = manager.getSftpClient(sshClient);
-        }
-    }
 }
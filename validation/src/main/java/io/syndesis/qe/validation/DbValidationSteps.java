@@ -11,6 +11,9 @@ import org.assertj.core.api.AbstractIntegerAssert;
 import org.assertj.core.api.Assertions;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -54,6 +57,7 @@ public class DbValidationSteps {
         List<List<String>> dataTable = data.cells();
 
         String sql;
+        List<String> inserts = new ArrayList<>();
 
         for (List<String> list : dataTable) {
             switch (tableName.toUpperCase()) {
@@ -70,10 +74,10 @@ public class DbValidationSteps {
                     throw new IllegalArgumentException("Unsupported table name " + tableName);
             }
             sql += list.stream().map(s -> "'" + s + "'").collect(Collectors.joining(",")) + ")";
-            int newId = dbUtils.executeSQLGetUpdateNumber(sql);
-            //assert new row in database has been created:
-            assertThat(newId).isEqualTo(1);
+            inserts.add(sql);
         }
+        //assert new row in database has been created for each insert:
+        assertThat(dbUtils.executeBatch(inserts)).containsOnly(1);
     }
 
     @Then("validate that all todos with task {string} have value completed {int}, period in ms: {int} on {string}")
@@ -85,7 +89,13 @@ public class DbValidationSteps {
     @Then("validate that all todos with task {string} have value completed {int}, period in ms: {int}")
     public void checksThatAllTodosHaveCompletedVal(String task, int count, int timeout) {
         String sql = String.format("SELECT * FROM TODO WHERE task like '%s' and completed != %d", task, count);
-        TestUtils.withRetry(() -> dbUtils.executeSQLGetResultSet(sql) != null, 5, timeout, "Could not fetch data from database");
+        TestUtils.withRetry(() -> {
+            try (ResultSet resultSet = dbUtils.executeSQLGetResultSet(sql)) {
+                return resultSet != null;
+            } catch (SQLException e) {
+                return false;
+            }
+        }, 5, timeout, "Could not fetch data from database");
         assertThat(dbUtils.getCountOfInvokedQuery(sql)).isEqualTo(0);
     }
 
@@ -93,10 +103,10 @@ public class DbValidationSteps {
     public void checksNumberOfTodos(String task, String method, int expected) {
         AbstractIntegerAssert<?> a = assertThat(dbUtils.getNumberOfRecordsInTable("todo", "task", task));
         if ("is".equals(method)) {
-            TestUtils.waitForNoFail(() -> dbUtils.getNumberOfRecordsInTable("todo", "task", task) == expected, 5, 30);
+            dbUtils.waitForChange("todo", "id", () -> dbUtils.getNumberOfRecordsInTable("todo", "task", task) == expected, 30000L);
             assertThat(dbUtils.getNumberOfRecordsInTable("todo", "task", task)).isEqualTo(expected);
         } else {
-            TestUtils.waitForNoFail(() -> dbUtils.getNumberOfRecordsInTable("todo", "task", task) > expected, 5, 30);
+            dbUtils.waitForChange("todo", "id", () -> dbUtils.getNumberOfRecordsInTable("todo", "task", task) > expected, 30000L);
             assertThat(dbUtils.getNumberOfRecordsInTable("todo", "task", task)).isGreaterThan(expected);
         }
     }
@@ -169,9 +179,8 @@ public class DbValidationSteps {
 
     @Then("check rows number of table {string} is greater than {int}")
     public void checkRowsNumberIsGreaterThan(String table, int threshold) {
-        TestUtils.waitFor(() -> this.dbUtils.getNumberOfRecordsInTable(table) > threshold,
-                          5, 30,
-                          "Not enough entries in the database");
+        assertThat(dbUtils.waitForChange(table, null, () -> this.dbUtils.getNumberOfRecordsInTable(table) > threshold, 30000L))
+            .as("Not enough entries in the database").isTrue();
     }
 
     @Then("verify that contact with first name {string} exists in database")
@@ -1,12 +1,9 @@
 package io.syndesis.qe.validation;
 
 import io.syndesis.qe.util.FtpUtils;
-import io.syndesis.qe.utils.TestUtils;
 
 import org.assertj.core.api.Assertions;
 
-import java.util.concurrent.TimeUnit;
-
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
@@ -14,6 +11,8 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class FtpValidationSteps {
+    private static final long FILE_TIMEOUT_MS = 2 * 60 * 1000L;
+
     private final FtpUtils ftpUtils = new FtpUtils();
 
     @When("put {string} file with content {string} in the directory: {string} using FTP")
@@ -23,8 +22,7 @@ public class FtpValidationSteps {
 
     @Then("validate that file {string} has been transfered to {string} directory using FTP")
     public void validateThatFileHasBeenTransferedToDirectory(String filename, String remoteToDirectory) {
-        Assertions.assertThat(TestUtils.waitForEvent(r -> r, () -> ftpUtils.isFileThere(remoteToDirectory, filename),
-            TimeUnit.MINUTES, 2, TimeUnit.SECONDS, 15)).isTrue();
+        Assertions.assertThat(ftpUtils.watchDirectory(remoteToDirectory).awaitFile(filename, FILE_TIMEOUT_MS)).isTrue();
     }
 
     @Given("delete file {string} from FTP")
@@ -34,21 +32,20 @@ public class FtpValidationSteps {
 
     @Then("validate that file {string} has been transfered from {string} directory using FTP")
     public void validateFileIsNotThere(String filename, String remoteFromDirectory) {
-        Assertions.assertThat(ftpUtils.isFileThere(remoteFromDirectory, filename)).isFalse();
+        Assertions.assertThat(ftpUtils.watchDirectory(remoteFromDirectory).awaitNoFile(filename, FILE_TIMEOUT_MS)).isTrue();
     }
 
     @Then("validate that file {string} has been transfered from {string} to {string} directory using FTP")
     public void validateThatFileHasBeenTransferedFromToDirectory(String filename, String remoteFromDirectory, String remoteToDirectory) {
-        Assertions.assertThat(TestUtils.waitForEvent(r -> r, () -> ftpUtils.isFileThere(remoteToDirectory, filename),
-            TimeUnit.MINUTES, 2, TimeUnit.SECONDS, 15)).isTrue();
-        Assertions.assertThat(ftpUtils.isFileThere(remoteFromDirectory, filename)).isFalse();
+        // the file is listed as soon as the integration starts writing it and removed from the source only after the transfer
+        Assertions.assertThat(ftpUtils.watchDirectory(remoteToDirectory).awaitStable(filename, FILE_TIMEOUT_MS)).isTrue();
+        Assertions.assertThat(ftpUtils.watchDirectory(remoteFromDirectory).awaitNoFile(filename, FILE_TIMEOUT_MS)).isTrue();
     }
 
     @Then("verify that file {string} was created in {string} folder with content {string} using FTP")
     public void validateThatFileWasCreatedWithContent(String filename, String directory, String content) {
-        Assertions.assertThat(TestUtils.waitForEvent(r -> r, () -> ftpUtils.isFileThere(directory, filename),
-            TimeUnit.MINUTES, 2, TimeUnit.SECONDS, 15)).isTrue();
-        Assertions.assertThat(ftpUtils.isFileThere(directory, filename)).isTrue();
+        // the file is listed as soon as the integration starts writing it, read it only once it doesn't change anymore
+        Assertions.assertThat(ftpUtils.watchDirectory(directory).awaitStable(filename, FILE_TIMEOUT_MS)).isTrue();
         Assertions.assertThat(ftpUtils.getFileContent(directory, filename)).isEqualTo(content);
     }
 
@@ -8,8 +8,8 @@ import io.syndesis.qe.account.AccountsDirectory;
 import io.syndesis.qe.resource.impl.HTTPEndpoints;
 import io.syndesis.qe.utils.OpenShiftUtils;
 import io.syndesis.qe.utils.TestUtils;
-import io.syndesis.qe.utils.http.HTTPResponse;
 import io.syndesis.qe.utils.http.HTTPUtils;
+import io.syndesis.qe.utils.http.StreamingHTTPResponse;
 import io.syndesis.qe.wait.OpenShiftWaitUtils;
 
 import org.assertj.core.api.Assertions;
@@ -61,8 +61,7 @@ public class HTTPValidationSteps {
         // Let the integration running
         TestUtils.sleepIgnoreInterrupt(30000L);
         // Get new events
-        HTTPResponse r = HTTPUtils.doGetRequest("http://localhost:28080/events");
-        Map<Long, String> events = new Gson().fromJson(r.getBody(), Map.class);
+        Map<Long, String> events = getEvents();
 
         if (once) {
             assertThat(events).size().isEqualTo(1);
@@ -78,11 +77,17 @@ public class HTTPValidationSteps {
     public void verifyThatAfterSecondsWasCalls(int seconds, int calls) {
         clear();
         TestUtils.sleepIgnoreInterrupt((long) seconds * 1000);
-        HTTPResponse r = HTTPUtils.doGetRequest("http://localhost:28080/events");
-        Map<Long, String> events = new Gson().fromJson(r.getBody(), Map.class);
+        Map<Long, String> events = getEvents();
         assertThat(events).size().isEqualTo(calls);
     }
 
+    private static Map<Long, String> getEvents() {
+        // the endpoint returns all the events since the last clear, so don't read it into a string
+        try (StreamingHTTPResponse r = HTTPUtils.doGetRequestStreaming("http://localhost:28080/events", null)) {
+            return new Gson().fromJson(r.getReader(), Map.class);
+        }
+    }
+
     @When("send get request using {string} and {string} path")
     public void sendGetRequestUsingAndPath(String account, String path) {
         final Account a = AccountsDirectory.getInstance().get(account);
@@ -1,6 +1,7 @@
 package io.syndesis.qe.validation;
 
 import io.syndesis.common.model.metrics.IntegrationMetricsSummary;
+import io.syndesis.qe.utils.IntegrationMetricsWatcher;
 import io.syndesis.qe.utils.IntegrationUtils;
 import io.syndesis.qe.utils.OpenShiftUtils;
 import io.syndesis.qe.utils.TestUtils;
@@ -21,6 +22,8 @@ public class MonitoringValidationSteps {
     @Autowired
     private IntegrationUtils integrationUtils;
 
+    private IntegrationMetricsWatcher metricsWatcher;
+
     @Then("validate that number of all messages through integration {string} is greater than {int}, period in ms: {int}")
     public void validateThatNumberOfAllMessagesOfIntegrationIsGreaterThanPeriodInMs(String integrationName, int nr, int ms) {
         TestUtils.sleepIgnoreInterrupt(ms);
@@ -34,6 +37,34 @@ public class MonitoringValidationSteps {
         integrationUtils.waitForMessage(integrationName, numberOfMessages, 60);
     }
 
+    @When("start measuring throughput of integrations {string}")
+    public void startMeasuringThroughput(String integrationNames) {
+        metricsWatcher = integrationUtils.watchMetrics(integrationNames.split("\\s*,\\s*"));
+    }
+
+    @Then("wait until integration {string} processed at least {int} new messages in {int} seconds")
+    public void waitForNewMessages(String integrationName, int messages, int seconds) {
+        Assertions.assertThat(metricsWatcher.waitForNewMessages(integrationName, messages, seconds * 1000L))
+            .as("Integration %s didn't process %d new messages in %d s: %s", integrationName, messages, seconds,
+                metricsWatcher.getThroughput(integrationName))
+            .isTrue();
+    }
+
+    @Then("validate that throughput of integration {string} is at least {double} messages per second")
+    public void validateThroughput(String integrationName, double messagesPerSecond) {
+        final IntegrationMetricsWatcher.Throughput throughput = metricsWatcher.getThroughput(integrationName);
+        Assertions.assertThat(throughput.getMessagesPerSecond()).as("Throughput of integration %s: %s", integrationName, throughput)
+            .isGreaterThanOrEqualTo(messagesPerSecond);
+    }
+
+    @Then("validate that first message went through integration {string} in less than {int} ms")
+    public void validateTimeToFirstMessage(String integrationName, int ms) {
+        final IntegrationMetricsWatcher.Throughput throughput = metricsWatcher.getThroughput(integrationName);
+        Assertions.assertThat(throughput.getTimeToFirstMessageMs()).as("Throughput of integration %s: %s", integrationName, throughput)
+            .isPresent();
+        Assertions.assertThat(throughput.getTimeToFirstMessageMs().getAsLong()).isLessThan(ms);
+    }
+
     @Then("validate that log of integration {string} has been created and contains {string}")
     public void validateThatLogOfIntegrationHasBeenCreatedPeriodInMs(String integrationName, String contains) {
 
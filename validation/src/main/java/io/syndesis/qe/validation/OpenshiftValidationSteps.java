@@ -1,8 +1,10 @@
 package io.syndesis.qe.validation;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 
 import io.syndesis.qe.TestConfiguration;
+import io.syndesis.qe.resource.Resource;
 import io.syndesis.qe.resource.ResourceFactory;
 import io.syndesis.qe.resource.impl.AMQ;
 import io.syndesis.qe.resource.impl.FTP;
@@ -21,6 +23,9 @@ import io.syndesis.qe.wait.OpenShiftWaitUtils;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeoutException;
@@ -37,6 +42,23 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class OpenshiftValidationSteps {
+    /**
+     * Resources that can be deployed by the "deploy resources" step, the names are the same as in the single resource steps.
+     */
+    private static final Map<String, Class<? extends Resource>> DEPLOYABLE_RESOURCES = new LinkedHashMap<>();
+
+    static {
+        DEPLOYABLE_RESOURCES.put("FTP server", FTP.class);
+        DEPLOYABLE_RESOURCES.put("SFTP server", SFTP.class);
+        DEPLOYABLE_RESOURCES.put("Kudu", Kudu.class);
+        DEPLOYABLE_RESOURCES.put("MySQL server", MySQL.class);
+        DEPLOYABLE_RESOURCES.put("ActiveMQ broker", AMQ.class);
+        DEPLOYABLE_RESOURCES.put("Kafka broker", Kafka.class);
+        DEPLOYABLE_RESOURCES.put("HTTP endpoints", HTTPEndpoints.class);
+        DEPLOYABLE_RESOURCES.put("IRC server", IRC.class);
+        DEPLOYABLE_RESOURCES.put("MongoDB 3.6 database", MongoDb36.class);
+    }
+
     @Then("check that pod {string} logs contain string {string}")
     public void checkPodHasInLog(String podPartialName, String expectedText) {
         assertThat(OpenShiftUtils.getPodLogs(podPartialName)).containsIgnoringCase(expectedText);
@@ -47,6 +69,27 @@ public class OpenshiftValidationSteps {
         ResourceFactory.create(FTP.class);
     }
 
+    /**
+     * Deploys all the resources from the table at once, independent resources are deployed concurrently.
+     * <p>
+     * Example:
+     * | HTTP endpoints  |
+     * | ActiveMQ broker |
+     *
+     * @param names resource names, see {@link #DEPLOYABLE_RESOURCES}
+     */
+    @Given("deploy resources")
+    public void deployResources(List<String> names) {
+        final List<Class<? extends Resource>> classes = new ArrayList<>();
+        for (String name : names) {
+            if (!DEPLOYABLE_RESOURCES.containsKey(name)) {
+                fail("Unknown resource \"" + name + "\", known resources: " + DEPLOYABLE_RESOURCES.keySet());
+            }
+            classes.add(DEPLOYABLE_RESOURCES.get(name));
+        }
+        ResourceFactory.createAll(classes);
+    }
+
     @Given("deploy SFTP server")
     public void deploySFTPServer() {
         ResourceFactory.create(SFTP.class);
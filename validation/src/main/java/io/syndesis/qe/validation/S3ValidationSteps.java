@@ -1,6 +1,5 @@
 package io.syndesis.qe.validation;
 
-import io.syndesis.qe.utils.TestUtils;
 import io.syndesis.qe.utils.aws.S3BucketNameBuilder;
 import io.syndesis.qe.utils.aws.S3Utils;
 
@@ -9,8 +8,6 @@ import org.assertj.core.api.SoftAssertions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 
-import java.util.concurrent.TimeUnit;
-
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +23,7 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class S3ValidationSteps {
+    private static final long FILE_TIMEOUT_MS = 2 * 60 * 1000L;
 
     private final S3Utils s3Utils;
 
@@ -47,17 +45,15 @@ public class S3ValidationSteps {
 
     @Then("validate bucket with name {string} contains file with name {string} and text {string}")
     public void validateIntegration(String bucketName, String fileName, String text) {
-        Assertions
-            .assertThat(TestUtils.waitForEvent(r -> r, () -> s3Utils.checkFileExistsInBucket(S3BucketNameBuilder.getBucketName(bucketName), fileName),
-                TimeUnit.MINUTES, 2, TimeUnit.SECONDS, 15)).isTrue();
+        Assertions.assertThat(s3Utils.watchBucket(S3BucketNameBuilder.getBucketName(bucketName), fileName).awaitFile(fileName, FILE_TIMEOUT_MS))
+            .isTrue();
         Assertions.assertThat(s3Utils.readTextFileContentFromBucket(S3BucketNameBuilder.getBucketName(bucketName), fileName)).contains(text);
     }
 
     @Then("validate bucket with name {string} does not contain file with name {string}")
     public void checkFileNotInBucket(String bucketName, String fileName) {
-        Assertions
-            .assertThat(TestUtils.waitForEvent(r -> r, () -> s3Utils.checkFileExistsInBucket(S3BucketNameBuilder.getBucketName(bucketName), fileName),
-                TimeUnit.MINUTES, 2, TimeUnit.SECONDS, 15)).isFalse();
+        Assertions.assertThat(s3Utils.watchBucket(S3BucketNameBuilder.getBucketName(bucketName), fileName).awaitFile(fileName, FILE_TIMEOUT_MS))
+            .isFalse();
     }
 
     @Then("check that buckets do exist: {string}")
@@ -1,12 +1,9 @@
 package io.syndesis.qe.validation;
 
 import io.syndesis.qe.util.SftpUtils;
-import io.syndesis.qe.utils.TestUtils;
 
 import org.assertj.core.api.Assertions;
 
-import java.util.concurrent.TimeUnit;
-
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
@@ -14,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class SftpValidationSteps {
+    private static final long FILE_TIMEOUT_MS = 2 * 60 * 1000L;
 
     private final SftpUtils sftpUtils = new SftpUtils();
 
@@ -24,9 +22,9 @@ public class SftpValidationSteps {
 
     @Then("validate that file {string} has been transfered from {string} to {string} directory using SFTP")
     public void validateThatFileHasBeenTransferedFromToSftpDirectory(String filename, String serverFromDirectory, String serverToDirectory) {
-        Assertions.assertThat(TestUtils.waitForEvent(r -> r, () -> sftpUtils.isFileThere(serverToDirectory, filename),
-            TimeUnit.MINUTES, 2, TimeUnit.SECONDS, 15)).isTrue();
-        Assertions.assertThat(sftpUtils.isFileThere(serverFromDirectory, filename)).isFalse();
+        // the file is listed as soon as the integration starts writing it and removed from the source only after the transfer
+        Assertions.assertThat(sftpUtils.watchDirectory(serverToDirectory).awaitStable(filename, FILE_TIMEOUT_MS)).isTrue();
+        Assertions.assertThat(sftpUtils.watchDirectory(serverFromDirectory).awaitNoFile(filename, FILE_TIMEOUT_MS)).isTrue();
     }
 
     @Then("check that {string} file in {string} directory has content {string} using SFTP")
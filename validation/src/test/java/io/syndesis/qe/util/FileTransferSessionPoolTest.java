@@ -0,0 +1,336 @@
+package io.syndesis.qe.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.syndesis.qe.resource.impl.SFTP;
+import io.syndesis.qe.utils.TestUtils;
+
+import org.apache.commons.net.ftp.FTPClient;
+import org.apache.commons.net.ProtocolCommandEvent;
+import org.apache.commons.net.ProtocolCommandListener;
+import org.apache.commons.net.ftp.FTPConnectionClosedException;
+import org.apache.sshd.common.file.virtualfs.VirtualFileSystemFactory;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.apache.sshd.server.subsystem.sftp.SftpSubsystemFactory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockftpserver.fake.FakeFtpServer;
+import org.mockftpserver.fake.UserAccount;
+import org.mockftpserver.fake.filesystem.DirectoryEntry;
+import org.mockftpserver.fake.filesystem.FileEntry;
+import org.mockftpserver.fake.filesystem.FileSystem;
+import org.mockftpserver.fake.filesystem.UnixFakeFileSystem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import net.schmizz.sshj.SSHClient;
+import net.schmizz.sshj.sftp.SFTPException;
+import net.schmizz.sshj.transport.verification.PromiscuousVerifier;
+
+/**
+ * Tests the {@link FileTransferSessionPool} with the FTP and SFTP sessions of the client managers against embedded servers, and the
+ * {@link FtpUtils} and {@link SftpUtils} steps on top of it.
+ */
+public class FileTransferSessionPoolTest {
+    private static final String USER = "user";
+    private static final String PASSWORD = "password";
+    private static final String CONTENT = "pooled content";
+    private static final int CONCURRENT_BORROWERS = 4;
+    private static final long STEP_TIMEOUT_MS = 10000L;
+
+    private static FakeFtpServer ftpServer;
+    private static SshServer sshServer;
+    private static Path sftpRoot;
+
+    @BeforeClass
+    public static void startServers() throws IOException {
+        final FileSystem fileSystem = new UnixFakeFileSystem();
+        fileSystem.add(new DirectoryEntry("/data"));
+        fileSystem.add(new FileEntry("/data/test.txt", CONTENT));
+        ftpServer = new FakeFtpServer();
+        ftpServer.setServerControlPort(0);
+        ftpServer.addUserAccount(new UserAccount(USER, PASSWORD, "/data"));
+        ftpServer.setFileSystem(fileSystem);
+        ftpServer.start();
+        // the server is started in a background thread
+        while (!ftpServer.isStarted()) {
+            TestUtils.sleepIgnoreInterrupt(10L);
+        }
+
+        sftpRoot = Files.createTempDirectory("sftp-pool");
+        Files.write(sftpRoot.resolve("test.txt"), CONTENT.getBytes(StandardCharsets.UTF_8));
+        Files.createDirectory(sftpRoot.resolve(SFTP.TEST_DIRECTORY));
+        sshServer = SshServer.setUpDefaultServer();
+        sshServer.setHost("localhost");
+        sshServer.setPort(0);
+        sshServer.setKeyPairProvider(new SimpleGeneratorHostKeyProvider(sftpRoot.resolve("hostkey.ser")));
+        sshServer.setPasswordAuthenticator((user, password, session) -> USER.equals(user) && PASSWORD.equals(password));
+        sshServer.setSubsystemFactories(Collections.singletonList(new SftpSubsystemFactory()));
+        sshServer.setFileSystemFactory(new VirtualFileSystemFactory(sftpRoot));
+        sshServer.start();
+    }
+
+    @AfterClass
+    public static void stopServers() throws IOException {
+        ftpServer.stop();
+        sshServer.stop(true);
+        try (Stream<Path> files = Files.walk(sftpRoot)) {
+            files.sorted(Collections.reverseOrder()).forEach(f -> f.toFile().delete());
+        }
+    }
+
+    @Test
+    public void shouldReuseFtpSessionCheckedByNoop() throws IOException {
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger checked = new AtomicInteger();
+        final FileTransferSessionPool<FTPClient> pool = ftpPool(created, client -> {
+            checked.incrementAndGet();
+            return FtpClientManager.isAlive(client);
+        });
+        try {
+            assertThat(pool.execute(FileTransferSessionPoolTest::retrieve)).isEqualTo(CONTENT);
+            assertThat(pool.execute(FileTransferSessionPoolTest::retrieve)).isEqualTo(CONTENT);
+
+            assertThat(created).hasValue(1);
+            assertThat(checked).hasValue(1);
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void shouldReplaceDisconnectedIdleFtpSession() throws IOException {
+        final AtomicInteger created = new AtomicInteger();
+        final FileTransferSessionPool<FTPClient> pool = ftpPool(created, FtpClientManager::isAlive);
+        try {
+            final FTPClient first = pool.execute(client -> client);
+            first.disconnect();
+
+            final FTPClient second = pool.execute(client -> client);
+
+            assertThat(second).isNotSameAs(first);
+            assertThat(second.sendNoOp()).isTrue();
+            assertThat(created).hasValue(2);
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void shouldRetryWithNewFtpSessionWhenConnectionBreaks() throws IOException {
+        final AtomicInteger created = new AtomicInteger();
+        // the liveness check doesn't catch the failure, so the operation gets the broken session
+        final FileTransferSessionPool<FTPClient> pool = ftpPool(created, client -> true);
+        try {
+            final FTPClient first = pool.execute(client -> client);
+            final List<FTPClient> used = new ArrayList<>();
+
+            final String content = pool.execute(client -> {
+                used.add(client);
+                if (client == first) {
+                    throw new FTPConnectionClosedException("Connection closed without indication.");
+                }
+                return retrieve(client);
+            });
+
+            assertThat(content).isEqualTo(CONTENT);
+            assertThat(used).hasSize(2);
+            assertThat(used.get(1)).isNotSameAs(first);
+            // the broken session was closed and is not given out again
+            assertThat(first.isConnected()).isFalse();
+            assertThat(pool.execute(client -> client)).isSameAs(used.get(1));
+            assertThat(created).hasValue(2);
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void shouldUseSeparateSessionsForConcurrentBorrowers() throws Exception {
+        final AtomicInteger created = new AtomicInteger();
+        final FileTransferSessionPool<FTPClient> pool = ftpPool(created, FtpClientManager::isAlive);
+        final ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_BORROWERS);
+        try {
+            // all the borrowers hold their session at the same time
+            final CyclicBarrier barrier = new CyclicBarrier(CONCURRENT_BORROWERS);
+            final List<Future<FTPClient>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_BORROWERS; i++) {
+                results.add(executor.submit(() -> pool.execute(client -> {
+                    assertThat(retrieve(client)).isEqualTo(CONTENT);
+                    await(barrier);
+                    return client;
+                })));
+            }
+            final Set<FTPClient> sessions = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<FTPClient> result : results) {
+                sessions.add(result.get(30, TimeUnit.SECONDS));
+            }
+
+            assertThat(sessions).hasSize(CONCURRENT_BORROWERS);
+            assertThat(created).hasValue(CONCURRENT_BORROWERS);
+
+            // the returned sessions are reused afterwards
+            for (int i = 0; i < CONCURRENT_BORROWERS; i++) {
+                assertThat(pool.execute(client -> client)).isIn(sessions);
+            }
+            assertThat(created).hasValue(CONCURRENT_BORROWERS);
+        } finally {
+            executor.shutdownNow();
+            pool.close();
+        }
+    }
+
+    @Test
+    public void shouldReuseSftpSessionCheckedByRealpath() throws IOException {
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger checked = new AtomicInteger();
+        final FileTransferSessionPool<SftpClientManager.Session> pool = sftpPool(created, session -> {
+            checked.incrementAndGet();
+            return SftpClientManager.isAlive(session);
+        });
+        try {
+            assertThat(pool.execute(session -> session.getSftp().size("test.txt"))).isEqualTo((long) CONTENT.length());
+            final SftpClientManager.Session first = pool.execute(session -> session);
+            assertThat(checked).hasValue(1);
+
+            first.getSsh().disconnect();
+            final SftpClientManager.Session second = pool.execute(session -> session);
+
+            assertThat(second).isNotSameAs(first);
+            assertThat(second.getSftp().size("test.txt")).isEqualTo((long) CONTENT.length());
+            assertThat(created).hasValue(2);
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void shouldNotRetrySftpErrorStatus() throws IOException {
+        final AtomicInteger created = new AtomicInteger();
+        final FileTransferSessionPool<SftpClientManager.Session> pool = sftpPool(created, SftpClientManager::isAlive);
+        try {
+            assertThatThrownBy(() -> pool.execute(session -> session.getSftp().size("missing.txt"))).isInstanceOf(SFTPException.class);
+
+            // the session is fine, it is kept in the pool
+            assertThat(pool.execute(session -> session.getSftp().size("test.txt"))).isEqualTo((long) CONTENT.length());
+            assertThat(created).hasValue(1);
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void shouldRunFtpUtilsStepsOnOneSession() throws IOException {
+        final AtomicInteger created = new AtomicInteger();
+        final FileTransferSessionPool<FTPClient> pool = ftpPool(created, FtpClientManager::isAlive);
+        try {
+            final FtpUtils ftpUtils = new FtpUtils(pool);
+            ftpUtils.uploadTestFile("steps.txt", CONTENT, "data");
+            assertThat(ftpUtils.isFileThere("/data", "steps.txt")).isTrue();
+            assertThat(ftpUtils.watchDirectory("/data").awaitStable("steps.txt", STEP_TIMEOUT_MS)).isTrue();
+
+            final List<String> commands = new ArrayList<>();
+            pool.execute(client -> client).addProtocolCommandListener(new ProtocolCommandListener() {
+                @Override
+                public void protocolCommandSent(ProtocolCommandEvent event) {
+                    commands.add(event.getCommand());
+                }
+
+                @Override
+                public void protocolReplyReceived(ProtocolCommandEvent event) {
+                }
+            });
+            assertThat(ftpUtils.getFileContent("/data", "steps.txt")).isEqualTo(CONTENT);
+            // the previous implementation listed the directory before every step to find out if the connection is broken
+            assertThat(commands).contains("RETR").doesNotContain("LIST");
+
+            ftpUtils.deleteFile("/data/steps.txt");
+            assertThat(ftpUtils.watchDirectory("/data").awaitNoFile("steps.txt", STEP_TIMEOUT_MS)).isTrue();
+            assertThat(created).hasValue(1);
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void shouldRunSftpUtilsStepsOnOneSession() throws IOException {
+        final AtomicInteger created = new AtomicInteger();
+        final FileTransferSessionPool<SftpClientManager.Session> pool = sftpPool(created, SftpClientManager::isAlive);
+        try {
+            final SftpUtils sftpUtils = new SftpUtils(pool);
+            final String upload = "/" + SFTP.TEST_DIRECTORY + "/upload";
+            sftpUtils.prepareServerForTest();
+            sftpUtils.uploadTestFile("steps.txt", CONTENT, upload);
+            assertThat(sftpUtils.isFileThere(upload, "steps.txt")).isTrue();
+            assertThat(sftpUtils.watchDirectory(upload).awaitStable("steps.txt", STEP_TIMEOUT_MS)).isTrue();
+            assertThat(sftpUtils.getFileContent(upload, "steps.txt")).isEqualTo(CONTENT);
+
+            sftpUtils.deleteFile(upload + "/steps.txt");
+            assertThat(sftpUtils.watchDirectory(upload).awaitNoFile("steps.txt", STEP_TIMEOUT_MS)).isTrue();
+            // all the steps share one pooled session
+            assertThat(created).hasValue(1);
+        } finally {
+            pool.close();
+        }
+    }
+
+    /**
+     * Creates a pool that validates the idle sessions every time.
+     */
+    private static FileTransferSessionPool<FTPClient> ftpPool(AtomicInteger created, Predicate<FTPClient> liveness) {
+        return new FileTransferSessionPool<>("FTP", () -> {
+            final FTPClient client = new FTPClient();
+            client.connect("localhost", ftpServer.getServerControlPort());
+            client.login(USER, PASSWORD);
+            client.enterLocalPassiveMode();
+            created.incrementAndGet();
+            return client;
+        }, liveness, FtpClientManager::closeFtpClient, e -> true, 0L);
+    }
+
+    private static FileTransferSessionPool<SftpClientManager.Session> sftpPool(AtomicInteger created,
+        Predicate<SftpClientManager.Session> liveness) {
+        return new FileTransferSessionPool<>("SFTP", () -> {
+            final SSHClient ssh = new SSHClient();
+            ssh.addHostKeyVerifier(new PromiscuousVerifier());
+            ssh.connect("localhost", sshServer.getPort());
+            ssh.authPassword(USER, PASSWORD);
+            created.incrementAndGet();
+            return new SftpClientManager.Session(ssh, ssh.newSFTPClient());
+        }, liveness, SftpClientManager::closeSession, e -> !(e instanceof SFTPException), 0L);
+    }
+
+    private static String retrieve(FTPClient client) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(client.retrieveFile("test.txt", out)).isTrue();
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void await(CyclicBarrier barrier) throws IOException {
+        try {
+            barrier.await(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IOException("Borrowers didn't meet", e);
+        }
+    }
+}